@@ -0,0 +1,113 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.event.ChangeFeed;
+import net.neoforged.meta.triggers.PayloadFactory;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streams the same changes as {@link ChangesApiController} as server-sent events, for consumers that want
+ * to learn about new versions right away.
+ * <p>
+ * Every connection is served by its own virtual thread, which waits for new events like a long-polling
+ * request to the changes feed, so idle connections only cost a parked virtual thread. The thread sends one
+ * page of events at a time and blocks while the client reads them, so a slow client never has more than
+ * a page of events buffered for it. The ID of each event is the cursor after it, so clients that reconnect
+ * resume where they left off by sending {@code Last-Event-ID}.
+ */
+@RestController
+public class ChangeStreamController {
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamController.class);
+
+    /**
+     * The maximum number of events queried and sent at once.
+     */
+    private static final int PAGE_SIZE = 100;
+    /**
+     * How long to wait for events before sending a comment, which keeps proxies from closing the connection
+     * and detects clients that went away.
+     */
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+    /**
+     * Connections are closed after this long, and clients reconnect with {@code Last-Event-ID}.
+     */
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofMinutes(30);
+
+    private final ChangeFeed changeFeed;
+    private final PayloadFactory payloadFactory;
+
+    public ChangeStreamController(ChangeFeed changeFeed, PayloadFactory payloadFactory) {
+        this.changeFeed = changeFeed;
+        this.payloadFactory = payloadFactory;
+    }
+
+    /**
+     * @param since       The cursor to start after, like for the changes feed. Starts with new events if omitted.
+     * @param components  Comma-separated list of the components to stream changes for, like for the changes feed.
+     * @param lastEventId Sent by clients when they reconnect, and takes precedence over {@code since}.
+     */
+    @GetMapping(value = "/v1/changes/stream/", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) @Nullable String since,
+                                                    @RequestParam(required = false) @Nullable String components,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) @Nullable String lastEventId) {
+        long cursor;
+        List<String> componentList;
+        try {
+            cursor = changeFeed.parseCursor(lastEventId != null ? lastEventId : since);
+            componentList = ChangesApiController.parseComponents(components);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var emitter = new SseEmitter(CONNECTION_TIMEOUT.toMillis());
+        var thread = Thread.ofVirtual()
+                .name("change-stream")
+                .unstarted(() -> stream(emitter, cursor, componentList));
+        emitter.onCompletion(thread::interrupt);
+        emitter.onTimeout(thread::interrupt);
+        emitter.onError(ignored -> thread.interrupt());
+        thread.start();
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void stream(SseEmitter emitter, long cursor, List<String> components) {
+        try {
+            // Sends the response headers right away, so that the client knows the stream is established
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (true) {
+                var changes = changeFeed.getChanges(cursor, components, PAGE_SIZE, HEARTBEAT_INTERVAL);
+                if (changes.events().isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (var event : changes.events()) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getId()))
+                            .data(payloadFactory.createEventPayload(event), MediaType.APPLICATION_JSON));
+                }
+                cursor = changes.cursor();
+            }
+        } catch (InterruptedException e) {
+            // The connection was closed or timed out, which already completed the emitter
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, and the container completes the emitter
+            LOG.debug("Change stream client disconnected: {}", e.toString());
+        } catch (RuntimeException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                LOG.error("Failed to stream changes.", e);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.event.ChangeFeed;
+import net.neoforged.meta.generated.api.ChangesApi;
+import net.neoforged.meta.generated.model.ChangesPage;
+import net.neoforged.meta.triggers.PayloadFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the changes feed, optionally waiting for new changes (long polling).
+ * <p>
+ * Waiting requests block their request thread, since the generated API returns responses synchronously.
+ * So that they can't take up all request threads, only a limited number of requests wait at a time,
+ * and further requests are answered right away, as if they did not ask to wait. Consumers that want
+ * to wait without limits use the {@linkplain ChangeStreamController change stream} instead.
+ */
+@RestController
+public class ChangesApiController implements ChangesApi {
+    private static final Pattern COMPONENT = Pattern.compile("[^:\\s]+:[^:\\s]+");
+    /**
+     * The maximum number of requests waiting for changes at the same time, well below the number of request threads.
+     */
+    private static final int MAX_WAITING_REQUESTS = 50;
+
+    private final ChangeFeed changeFeed;
+    private final PayloadFactory payloadFactory;
+    private final Semaphore waitingRequests;
+
+    @Autowired
+    public ChangesApiController(ChangeFeed changeFeed, PayloadFactory payloadFactory) {
+        this(changeFeed, payloadFactory, MAX_WAITING_REQUESTS);
+    }
+
+    ChangesApiController(ChangeFeed changeFeed, PayloadFactory payloadFactory, int maxWaitingRequests) {
+        this.changeFeed = changeFeed;
+        this.payloadFactory = payloadFactory;
+        this.waitingRequests = new Semaphore(maxWaitingRequests);
+    }
+
+    @Override
+    public ResponseEntity<ChangesPage> getChanges(@Nullable String since, @Nullable String components, Integer limit, Integer wait) {
+        long cursor;
+        List<String> componentList;
+        try {
+            cursor = changeFeed.parseCursor(since);
+            componentList = parseComponents(components);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var waiting = wait > 0 && waitingRequests.tryAcquire();
+        ChangeFeed.Changes changes;
+        try {
+            changes = changeFeed.getChanges(cursor, componentList, limit, waiting ? Duration.ofSeconds(wait) : Duration.ZERO);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } finally {
+            if (waiting) {
+                waitingRequests.release();
+            }
+        }
+
+        var events = changes.events().stream().map(payloadFactory::createEventPayload).toList();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new ChangesPage(events, Long.toString(changes.cursor()), changes.hasMore()));
+    }
+
+    /**
+     * Parses a comma-separated list of components in the syntax of {@link net.neoforged.meta.event.EventFilters#components}.
+     *
+     * @throws IllegalArgumentException If a component is malformed.
+     */
+    static List<String> parseComponents(@Nullable String components) {
+        var result = new ArrayList<String>();
+        if (components == null) {
+            return result;
+        }
+        for (var component : components.split(",")) {
+            component = component.strip();
+            if (component.isEmpty()) {
+                continue;
+            }
+            if (!COMPONENT.matcher(component).matches()) {
+                throw new IllegalArgumentException("Invalid component: " + component);
+            }
+            result.add(component);
+        }
+        return result;
+    }
+}
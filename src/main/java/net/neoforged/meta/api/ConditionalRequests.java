@@ -0,0 +1,95 @@
+package net.neoforged.meta.api;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Collections;
+
+/**
+ * Answers conditional requests from the validators of a document, which are cheap to query, before the document
+ * itself is loaded. Launchers revalidate what they cached on every start, so most requests can be answered this way.
+ */
+final class ConditionalRequests {
+    private ConditionalRequests() {
+    }
+
+    /**
+     * A strong entity tag for documents that only change together with their last modification time.
+     */
+    static String eTag(Instant lastModified) {
+        return "\"" + Long.toHexString(lastModified.toEpochMilli()) + "\"";
+    }
+
+    /**
+     * @param eTag         The strong entity tag of the current document, including quotes.
+     * @param lastModified When the current document was last modified, or null if unknown.
+     * @return A response telling the client that its copy of the document is current, or null if it is not.
+     */
+    static <T> @Nullable ResponseEntity<T> checkNotModified(String eTag, @Nullable Instant lastModified) {
+        var request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        var matchingETag = findNotModifiedETag(request, eTag, lastModified);
+        if (matchingETag == null) {
+            return null;
+        }
+
+        // The client may have cached either representation, so tell it which one is current
+        var response = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(matchingETag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified != null) {
+            response.lastModified(lastModified.toEpochMilli());
+        }
+        return response.build();
+    }
+
+    static boolean isNotModified(HttpServletRequest request, String eTag, @Nullable Instant lastModified) {
+        return findNotModifiedETag(request, eTag, lastModified) != null;
+    }
+
+    /**
+     * @return The entity tag of the representation the client has a current copy of, which is the
+     * {@linkplain StoredContentResponses#deflatedETag deflated} one if the client sent that, or null if
+     * the client's copy is not current.
+     */
+    static @Nullable String findNotModifiedETag(HttpServletRequest request, String eTag, @Nullable Instant lastModified) {
+        var ifNoneMatch = Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH));
+        if (!ifNoneMatch.isEmpty()) {
+            // If-Modified-Since is ignored if If-None-Match is present
+            var deflatedETag = StoredContentResponses.deflatedETag(eTag);
+            for (var header : ifNoneMatch) {
+                for (var tag : header.split(",")) {
+                    tag = tag.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2); // If-None-Match uses the weak comparison
+                    }
+                    if (tag.equals(deflatedETag)) {
+                        return deflatedETag;
+                    } else if (tag.equals("*") || tag.equals(eTag)) {
+                        return eTag;
+                    }
+                }
+            }
+            return null;
+        }
+
+        if (lastModified != null) {
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            } catch (IllegalArgumentException ignored) {
+                return null;
+            }
+            // HTTP dates have a precision of seconds
+            if (ifModifiedSince >= 0 && lastModified.getEpochSecond() * 1000 <= ifModifiedSince) {
+                return eTag;
+            }
+        }
+        return null;
+    }
+}
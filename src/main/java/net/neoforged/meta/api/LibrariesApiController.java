@@ -0,0 +1,47 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.generated.api.LibrariesApi;
+import net.neoforged.meta.generated.model.LibraryUsage;
+import net.neoforged.meta.generated.model.LibraryUsagePage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZoneOffset;
+
+@RestController
+public class LibrariesApiController implements LibrariesApi {
+
+    private final LibraryArtifactDao libraryArtifactDao;
+
+    public LibrariesApiController(LibraryArtifactDao libraryArtifactDao) {
+        this.libraryArtifactDao = libraryArtifactDao;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<LibraryUsagePage> getLibraryUsages(String groupId, String artifactId, String versionPrefix, Integer page, Integer pageSize) {
+        var usages = libraryArtifactDao.findUsagesByVersionPrefix(groupId, artifactId, versionPrefix, PageRequest.of(page, pageSize));
+
+        var result = usages.stream()
+                .map(usage -> new LibraryUsage(
+                        usage.groupId(),
+                        usage.artifactId(),
+                        usage.version(),
+                        usage.released().atOffset(ZoneOffset.UTC),
+                        usage.libraryVersion(),
+                        usage.libraryClassifier(),
+                        usage.libraryExtension(),
+                        usage.librarySha1Checksum(),
+                        usage.clientClasspath(),
+                        usage.clientModulePath(),
+                        usage.clientInstaller(),
+                        usage.serverInstaller()
+                ))
+                .toList();
+
+        return ResponseEntity.ok(new LibraryUsagePage(result, page, pageSize, usages.getTotalElements()));
+    }
+}
@@ -1,56 +1,52 @@
 package net.neoforged.meta.api;
 
 import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
 import net.neoforged.meta.generated.api.MinecraftVersionsApi;
 import net.neoforged.meta.generated.model.MinecraftVersionDetails;
 import net.neoforged.meta.generated.model.MinecraftVersionSummary;
-import net.neoforged.meta.maven.NeoForgeVersionService;
+import net.neoforged.meta.readmodel.VersionListCache;
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.ZoneOffset;
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 public class MinecraftVersionsApiController implements MinecraftVersionsApi {
 
     private final MinecraftVersionDao minecraftVersionDao;
-    private final NeoForgeVersionService neoForgeVersionService;
+    private final MinecraftVersionManifestDao manifestDao;
+    private final VersionListCache versionListCache;
 
     public MinecraftVersionsApiController(MinecraftVersionDao minecraftVersionDao,
-                                          NeoForgeVersionService neoForgeVersionService) {
+                                          MinecraftVersionManifestDao manifestDao,
+                                          VersionListCache versionListCache) {
         this.minecraftVersionDao = minecraftVersionDao;
-        this.neoForgeVersionService = neoForgeVersionService;
+        this.manifestDao = manifestDao;
+        this.versionListCache = versionListCache;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ResponseEntity<List<MinecraftVersionSummary>> getMinecraftVersions() {
-        var latestNeoForgeVersions = neoForgeVersionService.getLatestVersionByMinecraftVersion();
-
-        var result = new ArrayList<MinecraftVersionSummary>();
-        for (var version : minecraftVersionDao.findAll()) {
-            var neoForgeVersion = latestNeoForgeVersions.get(version);
-
-            var summary = new MinecraftVersionSummary(
-                    version.getVersion(),
-                    version.getType(),
-                    version.getReleased().atOffset(ZoneOffset.UTC),
-                    version.getLastModified().atOffset(ZoneOffset.UTC),
-                    neoForgeVersion != null ? neoForgeVersion.getVersion() : null
-            );
-            result.add(summary);
-        }
-
-        return ResponseEntity.ok(result);
+        return versionListCache.getMinecraftVersions().toResponse();
     }
 
     @Override
     @Transactional(readOnly = true)
     public ResponseEntity<MinecraftVersionDetails> getMinecraftVersionDetails(String versionId) {
+        var lastModified = minecraftVersionDao.findLastModifiedByVersion(versionId);
+        if (lastModified == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity<MinecraftVersionDetails> notModified = ConditionalRequests.checkNotModified(ConditionalRequests.eTag(lastModified), lastModified);
+        if (notModified != null) {
+            return notModified;
+        }
+
         var version = minecraftVersionDao.getByVersion(versionId);
         if (version == null) {
             return ResponseEntity.notFound().build();
@@ -63,26 +59,37 @@ public class MinecraftVersionsApiController implements MinecraftVersionsApi {
                 version.getLastModified().atOffset(ZoneOffset.UTC),
                 version.getJavaVersion()
         );
-        return ResponseEntity.ok(details);
+        return ResponseEntity.ok()
+                .eTag(ConditionalRequests.eTag(version.getLastModified()))
+                .lastModified(version.getLastModified().toEpochMilli())
+                .body(details);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Object> getMinecraftVersionManifest(String versionId) {
-        var version = minecraftVersionDao.getByVersion(versionId);
-        if (version == null) {
+    public ResponseEntity<Object> getMinecraftVersionManifest(String versionId, @Nullable String acceptEncoding) {
+        var info = manifestDao.findInfoByVersion(versionId);
+        if (info == null) {
             return ResponseEntity.notFound().build();
         }
+        var eTag = "\"" + info.sha1() + "\"";
+        var notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
 
-        var manifest = version.getManifest();
-        if (manifest == null) {
-            return ResponseEntity.notFound().build();
+        if (StoredContentResponses.acceptsDeflate(acceptEncoding)) {
+            var response = StoredContentResponses.deflated(manifestDao.findStoredContent(info.id()), eTag, info.lastModified());
+            if (response != null) {
+                return response;
+            }
         }
 
         return ResponseEntity.ok()
-                .eTag("\"" + manifest.getSha1() + "\"")
-                .lastModified(manifest.getLastModified().toEpochMilli())
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
                 .header(HttpHeaders.CONTENT_TYPE, "application/json")
-                .body(manifest.getContent());
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(manifestDao.findContent(info.id()));
     }
 }
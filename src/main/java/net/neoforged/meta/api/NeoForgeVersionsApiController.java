@@ -1,15 +1,26 @@
 package net.neoforged.meta.api;
 
 import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.CompressedBlobConverter;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
 import net.neoforged.meta.db.SoftwareComponentReleaseNotes;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.extract.LaunchProfileMerger;
 import net.neoforged.meta.generated.api.NeoforgeVersionsApi;
 import net.neoforged.meta.generated.model.NeoForgeVersionDetails;
+import net.neoforged.meta.generated.model.NeoForgeVersionDetailsPage;
 import net.neoforged.meta.generated.model.NeoForgeVersionSummary;
 import net.neoforged.meta.generated.model.ReleaseNotes;
 import net.neoforged.meta.generated.model.SoftwareComponentArtifact;
 import net.neoforged.meta.maven.NeoForgeVersionService;
+import net.neoforged.meta.readmodel.NeoForgeVersionDetailsPages;
+import net.neoforged.meta.readmodel.VersionListCache;
+import net.neoforged.meta.util.OsType;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,48 +33,158 @@ public class NeoForgeVersionsApiController implements NeoforgeVersionsApi {
     private static final Logger LOG = LoggerFactory.getLogger(NeoForgeVersionsApiController.class);
 
     private final NeoForgeVersionService neoForgeVersionService;
+    private final SoftwareComponentVersionDao versionDao;
+    private final VersionListCache versionListCache;
+    private final NeoForgeVersionDetailsPages detailsPages;
     private final MetaApiProperties apiProperties;
+    private final MinecraftVersionManifestDao manifestDao;
+    private final CompressedBlobConverter blobConverter;
 
     public NeoForgeVersionsApiController(NeoForgeVersionService neoForgeVersionService,
-                                         MetaApiProperties apiProperties) {
+                                         SoftwareComponentVersionDao versionDao,
+                                         VersionListCache versionListCache,
+                                         NeoForgeVersionDetailsPages detailsPages,
+                                         MetaApiProperties apiProperties,
+                                         MinecraftVersionManifestDao manifestDao,
+                                         CompressedBlobConverter blobConverter) {
         this.neoForgeVersionService = neoForgeVersionService;
+        this.versionDao = versionDao;
+        this.versionListCache = versionListCache;
+        this.detailsPages = detailsPages;
         this.apiProperties = apiProperties;
+        this.manifestDao = manifestDao;
+        this.blobConverter = blobConverter;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ResponseEntity<Object> getNeoForgeVersionLauncherManifest(String versionId) {
-        var version = neoForgeVersionService.getVersion(versionId);
-        if (version == null) {
+    public ResponseEntity<Object> getNeoForgeVersionLauncherManifest(String versionId, @Nullable String acceptEncoding) {
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (info == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(version.getLauncherProfile());
+        var eTag = ConditionalRequests.eTag(info.lastModified());
+        var notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+
+        if (StoredContentResponses.acceptsDeflate(acceptEncoding)) {
+            var response = StoredContentResponses.deflated(versionDao.findStoredLauncherProfile(info.id()), eTag, info.lastModified());
+            if (response != null) {
+                return response;
+            }
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(versionDao.findLauncherProfile(info.id()));
     }
 
     @Override
-    public ResponseEntity<Object> getNeoForgeVersionInstallerProfile(String versionId) {
-        var version = neoForgeVersionService.getVersion(versionId);
-        if (version == null) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Object> getNeoForgeVersionLaunchProfile(String versionId, String os, @Nullable String acceptEncoding) {
+        var osType = OsType.fromSerializedName(os);
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (osType == null || info == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(version.getInstallerProfile());
+        var eTag = ConditionalRequests.eTag(info.lastModified());
+        var notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+
+        var stored = versionDao.findStoredLaunchProfile(info.id(), osType.name());
+        if (StoredContentResponses.acceptsDeflate(acceptEncoding)) {
+            var response = StoredContentResponses.deflated(stored, eTag, info.lastModified());
+            if (response != null) {
+                return response;
+            }
+        }
+
+        String profile;
+        if (stored != null && stored.content() != null) {
+            profile = blobConverter.decompress(stored.content());
+        } else {
+            // Versions discovered before their Minecraft version was imported have no merged profile yet,
+            // until the Minecraft version is imported or LaunchProfileBackfill runs on the next startup
+            var minecraftManifest = manifestDao.findContentByNeoForgeVersionId(info.id());
+            if (minecraftManifest == null) {
+                return ResponseEntity.notFound().build();
+            }
+            profile = LaunchProfileMerger.merge(minecraftManifest, versionDao.findLauncherProfile(info.id()), osType);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(profile);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public ResponseEntity<Object> getNeoForgeVersionInstallerProfile(String versionId, @Nullable String acceptEncoding) {
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        var eTag = ConditionalRequests.eTag(info.lastModified());
+        var notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+
+        if (StoredContentResponses.acceptsDeflate(acceptEncoding)) {
+            var response = StoredContentResponses.deflated(versionDao.findStoredInstallerProfile(info.id()), eTag, info.lastModified());
+            if (response != null) {
+                return response;
+            }
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(versionDao.findInstallerProfile(info.id()));
+    }
+
+    @Override
     public ResponseEntity<List<NeoForgeVersionSummary>> getNeoForgeVersions() {
-        var versions = neoForgeVersionService.getVersions();
-        return ResponseEntity.ok(versions.stream().map(version -> {
-            return new NeoForgeVersionSummary(version.getVersion(),
-                    version.getReleased().atOffset(ZoneOffset.UTC),
-                    version.getLastModified().atOffset(ZoneOffset.UTC),
-                    version.getMinecraftVersion().getVersion());
-        }).toList());
+        return versionListCache.getNeoForgeVersions().toResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<NeoForgeVersionDetailsPage> getNeoForgeVersionDetailsPage(@Nullable String after, Integer limit, @Nullable String fields) {
+        byte[] page;
+        try {
+            page = detailsPages.getPage(after, limit, NeoForgeVersionDetailsPages.Field.parseList(fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // The page is already serialized, which the byte array message converter writes as is
+        return (ResponseEntity<NeoForgeVersionDetailsPage>) (ResponseEntity<?>) ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ResponseEntity<NeoForgeVersionDetails> getNeoForgeVersionDetails(String versionId) {
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity<NeoForgeVersionDetails> notModified = ConditionalRequests.checkNotModified(ConditionalRequests.eTag(info.lastModified()), info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+
         var version = neoForgeVersionService.getVersion(versionId);
         if (version == null) {
             return ResponseEntity.notFound().build();
@@ -104,26 +225,45 @@ public class NeoForgeVersionsApiController implements NeoforgeVersionsApi {
                 version.getMinecraftVersion().getVersion()
         );
 
-        return ResponseEntity.ok(details);
+        return ResponseEntity.ok()
+                .eTag(ConditionalRequests.eTag(version.getLastModified()))
+                .lastModified(version.getLastModified().toEpochMilli())
+                .body(details);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ResponseEntity<String> getNeoForgeServerArgsUnix(String versionId) {
-        var version = neoForgeVersionService.getVersion(versionId);
-        if (version == null) {
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (info == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok("");
+        var eTag = ConditionalRequests.eTag(info.lastModified());
+        ResponseEntity<String> notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
+                .body("");
     }
 
     @Override
     @Transactional(readOnly = true)
     public ResponseEntity<String> getNeoForgeServerArgsWindows(String versionId) {
-        var version = neoForgeVersionService.getVersion(versionId);
-        if (version == null) {
+        var info = neoForgeVersionService.getVersionInfo(versionId);
+        if (info == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok("");
+        var eTag = ConditionalRequests.eTag(info.lastModified());
+        ResponseEntity<String> notModified = ConditionalRequests.checkNotModified(eTag, info.lastModified());
+        if (notModified != null) {
+            return notModified;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(info.lastModified().toEpochMilli())
+                .body("");
     }
 }
@@ -0,0 +1,61 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.generated.api.PublicationsApi;
+import net.neoforged.meta.generated.model.PublicationNotification;
+import net.neoforged.meta.generated.model.PublicationResult;
+import net.neoforged.meta.jobs.JobRunner;
+import net.neoforged.meta.jobs.MavenVersionDiscoveryJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Lets publishing pipelines tell us about new versions, so they are discovered within seconds of being published.
+ * Polling the version listings then only has to catch versions that were not announced.
+ * <p>
+ * Since releases tend to come in bursts, a newly discovered version also triggers a run of the Maven discovery job,
+ * which picks up other components published at the same time and resets its interval.
+ */
+@RestController
+public class PublicationsApiController implements PublicationsApi {
+    private static final Logger LOG = LoggerFactory.getLogger(PublicationsApiController.class);
+
+    private final MetaApiProperties apiProperties;
+    private final MavenVersionDiscoveryJob mavenVersionDiscoveryJob;
+    private final JobRunner jobRunner;
+
+    public PublicationsApiController(MetaApiProperties apiProperties, MavenVersionDiscoveryJob mavenVersionDiscoveryJob, JobRunner jobRunner) {
+        this.apiProperties = apiProperties;
+        this.mavenVersionDiscoveryJob = mavenVersionDiscoveryJob;
+        this.jobRunner = jobRunner;
+    }
+
+    @Override
+    public ResponseEntity<PublicationResult> notifyPublication(PublicationNotification notification) {
+        var component = apiProperties.getComponents().stream()
+                .filter(c -> c.getGroupId().equals(notification.getGroupId()) && c.getArtifactId().equals(notification.getArtifactId()))
+                .findFirst()
+                .orElse(null);
+        if (component == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        var outcome = mavenVersionDiscoveryJob.discoverPublishedVersion(component, notification.getVersion());
+        LOG.info("Notification about published version {}:{}:{}: {}", notification.getGroupId(), notification.getArtifactId(), notification.getVersion(), outcome);
+        if (outcome == MavenVersionDiscoveryJob.PublishedVersionOutcome.DISCOVERED) {
+            jobRunner.runNow(mavenVersionDiscoveryJob);
+        }
+
+        var status = switch (outcome) {
+            case DISCOVERED -> PublicationResult.StatusEnum.DISCOVERED;
+            case ALREADY_KNOWN -> PublicationResult.StatusEnum.ALREADY_KNOWN;
+            case IN_PROGRESS -> PublicationResult.StatusEnum.IN_PROGRESS;
+            case NOT_PUBLISHED -> PublicationResult.StatusEnum.NOT_PUBLISHED;
+            case BROKEN -> PublicationResult.StatusEnum.BROKEN;
+            case FAILED -> PublicationResult.StatusEnum.FAILED;
+        };
+        return ResponseEntity.ok(new PublicationResult(status));
+    }
+}
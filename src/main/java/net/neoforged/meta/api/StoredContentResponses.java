@@ -0,0 +1,84 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.CompressedBlobConverter;
+import net.neoforged.meta.db.StoredBlob;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Sends stored documents to clients accepting the {@code deflate} content coding exactly as they are stored,
+ * so they do not have to be decompressed, and recompressed by the server, for every request.
+ */
+final class StoredContentResponses {
+    private static final String DEFLATE = "deflate";
+
+    private StoredContentResponses() {
+    }
+
+    static boolean acceptsDeflate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase(DEFLATE)) {
+                continue;
+            }
+            for (var i = 1; i < parameters.length; i++) {
+                var parameter = parameters[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ignored) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Each content coding is a different representation of a document, with its own entity tag.
+     */
+    static String deflatedETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + DEFLATE + "\"";
+    }
+
+    /**
+     * Builds a response with the stored document.
+     *
+     * @param eTag         The entity tag of the uncompressed document including quotes, or null if it has none.
+     * @param lastModified When the document was last modified, or null if unknown.
+     * @return Null if the document cannot be sent as it is stored, in which case it has to be sent uncompressed.
+     */
+    static @Nullable ResponseEntity<Object> deflated(@Nullable StoredBlob blob, @Nullable String eTag, @Nullable Instant lastModified) {
+        if (blob == null || blob.content() == null) {
+            return null;
+        }
+
+        var content = blob.content();
+        var offset = CompressedBlobConverter.getPlainDeflateOffset(content);
+        if (offset < 0) {
+            return null;
+        }
+
+        var response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header(HttpHeaders.CONTENT_ENCODING, DEFLATE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (eTag != null) {
+            response.eTag(deflatedETag(eTag));
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified.toEpochMilli());
+        }
+        return response.body(offset == 0 ? content : Arrays.copyOfRange(content, offset, content.length));
+    }
+}
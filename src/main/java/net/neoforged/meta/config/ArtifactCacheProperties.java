@@ -0,0 +1,69 @@
+package net.neoforged.meta.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings for the local copy of downloaded artifacts and of their checksums, kept in the data directory.
+ * <p>
+ * Artifacts are cached whenever they are downloaded in full. Installer jars are usually only read with range
+ * requests, which download a few kilobytes of them, so they are only cached once something downloaded all of them,
+ * such as computing checksums that the repository does not publish, or a repository that ignores range requests.
+ */
+@Validated
+public class ArtifactCacheProperties {
+    private boolean enabled;
+
+    /**
+     * Once the cache grows beyond this size, the least recently used artifacts are removed.
+     */
+    @NotNull
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * Artifacts smaller than this are not cached, since revalidating them costs as much as downloading them.
+     */
+    @NotNull
+    private DataSize minArtifactSize = DataSize.ofKilobytes(4);
+
+    /**
+     * Once more checksums than this are cached, the least recently used ones are removed.
+     * Each entry is a small file of well below a kilobyte.
+     */
+    @Positive
+    private int maxChecksumEntries = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMinArtifactSize() {
+        return minArtifactSize;
+    }
+
+    public void setMinArtifactSize(DataSize minArtifactSize) {
+        this.minArtifactSize = minArtifactSize;
+    }
+
+    public int getMaxChecksumEntries() {
+        return maxChecksumEntries;
+    }
+
+    public void setMaxChecksumEntries(int maxChecksumEntries) {
+        this.maxChecksumEntries = maxChecksumEntries;
+    }
+}
@@ -0,0 +1,88 @@
+package net.neoforged.meta.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings for compressing the documents (manifests and profiles) stored in the database.
+ */
+@Validated
+public class BlobCompressionProperties {
+    /**
+     * Whether documents are compressed with a shared dictionary, trained on the documents already stored.
+     * <p>
+     * This makes the database smaller, but clients can't decompress documents compressed with the dictionary.
+     * They are then decompressed for every request, instead of being sent exactly as they are stored to
+     * clients that accept {@code deflate}. When disabled, documents that were compressed with a dictionary
+     * are gradually recompressed without it.
+     */
+    private boolean dictionaryEnabled = false;
+
+    /**
+     * The size of the trained dictionary. Deflate uses at most 32KB.
+     */
+    @NotNull
+    private DataSize dictionarySize = DataSize.ofKilobytes(32);
+
+    /**
+     * How many of the most recent documents of each kind the dictionary is trained on.
+     */
+    @Min(2)
+    private int trainingSamples = 50;
+
+    /**
+     * After this time, a new dictionary is trained to keep up with changes in the documents.
+     */
+    @NotNull
+    private Duration dictionaryMaxAge = Duration.ofDays(180);
+
+    /**
+     * How many versions are recompressed per run after a new dictionary was trained.
+     */
+    @Min(1)
+    private int migrationBatchSize = 200;
+
+    public boolean isDictionaryEnabled() {
+        return dictionaryEnabled;
+    }
+
+    public void setDictionaryEnabled(boolean dictionaryEnabled) {
+        this.dictionaryEnabled = dictionaryEnabled;
+    }
+
+    public DataSize getDictionarySize() {
+        return dictionarySize;
+    }
+
+    public void setDictionarySize(DataSize dictionarySize) {
+        this.dictionarySize = dictionarySize;
+    }
+
+    public int getTrainingSamples() {
+        return trainingSamples;
+    }
+
+    public void setTrainingSamples(int trainingSamples) {
+        this.trainingSamples = trainingSamples;
+    }
+
+    public Duration getDictionaryMaxAge() {
+        return dictionaryMaxAge;
+    }
+
+    public void setDictionaryMaxAge(Duration dictionaryMaxAge) {
+        this.dictionaryMaxAge = dictionaryMaxAge;
+    }
+
+    public int getMigrationBatchSize() {
+        return migrationBatchSize;
+    }
+
+    public void setMigrationBatchSize(int migrationBatchSize) {
+        this.migrationBatchSize = migrationBatchSize;
+    }
+}
@@ -0,0 +1,66 @@
+package net.neoforged.meta.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings for the HTTP client used to talk to a remote server. Connections are kept alive and reused
+ * between requests.
+ */
+@Validated
+public class HttpClientProperties {
+    /**
+     * Use HTTP/2 if the server supports it, which allows concurrent requests to share a single connection.
+     */
+    private boolean http2 = true;
+
+    @NotNull
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long to wait for the response to a request.
+     */
+    @NotNull
+    private Duration readTimeout = Duration.ofSeconds(60);
+
+    /**
+     * How many requests may be in-flight at the same time. Additional requests wait for a free slot.
+     */
+    @Min(1)
+    private int maxInFlightRequests = 32;
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getMaxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = maxInFlightRequests;
+    }
+}
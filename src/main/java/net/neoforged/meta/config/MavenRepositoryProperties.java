@@ -1,5 +1,7 @@
 package net.neoforged.meta.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import net.neoforged.meta.db.SoftwareComponentArtifact;
 import org.jspecify.annotations.Nullable;
@@ -20,6 +22,15 @@ public class MavenRepositoryProperties {
     private Map<String, String> headers = new HashMap<>();
     @Nullable
     private URI externalUrl;
+    /**
+     * How many versions of a component in this repository are discovered concurrently.
+     * With the default of 1, versions are discovered one after the other.
+     */
+    @Min(1)
+    private int discoveryConcurrency = 1;
+    @NotNull
+    @Valid
+    private HttpClientProperties http = new HttpClientProperties();
 
     public String getId() {
         return id;
@@ -53,11 +64,31 @@ public class MavenRepositoryProperties {
         this.externalUrl = externalUrl;
     }
 
+    public int getDiscoveryConcurrency() {
+        return discoveryConcurrency;
+    }
+
+    public void setDiscoveryConcurrency(int discoveryConcurrency) {
+        this.discoveryConcurrency = discoveryConcurrency;
+    }
+
+    public HttpClientProperties getHttp() {
+        return http;
+    }
+
+    public void setHttp(HttpClientProperties http) {
+        this.http = http;
+    }
+
     public String getDownloadUrl(SoftwareComponentArtifact artifact) {
+        return getDownloadUrl(artifact.getRelativePath());
+    }
+
+    public String getDownloadUrl(String relativePath) {
         var repositoryUrl = Objects.requireNonNullElse(externalUrl, url).toString();
         if (!repositoryUrl.endsWith("/")) {
             repositoryUrl += "/";
         }
-        return repositoryUrl + artifact.getRelativePath();
+        return repositoryUrl + relativePath;
     }
 }
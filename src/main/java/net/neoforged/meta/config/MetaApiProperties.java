@@ -19,10 +19,25 @@ public class MetaApiProperties {
     @NotNull
     private URI minecraftLauncherMetaUrl;
 
+    /**
+     * HTTP client settings for the launcher metadata and the version manifests it references.
+     */
+    @NotNull
+    @Valid
+    private HttpClientProperties minecraftLauncherMetaHttp = new HttpClientProperties();
+
     @NotNull
     @Valid
     private List<MavenRepositoryProperties> mavenRepositories = new ArrayList<>();
 
+    @NotNull
+    @Valid
+    private ArtifactCacheProperties artifactCache = new ArtifactCacheProperties();
+
+    @NotNull
+    @Valid
+    private BlobCompressionProperties blobCompression = new BlobCompressionProperties();
+
     @NotNull
     @Valid
     private List<SoftwareComponentProperties> components = new ArrayList<>();
@@ -43,6 +58,14 @@ public class MetaApiProperties {
         this.minecraftLauncherMetaUrl = minecraftLauncherMetaUrl;
     }
 
+    public HttpClientProperties getMinecraftLauncherMetaHttp() {
+        return minecraftLauncherMetaHttp;
+    }
+
+    public void setMinecraftLauncherMetaHttp(HttpClientProperties minecraftLauncherMetaHttp) {
+        this.minecraftLauncherMetaHttp = minecraftLauncherMetaHttp;
+    }
+
     public List<MavenRepositoryProperties> getMavenRepositories() {
         return mavenRepositories;
     }
@@ -51,6 +74,22 @@ public class MetaApiProperties {
         this.mavenRepositories = mavenRepositories;
     }
 
+    public ArtifactCacheProperties getArtifactCache() {
+        return artifactCache;
+    }
+
+    public void setArtifactCache(ArtifactCacheProperties artifactCache) {
+        this.artifactCache = artifactCache;
+    }
+
+    public BlobCompressionProperties getBlobCompression() {
+        return blobCompression;
+    }
+
+    public void setBlobCompression(BlobCompressionProperties blobCompression) {
+        this.blobCompression = blobCompression;
+    }
+
     public List<SoftwareComponentProperties> getComponents() {
         return components;
     }
@@ -1,6 +1,27 @@
 package net.neoforged.meta.config;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
-public record ScheduledTaskProperties(boolean enabled, @NotNull String cronPattern) {
+import java.time.Duration;
+
+/**
+ * @param minInterval   The time between runs while new versions are being discovered.
+ * @param maxInterval   The time between runs after a long time without new versions.
+ * @param backoffFactor The factor by which the time between runs grows after each run that discovered nothing new.
+ * @param cronPattern   No longer supported, since jobs are scheduled by their intervals. Only bound to reject
+ *                      configurations that still set it, instead of silently ignoring their schedule.
+ */
+public record ScheduledTaskProperties(boolean enabled,
+                                      @NotNull @DefaultValue("30s") Duration minInterval,
+                                      @NotNull @DefaultValue("10m") Duration maxInterval,
+                                      @DecimalMin("1.0") @DefaultValue("2.0") double backoffFactor,
+                                      @Deprecated @Nullable String cronPattern) {
+    public ScheduledTaskProperties {
+        if (cronPattern != null) {
+            throw new IllegalArgumentException("cron-pattern is no longer supported, configure min-interval, max-interval and backoff-factor instead");
+        }
+    }
 }
@@ -8,5 +8,6 @@ import org.springframework.validation.annotation.Validated;
 @ConfigurationProperties("scheduled-tasks")
 @Validated
 public record ScheduledTasksProperties(@NotNull @Valid ScheduledTaskProperties minecraftVersionDiscovery,
-                                       @NotNull @Valid ScheduledTaskProperties mavenVersionDiscovery) {
+                                       @NotNull @Valid ScheduledTaskProperties mavenVersionDiscovery,
+                                       @NotNull @Valid ScheduledTaskProperties blobCompression) {
 }
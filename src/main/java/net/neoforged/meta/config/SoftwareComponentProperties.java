@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import org.jspecify.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +31,12 @@ public class SoftwareComponentProperties {
     @Valid
     private List<SoftwareComponentPublicationPropertiesRule> publicationRules = new ArrayList<>();
 
+    /**
+     * Discovery of this component is aborted if it takes longer than this, so it does not hold up the next run.
+     */
+    @NotNull
+    private Duration discoveryTimeout = Duration.ofMinutes(10);
+
     public String getGroupId() {
         return groupId;
     }
@@ -69,4 +76,12 @@ public class SoftwareComponentProperties {
     public void setPublicationRules(List<SoftwareComponentPublicationPropertiesRule> publicationRules) {
         this.publicationRules = publicationRules;
     }
+
+    public Duration getDiscoveryTimeout() {
+        return discoveryTimeout;
+    }
+
+    public void setDiscoveryTimeout(Duration discoveryTimeout) {
+        this.discoveryTimeout = discoveryTimeout;
+    }
 }
@@ -0,0 +1,182 @@
+package net.neoforged.meta.db;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Records what discovery last saw of a software component in a repository, so that the next discovery run
+ * can ask the repository whether anything changed since then, instead of re-processing the full version list.
+ * The Minecraft launcher manifest is tracked as the {@link MinecraftVersion#MINECRAFT_GROUP_ID Minecraft component}.
+ * <p>
+ * Deleting the state of a component forces the next discovery run to fully process it again.
+ */
+@Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_component_discovery_state_component", columnList = "repository, groupId, artifactId", unique = true)
+        }
+)
+public class ComponentDiscoveryState {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the Maven repository the component was discovered in.
+     */
+    @Column(nullable = false)
+    private String repository;
+
+    /**
+     * Group ID (e.g., "net.neoforged") identifying the component.
+     */
+    @Column(nullable = false)
+    private String groupId;
+
+    /**
+     * Artifact ID (e.g., "neoforge") identifying the component.
+     */
+    @Column(nullable = false)
+    private String artifactId;
+
+    /**
+     * The ETag of the version listing when it was last fully processed.
+     */
+    @Nullable
+    private String etag;
+
+    /**
+     * The Last-Modified header of the version listing when it was last fully processed.
+     */
+    @Nullable
+    private Instant lastModified;
+
+    /**
+     * The lastUpdated timestamp of the maven-metadata.xml when it was last fully processed.
+     */
+    @Nullable
+    private String metadataLastUpdated;
+
+    /**
+     * How many versions were listed when the version listing was last fully processed.
+     * Versions listed after these have been published since.
+     */
+    @Nullable
+    private Integer versionCount;
+
+    /**
+     * Hash of the versions that were listed when the version listing was last fully processed.
+     * If the same versions are no longer listed first, the whole listing has to be compared to the known versions.
+     */
+    @Nullable
+    private String versionsHash;
+
+    /**
+     * SHA-1 of the version listing when it was last fully processed, to detect an unchanged listing
+     * even if the server does not support conditional requests.
+     */
+    @Nullable
+    private String contentSha1;
+
+    /**
+     * When the version listing was last fully processed.
+     */
+    @Column(nullable = false)
+    private Instant lastProcessed;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRepository() {
+        return repository;
+    }
+
+    public void setRepository(String repository) {
+        this.repository = repository;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public void setArtifactId(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    public @Nullable String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(@Nullable String etag) {
+        this.etag = etag;
+    }
+
+    public @Nullable Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(@Nullable Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public @Nullable String getMetadataLastUpdated() {
+        return metadataLastUpdated;
+    }
+
+    public void setMetadataLastUpdated(@Nullable String metadataLastUpdated) {
+        this.metadataLastUpdated = metadataLastUpdated;
+    }
+
+    public @Nullable Integer getVersionCount() {
+        return versionCount;
+    }
+
+    public void setVersionCount(@Nullable Integer versionCount) {
+        this.versionCount = versionCount;
+    }
+
+    public @Nullable String getVersionsHash() {
+        return versionsHash;
+    }
+
+    public void setVersionsHash(@Nullable String versionsHash) {
+        this.versionsHash = versionsHash;
+    }
+
+    public @Nullable String getContentSha1() {
+        return contentSha1;
+    }
+
+    public void setContentSha1(@Nullable String contentSha1) {
+        this.contentSha1 = contentSha1;
+    }
+
+    public Instant getLastProcessed() {
+        return lastProcessed;
+    }
+
+    public void setLastProcessed(Instant lastProcessed) {
+        this.lastProcessed = lastProcessed;
+    }
+}
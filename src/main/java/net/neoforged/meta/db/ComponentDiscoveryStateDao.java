@@ -0,0 +1,28 @@
+package net.neoforged.meta.db;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ComponentDiscoveryStateDao extends JpaRepository<ComponentDiscoveryState, Long> {
+    @Query("select s from ComponentDiscoveryState s where s.repository = :repository and s.groupId = :groupId and s.artifactId = :artifactId")
+    @Nullable
+    ComponentDiscoveryState findByComponent(String repository, String groupId, String artifactId);
+
+    /**
+     * Forces the next discovery run to fully process the given component in all repositories.
+     */
+    @Modifying
+    @Query("delete from ComponentDiscoveryState where groupId = :groupId and artifactId = :artifactId")
+    int invalidateByGA(String groupId, String artifactId);
+
+    /**
+     * Forces the next discovery run to fully process all components.
+     */
+    @Modifying
+    @Query("delete from ComponentDiscoveryState")
+    int invalidateAll();
+}
@@ -0,0 +1,153 @@
+package net.neoforged.meta.db;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * JPA converter that automatically compresses/decompresses string data using deflate, optionally with a
+ * shared {@linkplain CompressionDictionary preset dictionary}.
+ * <p>
+ * Compressed data starts with a header of two bytes: a zero byte, which a zlib stream never starts with,
+ * followed by the format. Data without the header was written before formats were introduced, and is read
+ * as a plain zlib stream. When a dictionary is used, zlib records its Adler-32 checksum in the stream,
+ * so data stays readable for as long as the dictionary it was written with is
+ * {@linkplain CompressionDictionaryRegistry#register registered}.
+ */
+@Component
+@Converter
+public class CompressedBlobConverter implements AttributeConverter<String, byte[]> {
+    private static final byte HEADER = 0;
+    static final byte FORMAT_DEFLATE = 1;
+    static final byte FORMAT_DEFLATE_DICTIONARY = 2;
+
+    private final CompressionDictionaryRegistry dictionaries;
+
+    public CompressedBlobConverter(CompressionDictionaryRegistry dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+
+        return compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+
+        return decompress(dbData);
+    }
+
+    /**
+     * Checks whether compressed data uses the format and dictionary that data is compressed with now.
+     * Only the format and the dictionary ID are compared, not the compression level, since recompressing
+     * with a different level gains nothing. Data without the header is a plain zlib stream like {@link #FORMAT_DEFLATE}.
+     */
+    public boolean isCurrentFormat(byte[] data) {
+        var dictionaryId = dictionaries.getCurrentDictionaryStoredId();
+        var usesDictionary = data.length >= 2 && data[0] == HEADER && data[1] == FORMAT_DEFLATE_DICTIONARY;
+        if (dictionaryId.length == 0) {
+            return !usesDictionary;
+        }
+        // The dictionary ID follows the two bytes of our header and the two bytes of the zlib header
+        return usesDictionary && data.length >= 8 && Arrays.equals(data, 4, 8, dictionaryId, 0, 4);
+    }
+
+    /**
+     * Finds the zlib stream in compressed data, which is what HTTP calls the {@code deflate} content coding.
+     *
+     * @return The offset of the zlib stream, or -1 if it was compressed with a dictionary, which clients
+     * would not be able to decompress.
+     */
+    public static int getPlainDeflateOffset(byte[] data) {
+        var offset = data.length > 0 && data[0] == HEADER ? 2 : 0;
+        if (data.length < offset + 2 || (offset > 0 && data[1] != FORMAT_DEFLATE)) {
+            return -1;
+        }
+        // FDICT flag of the zlib header
+        if ((data[offset + 1] & 0x20) != 0) {
+            return -1;
+        }
+        return offset;
+    }
+
+    public byte[] compress(String value) {
+        return compress(value.getBytes(StandardCharsets.UTF_8), dictionaries.getCurrentDictionary());
+    }
+
+    private static byte[] compress(byte[] bytes, byte @Nullable [] dictionary) {
+        var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            var out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+            out.write(HEADER);
+            out.write(dictionary != null ? FORMAT_DEFLATE_DICTIONARY : FORMAT_DEFLATE);
+            var buffer = new byte[8192];
+            while (!deflater.finished()) {
+                var count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String decompress(byte[] data) {
+        var offset = 0;
+        if (data.length > 0 && data[0] == HEADER) {
+            if (data.length < 2 || (data[1] != FORMAT_DEFLATE && data[1] != FORMAT_DEFLATE_DICTIONARY)) {
+                throw new IllegalStateException("Unknown compressed data format: " + (data.length < 2 ? "none" : data[1]));
+            }
+            offset = 2;
+        }
+
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+
+            var out = new ByteArrayOutputStream(data.length * 4);
+            var buffer = new byte[8192];
+            while (!inflater.finished()) {
+                var count = inflater.inflate(buffer);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        var dictionary = dictionaries.get(inflater.getAdler());
+                        if (dictionary == null) {
+                            throw new IllegalStateException("Data was compressed with unknown dictionary " + Integer.toHexString(inflater.getAdler()));
+                        }
+                        inflater.setDictionary(dictionary);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("Compressed data is truncated");
+                    }
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Failed to decompress data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package net.neoforged.meta.db;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+
+/**
+ * A preset dictionary for {@link CompressedBlobConverter}, trained on the documents stored in the database.
+ * Dictionaries must be kept for as long as data compressed with them exists.
+ */
+@Entity
+public class CompressionDictionary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The Adler-32 checksum of the dictionary, which zlib uses to identify it.
+     */
+    @Column(nullable = false, unique = true)
+    private int dictionaryId;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] content;
+
+    /**
+     * How many documents the dictionary was trained on.
+     */
+    @Column(nullable = false)
+    private int sampleCount;
+
+    @Column(nullable = false)
+    private Instant created;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public void setDictionaryId(int dictionaryId) {
+        this.dictionaryId = dictionaryId;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+}
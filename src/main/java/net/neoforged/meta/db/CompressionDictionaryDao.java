@@ -0,0 +1,18 @@
+package net.neoforged.meta.db;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CompressionDictionaryDao extends JpaRepository<CompressionDictionary, Long> {
+    /**
+     * All dictionaries, with the one to compress new data with last.
+     */
+    List<CompressionDictionary> findAllByOrderByCreatedAscIdAsc();
+
+    @Nullable
+    CompressionDictionary findByDictionaryId(int dictionaryId);
+}
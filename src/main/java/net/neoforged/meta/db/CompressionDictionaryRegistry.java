@@ -0,0 +1,73 @@
+package net.neoforged.meta.db;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Adler32;
+
+/**
+ * The {@linkplain CompressionDictionary dictionaries} that {@link CompressedBlobConverter} reads and writes data with.
+ * Dictionaries are stored in the database, and registered here on startup by the job that trains them.
+ */
+@Component
+public class CompressionDictionaryRegistry {
+    private static final byte[] NO_DICTIONARY_ID = new byte[0];
+
+    /**
+     * All known dictionaries by their Adler-32 checksum.
+     */
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    /**
+     * The dictionary used to compress new data.
+     */
+    private volatile byte @Nullable [] currentDictionary;
+
+    /**
+     * Makes data compressed with the given dictionary readable.
+     *
+     * @return The ID of the dictionary, which is its Adler-32 checksum.
+     */
+    public int register(byte[] dictionary) {
+        var id = getDictionaryId(dictionary);
+        dictionaries.put(id, dictionary);
+        return id;
+    }
+
+    public byte @Nullable [] get(int id) {
+        return dictionaries.get(id);
+    }
+
+    /**
+     * Sets the dictionary used to compress new data, or null to compress without a dictionary.
+     */
+    public void setCurrentDictionary(byte @Nullable [] dictionary) {
+        if (dictionary != null) {
+            register(dictionary);
+        }
+        currentDictionary = dictionary;
+    }
+
+    public byte @Nullable [] getCurrentDictionary() {
+        return currentDictionary;
+    }
+
+    /**
+     * {@return the ID of the current dictionary as zlib stores it in compressed data, or an empty array if no dictionary is used}
+     */
+    public byte[] getCurrentDictionaryStoredId() {
+        var dictionary = currentDictionary;
+        if (dictionary == null) {
+            return NO_DICTIONARY_ID;
+        }
+        return ByteBuffer.allocate(4).putInt(getDictionaryId(dictionary)).array();
+    }
+
+    public static int getDictionaryId(byte[] dictionary) {
+        var adler = new Adler32();
+        adler.update(dictionary);
+        return (int) adler.getValue();
+    }
+}
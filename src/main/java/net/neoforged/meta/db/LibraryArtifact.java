@@ -0,0 +1,154 @@
+package net.neoforged.meta.db;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A library artifact in the shared catalog of libraries, which exists once per unique artifact, checksum, size
+ * and download URL, no matter how many Minecraft or NeoForge versions {@linkplain ReferencedLibrary reference} it.
+ * <p>
+ * Since SQLite considers null values distinct in unique indexes, entries are kept unique by their
+ * {@linkplain #getCatalogKey() catalog key}, which combines all of these properties into one string.
+ */
+@Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_library_artifact_gav", columnList = "groupId, artifactId, version"),
+                @Index(name = "idx_library_artifact_sha1", columnList = "sha1Checksum")
+        }
+)
+public class LibraryArtifact {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String catalogKey;
+
+    @Column(nullable = false)
+    private String groupId;
+    @Column(nullable = false)
+    private String artifactId;
+    @Column(nullable = false)
+    private String version;
+    @Nullable
+    private String classifier;
+    @Nullable
+    private String extension;
+
+    private String sha1Checksum;
+
+    private Long size;
+
+    private String url;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCatalogKey() {
+        return catalogKey;
+    }
+
+    public void setCatalogKey(String catalogKey) {
+        this.catalogKey = catalogKey;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(String groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public void setArtifactId(String artifactId) {
+        this.artifactId = artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public @Nullable String getClassifier() {
+        return classifier;
+    }
+
+    public void setClassifier(@Nullable String classifier) {
+        this.classifier = classifier;
+    }
+
+    public @Nullable String getExtension() {
+        return extension;
+    }
+
+    public void setExtension(@Nullable String extension) {
+        this.extension = extension;
+    }
+
+    public String getSha1Checksum() {
+        return sha1Checksum;
+    }
+
+    public void setSha1Checksum(String sha1Checksum) {
+        this.sha1Checksum = sha1Checksum;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getMavenRepositoryPath() {
+        var path = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version;
+        if (classifier != null) {
+            path += "-" + classifier;
+        }
+        if (extension != null) {
+            path += "." + extension;
+        }
+        return path;
+    }
+
+    public String getMavenComponentIdString() {
+        var result = groupId + ":" + artifactId + ":" + version;
+        if (classifier != null) {
+            result += ":" + classifier;
+        }
+        return result + "@" + extension;
+    }
+
+    @Override
+    public String toString() {
+        return getMavenComponentIdString();
+    }
+}
@@ -0,0 +1,120 @@
+package net.neoforged.meta.db;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LibraryArtifactDao extends JpaRepository<LibraryArtifact, Long> {
+    Optional<LibraryArtifact> findByCatalogKey(String catalogKey);
+
+    /**
+     * Adds an entry to the catalog, unless an entry with the same catalog key was added in the meantime.
+     *
+     * @return The number of added entries.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into library_artifact (catalog_key, group_id, artifact_id, version, classifier, extension, sha1_checksum, size, url)
+            values (:catalogKey, :groupId, :artifactId, :version, :classifier, :extension, :sha1Checksum, :size, :url)
+            on conflict (catalog_key) do nothing""")
+    int insertIfAbsent(String catalogKey,
+                       String groupId,
+                       String artifactId,
+                       String version,
+                       @Nullable String classifier,
+                       @Nullable String extension,
+                       @Nullable String sha1Checksum,
+                       @Nullable Long size,
+                       @Nullable String url);
+
+    /**
+     * Finds the catalog entries for an artifact. There can be more than one if versions download it from
+     * different URLs.
+     */
+    @Query("""
+            select l from LibraryArtifact l
+            where l.groupId = :groupId and l.artifactId = :artifactId and l.version = :version
+            and (l.classifier = :classifier or (l.classifier is null and :classifier is null))
+            and (l.extension = :extension or (l.extension is null and :extension is null))
+            and (l.sha1Checksum = :sha1Checksum or (l.sha1Checksum is null and :sha1Checksum is null))
+            order by l.id""")
+    List<LibraryArtifact> findByCoordinates(String groupId,
+                                            String artifactId,
+                                            String version,
+                                            @Nullable String classifier,
+                                            @Nullable String extension,
+                                            @Nullable String sha1Checksum);
+
+    /**
+     * Finds the Minecraft and NeoForge versions that use a library, newest versions first.
+     *
+     * @param versionPattern A {@code like} pattern for the library version, or null to find all versions.
+     */
+    @Query(value = """
+            select u.groupId, u.artifactId, u.version, u.released, u.libraryVersion, u.libraryClassifier, u.libraryExtension,
+                   u.librarySha1Checksum, u.clientClasspath, u.clientModulePath, u.clientInstaller, u.serverInstaller
+            from (
+                select 'net.minecraft' as groupId, 'minecraft' as artifactId, mv.version as version, mv.released as released,
+                       a.version as libraryVersion, a.classifier as libraryClassifier, a.extension as libraryExtension,
+                       a.sha1Checksum as librarySha1Checksum, l.clientClasspath as clientClasspath, l.clientModulePath as clientModulePath,
+                       l.clientInstaller as clientInstaller, l.serverInstaller as serverInstaller
+                from MinecraftVersion mv join mv.libraries l join l.library a
+                where a.groupId = :groupId and a.artifactId = :artifactId and (:versionPattern is null or a.version like :versionPattern escape '!')
+                union all
+                select nv.groupId, nv.artifactId, nv.version, nv.released,
+                       a.version, a.classifier, a.extension,
+                       a.sha1Checksum, l.clientClasspath, l.clientModulePath,
+                       l.clientInstaller, l.serverInstaller
+                from NeoForgeVersion nv join nv.libraries l join l.library a
+                where a.groupId = :groupId and a.artifactId = :artifactId and (:versionPattern is null or a.version like :versionPattern escape '!')
+            ) u
+            order by u.released desc, u.groupId, u.artifactId, u.version, u.libraryVersion, u.libraryClassifier""",
+            countQuery = """
+            select count(*)
+            from (
+                select a.id as id
+                from MinecraftVersion mv join mv.libraries l join l.library a
+                where a.groupId = :groupId and a.artifactId = :artifactId and (:versionPattern is null or a.version like :versionPattern escape '!')
+                union all
+                select a.id
+                from NeoForgeVersion nv join nv.libraries l join l.library a
+                where a.groupId = :groupId and a.artifactId = :artifactId and (:versionPattern is null or a.version like :versionPattern escape '!')
+            ) u""")
+    Page<LibraryUsage> findUsages(String groupId, String artifactId, @Nullable String versionPattern, Pageable pageable);
+
+    /**
+     * Finds the Minecraft and NeoForge versions that use a library, newest versions first.
+     *
+     * @param versionPrefix Only find usages of library versions starting with this prefix, or null to find all versions.
+     */
+    default Page<LibraryUsage> findUsagesByVersionPrefix(String groupId, String artifactId, @Nullable String versionPrefix, Pageable pageable) {
+        String versionPattern = null;
+        if (versionPrefix != null && !versionPrefix.isEmpty()) {
+            versionPattern = versionPrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        }
+        return findUsages(groupId, artifactId, versionPattern, pageable);
+    }
+
+    record LibraryUsage(String groupId,
+                        String artifactId,
+                        String version,
+                        Instant released,
+                        String libraryVersion,
+                        @Nullable String libraryClassifier,
+                        @Nullable String libraryExtension,
+                        @Nullable String librarySha1Checksum,
+                        boolean clientClasspath,
+                        boolean clientModulePath,
+                        boolean clientInstaller,
+                        boolean serverInstaller) {
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
@@ -84,7 +85,7 @@ public class MinecraftVersion {
     private List<NeoForgeVersion> neoForgeVersions = new ArrayList<>();
 
     @ElementCollection
-    @CollectionTable(name = "minecraft_version_libraries")
+    @CollectionTable(name = "minecraft_version_library_usages", indexes = @Index(name = "idx_minecraft_version_library_usages_library", columnList = "library_id"))
     private List<ReferencedLibrary> libraries = new ArrayList<>();
 
     /**
@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MinecraftVersionDao extends org.springframework.data.jpa.repository.JpaRepository<MinecraftVersion, Long> {
@@ -16,9 +18,33 @@ public interface MinecraftVersionDao extends org.springframework.data.jpa.reposi
     @Nullable
     MinecraftVersion getByVersion(String version);
 
+    @Query("select mv.lastModified from MinecraftVersion mv where mv.version = :version")
+    @Nullable
+    Instant findLastModifiedByVersion(String version);
+
     @Query("select version from MinecraftVersion")
     List<String> getAllVersions();
 
+    /**
+     * Gets what is needed to list all versions, without loading the versions themselves.
+     * The rows are read as the stream is consumed, which has to happen within a transaction.
+     */
+    @Query("select mv.version, mv.type, mv.released, mv.lastModified from MinecraftVersion mv order by mv.id")
+    Stream<VersionListEntry> streamVersionListEntries();
+
+    record VersionListEntry(String version, String type, Instant released, Instant lastModified) {
+    }
+
+    /**
+     * Gets what is needed to decide whether a version has to be updated from the launcher manifest,
+     * without loading the versions themselves.
+     */
+    @Query("select mv.version, m.sha1, mv.reimport from MinecraftVersion mv left join mv.manifest m")
+    List<SyncState> getSyncStates();
+
+    record SyncState(String version, @Nullable String manifestSha1, boolean reimport) {
+    }
+
     @Modifying
     @Query("update MinecraftVersion mv set mv.reimport = true where mv.imported = true")
     int setReimportForAll();
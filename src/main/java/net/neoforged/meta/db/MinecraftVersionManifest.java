@@ -1,6 +1,8 @@
 package net.neoforged.meta.db;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ColumnResult;
+import jakarta.persistence.ConstructorResult;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,11 +10,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SqlResultSetMapping;
 import org.jspecify.annotations.Nullable;
 
 import java.time.Instant;
 
 @Entity
+@SqlResultSetMapping(
+        name = StoredBlob.MAPPING,
+        classes = @ConstructorResult(targetClass = StoredBlob.class, columns = @ColumnResult(name = "content", type = byte[].class))
+)
 public class MinecraftVersionManifest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -46,7 +53,7 @@ public class MinecraftVersionManifest {
      * Automatically compressed using deflate.
      */
     @Column(nullable = false, columnDefinition = "BLOB")
-    @Convert(converter = DeflateConverter.class)
+    @Convert(converter = CompressedBlobConverter.class)
     private String content;
 
     public Long getId() {
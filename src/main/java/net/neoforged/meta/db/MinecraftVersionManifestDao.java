@@ -1,9 +1,63 @@
 package net.neoforged.meta.db;
 
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface MinecraftVersionManifestDao extends JpaRepository<MinecraftVersionManifest, Long> {
     MinecraftVersionManifest findByMinecraftVersion(MinecraftVersion minecraftVersion);
+
+    @Query("select m.id as id, m.sha1 as sha1, m.lastModified as lastModified from MinecraftVersionManifest m where m.minecraftVersion.version = :version")
+    @Nullable
+    ManifestInfo findInfoByVersion(String version);
+
+    /**
+     * The content as it is stored, without decompressing it.
+     */
+    @NativeQuery(value = "select content from minecraft_version_manifest where id = :id", sqlResultSetMapping = StoredBlob.MAPPING)
+    @Nullable
+    StoredBlob findStoredContent(long id);
+
+    @Query("select m.content from MinecraftVersionManifest m order by m.id desc")
+    List<String> findLatestContents(Limit limit);
+
+    /**
+     * Finds manifests whose stored content is not compressed with the given dictionary. Compares the format header
+     * and the dictionary ID that zlib stores after its own header, but not the compression level.
+     *
+     * @param dictionaryId The ID of the dictionary as zlib stores it, or an empty array to find content compressed with any dictionary.
+     * @see CompressedBlobConverter#isCurrentFormat(byte[])
+     */
+    @Query(value = """
+            select id from minecraft_version_manifest
+            where not (substr(content, 1, 2) = x'0002' and substr(content, 5, 4) = :dictionaryId)
+            and (substr(content, 1, 2) = x'0002' or length(:dictionaryId) > 0)
+            order by id limit :limit""", nativeQuery = true)
+    List<Long> findIdsNotCompressedWithDictionary(byte[] dictionaryId, int limit);
+
+    @Query("select m.content from MinecraftVersionManifest m where m.id = :id")
+    @Nullable
+    String findContent(long id);
+
+    @Query("select m.content from MinecraftVersionManifest m, NeoForgeVersion nf where nf.id = :neoForgeVersionId and m.minecraftVersion = nf.minecraftVersion")
+    @Nullable
+    String findContentByNeoForgeVersionId(long neoForgeVersionId);
+
+    /**
+     * Writes the content again, which compresses it the way {@link CompressedBlobConverter} currently compresses data.
+     */
+    @Modifying
+    @Query("update MinecraftVersionManifest m set m.content = :content where m.id = :id")
+    void updateContent(long id, String content);
+
+    record ManifestInfo(long id, String sha1, Instant lastModified) {
+    }
 }
@@ -8,14 +8,22 @@ import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.MapKeyEnumerated;
 import jakarta.persistence.Table;
+import net.neoforged.meta.util.OsType;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "neoforge_version")
@@ -40,7 +48,7 @@ public class NeoForgeVersion extends SoftwareComponentVersion {
      * Automatically compressed using deflate.
      */
     @Column(nullable = false, columnDefinition = "BLOB")
-    @Convert(converter = DeflateConverter.class)
+    @Convert(converter = CompressedBlobConverter.class)
     private String launcherProfile;
 
     /**
@@ -48,11 +56,26 @@ public class NeoForgeVersion extends SoftwareComponentVersion {
      * Automatically compressed using deflate.
      */
     @Column(nullable = false, columnDefinition = "BLOB")
-    @Convert(converter = DeflateConverter.class)
+    @Convert(converter = CompressedBlobConverter.class)
     private String installerProfile;
 
+    /**
+     * The launcher profile merged with the manifest of the Minecraft version for each operating system,
+     * so launchers do not have to merge them themselves.
+     * Automatically compressed using deflate.
+     *
+     * @see net.neoforged.meta.extract.LaunchProfileMerger
+     */
+    @ElementCollection
+    @CollectionTable(name = "neoforge_version_launch_profiles", joinColumns = @JoinColumn(name = "neoforge_version_id"))
+    @MapKeyColumn(name = "os")
+    @MapKeyEnumerated(EnumType.STRING)
+    @Column(name = "content", nullable = false, columnDefinition = "BLOB")
+    @Convert(converter = CompressedBlobConverter.class)
+    private Map<OsType, String> launchProfiles = new EnumMap<>(OsType.class);
+
     @ElementCollection
-    @CollectionTable(name = "neoforge_version_libraries")
+    @CollectionTable(name = "neoforge_version_library_usages", indexes = @Index(name = "idx_neoforge_version_library_usages_library", columnList = "library_id"))
     private List<ReferencedLibrary> libraries = new ArrayList<>();
 
     @Embedded
@@ -99,6 +122,14 @@ public class NeoForgeVersion extends SoftwareComponentVersion {
         this.installerProfile = installerProfile;
     }
 
+    public Map<OsType, String> getLaunchProfiles() {
+        return launchProfiles;
+    }
+
+    public void setLaunchProfiles(Map<OsType, String> launchProfiles) {
+        this.launchProfiles = launchProfiles;
+    }
+
     public List<ReferencedLibrary> getLibraries() {
         return libraries;
     }
@@ -1,7 +1,8 @@
 package net.neoforged.meta.db;
 
-import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import net.neoforged.meta.manifests.version.MinecraftDownload;
 import net.neoforged.meta.manifests.version.MinecraftLibrary;
 import org.jspecify.annotations.Nullable;
@@ -12,7 +13,8 @@ import java.util.List;
 /**
  * Libraries referenced by a Minecraft or NeoForge version.
  * <p>
- * They can be referenced in various ways:
+ * The artifact itself is stored once in the shared {@link LibraryArtifact library catalog}, while this
+ * records how a version uses it:
  * <ul>
  *     <li>clientClasspath: The library is on the startup classpath of the client.</li>
  * </ul>
@@ -20,16 +22,9 @@ import java.util.List;
 @Embeddable
 public class ReferencedLibrary {
 
-    @Column(nullable = false)
-    private String groupId;
-    @Column(nullable = false)
-    private String artifactId;
-    @Column(nullable = false)
-    private String version;
-    @Nullable
-    private String classifier;
-    @Nullable
-    private String extension;
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "library_id", nullable = false)
+    private LibraryArtifact library;
 
     /**
      * Used on the client-side classpath.
@@ -51,50 +46,39 @@ public class ReferencedLibrary {
      */
     private boolean serverInstaller;
 
-    private String sha1Checksum;
-
-    private Long size;
-
-    private String url;
-
-    public String getGroupId() {
-        return groupId;
+    public ReferencedLibrary() {
     }
 
-    public void setGroupId(String groupId) {
-        this.groupId = groupId;
+    public ReferencedLibrary(LibraryArtifact library) {
+        this.library = library;
     }
 
-    public String getArtifactId() {
-        return artifactId;
+    public LibraryArtifact getLibrary() {
+        return library;
     }
 
-    public void setArtifactId(String artifactId) {
-        this.artifactId = artifactId;
+    public void setLibrary(LibraryArtifact library) {
+        this.library = library;
     }
 
-    public String getVersion() {
-        return version;
+    public String getGroupId() {
+        return library.getGroupId();
     }
 
-    public void setVersion(String version) {
-        this.version = version;
+    public String getArtifactId() {
+        return library.getArtifactId();
     }
 
-    public @Nullable String getClassifier() {
-        return classifier;
+    public String getVersion() {
+        return library.getVersion();
     }
 
-    public void setClassifier(@Nullable String classifier) {
-        this.classifier = classifier;
+    public @Nullable String getClassifier() {
+        return library.getClassifier();
     }
 
     public @Nullable String getExtension() {
-        return extension;
-    }
-
-    public void setExtension(@Nullable String extension) {
-        this.extension = extension;
+        return library.getExtension();
     }
 
     public boolean isClientClasspath() {
@@ -130,38 +114,19 @@ public class ReferencedLibrary {
     }
 
     public String getSha1Checksum() {
-        return sha1Checksum;
-    }
-
-    public void setSha1Checksum(String sha1Checksum) {
-        this.sha1Checksum = sha1Checksum;
+        return library.getSha1Checksum();
     }
 
     public Long getSize() {
-        return size;
-    }
-
-    public void setSize(Long size) {
-        this.size = size;
+        return library.getSize();
     }
 
     public String getUrl() {
-        return url;
-    }
-
-    public void setUrl(String url) {
-        this.url = url;
+        return library.getUrl();
     }
 
     public String getMavenRepositoryPath() {
-        var path = groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version;
-        if (classifier != null) {
-            path += "-" + classifier;
-        }
-        if (extension != null) {
-            path += "." + extension;
-        }
-        return path;
+        return library.getMavenRepositoryPath();
     }
 
     public static ReferencedLibrary of(String artifactId) {
@@ -171,27 +136,28 @@ public class ReferencedLibrary {
             artifactId = artifactId.substring(0, artifactId.lastIndexOf('@'));
         }
         var parts = artifactId.split(":");
-        var referencedLibrary = new ReferencedLibrary();
-        referencedLibrary.setGroupId(parts[0]);
-        referencedLibrary.setArtifactId(parts[1]);
-        referencedLibrary.setVersion(parts[2]);
+        var library = new LibraryArtifact();
+        library.setGroupId(parts[0]);
+        library.setArtifactId(parts[1]);
+        library.setVersion(parts[2]);
         if (parts.length > 3) {
-            referencedLibrary.setClassifier(parts[3]);
+            library.setClassifier(parts[3]);
         }
-        referencedLibrary.setExtension(extension);
-        return referencedLibrary;
+        library.setExtension(extension);
+        return new ReferencedLibrary(library);
     }
 
     public static List<ReferencedLibrary> of(MinecraftLibrary library) {
         var result = new ArrayList<ReferencedLibrary>();
         for (var classifierPair : iterateClassifiers(library)) {
             var referencedLib = of(library.artifactId());
+            var libraryArtifact = referencedLib.getLibrary();
             if (classifierPair.classifier != null) {
-                referencedLib.setClassifier(classifierPair.classifier);
+                libraryArtifact.setClassifier(classifierPair.classifier);
             }
-            referencedLib.setSha1Checksum(classifierPair.download.checksum());
-            referencedLib.setSize((long) classifierPair.download.size());
-            referencedLib.setUrl(classifierPair.download.uri().toString());
+            libraryArtifact.setSha1Checksum(classifierPair.download.checksum());
+            libraryArtifact.setSize((long) classifierPair.download.size());
+            libraryArtifact.setUrl(classifierPair.download.uri().toString());
             if (!referencedLib.getMavenRepositoryPath().equals(classifierPair.download.path())) {
                 throw new IllegalStateException("Library in manifest specifies non-standard download path: " + classifierPair.download.path()
                         + ". Expected: " + referencedLib.getMavenRepositoryPath());
@@ -219,11 +185,7 @@ public class ReferencedLibrary {
     }
 
     public String getMavenComponentIdString() {
-        var result = groupId + ":" + artifactId + ":" + version;
-        if (classifier != null) {
-            result += ":" + classifier;
-        }
-        return result + "@" + extension;
+        return library.getMavenComponentIdString();
     }
 
     @Override
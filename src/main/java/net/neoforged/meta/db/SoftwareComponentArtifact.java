@@ -172,16 +172,18 @@ public class SoftwareComponentArtifact {
     }
 
     public enum ChecksumType {
-        MD5(".md5", 128),
-        SHA1(".sha1", 160),
-        SHA256(".sha256", 256),
-        SHA512(".sha512", 512);
+        MD5(".md5", "MD5", 128),
+        SHA1(".sha1", "SHA-1", 160),
+        SHA256(".sha256", "SHA-256", 256),
+        SHA512(".sha512", "SHA-512", 512);
 
         private final String checksumExtension;
+        private final String digestAlgorithm;
         private final int bitLength;
 
-        ChecksumType(String checksumExtension, int bitLength) {
+        ChecksumType(String checksumExtension, String digestAlgorithm, int bitLength) {
             this.checksumExtension = checksumExtension;
+            this.digestAlgorithm = digestAlgorithm;
             this.bitLength = bitLength;
         }
 
@@ -189,6 +191,13 @@ public class SoftwareComponentArtifact {
             return checksumExtension;
         }
 
+        /**
+         * The name of the algorithm for {@link java.security.MessageDigest#getInstance(String)}.
+         */
+        public String digestAlgorithm() {
+            return digestAlgorithm;
+        }
+
         public int byteLength() {
             return bitLength / 8;
         }
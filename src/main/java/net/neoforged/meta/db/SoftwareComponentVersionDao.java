@@ -1,12 +1,17 @@
 package net.neoforged.meta.db;
 
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SoftwareComponentVersionDao extends JpaRepository<SoftwareComponentVersion, Long> {
@@ -26,6 +31,55 @@ public interface SoftwareComponentVersionDao extends JpaRepository<SoftwareCompo
         """)
     List<NeoForgeVersion> findLatestNeoForgeByMinecraftVersion();
 
+    /**
+     * Same as {@link #findLatestNeoForgeByMinecraftVersion()}, but only the version numbers.
+     */
+    @Query("""
+        SELECT nf.minecraftVersion.version, nf.version FROM NeoForgeVersion nf
+        WHERE (nf.minecraftVersion, nf.released) IN (
+            SELECT nf2.minecraftVersion, MAX(nf2.released)
+            FROM NeoForgeVersion nf2
+            GROUP BY nf2.minecraftVersion
+        )
+        """)
+    List<LatestNeoForgeVersion> findLatestNeoForgeVersionNames();
+
+    /**
+     * Gets what is needed to list all NeoForge versions, newest first, without loading the versions themselves.
+     * The rows are read as the stream is consumed, which has to happen within a transaction.
+     */
+    @Query("select nf.version, nf.released, nf.lastModified, nf.minecraftVersion.version from NeoForgeVersion nf order by nf.released desc")
+    Stream<NeoForgeVersionListEntry> streamNeoForgeVersionListEntries();
+
+    /**
+     * Gets a page of NeoForge versions without loading the versions themselves, ordered by their ID.
+     *
+     * @param after Only versions with a greater ID are returned.
+     */
+    @Query("""
+            select nf.id, nf.groupId, nf.artifactId, nf.version, nf.released, nf.lastModified, nf.repository, nf.minecraftVersion.version
+            from NeoForgeVersion nf
+            where nf.id > :after
+            order by nf.id""")
+    List<NeoForgeVersionPageEntry> findNeoForgeVersionPage(long after, Limit limit);
+
+    /**
+     * Gets the artifacts of many versions at once, without loading the versions.
+     */
+    @Query("""
+            select a.componentVersion.id, a.relativePath, a.classifier, a.extension, a.size, a.lastModified,
+                   a.md5Checksum, a.sha1Checksum, a.sha256Checksum, a.sha512Checksum
+            from SoftwareComponentArtifact a
+            where a.componentVersion.id in :versionIds
+            order by a.componentVersion.id, a.id""")
+    List<ArtifactEntry> findArtifactsByVersionIds(Collection<Long> versionIds);
+
+    /**
+     * Gets the release notes of many versions at once, without loading the versions.
+     */
+    @Query("select rn.componentVersion.id, rn.text, rn.markdown from SoftwareComponentReleaseNotes rn where rn.componentVersion.id in :versionIds")
+    List<ReleaseNotesEntry> findReleaseNotesByVersionIds(Collection<Long> versionIds);
+
     /**
      * Find a specific version of a Maven artifact.
      *
@@ -38,9 +92,85 @@ public interface SoftwareComponentVersionDao extends JpaRepository<SoftwareCompo
     @Nullable
     SoftwareComponentVersion findByGAV(String groupId, String artifactId, String version);
 
+    @Query("select nf.id, nf.lastModified from NeoForgeVersion nf where nf.groupId = :groupId and nf.artifactId = :artifactId and nf.version = :version")
+    @Nullable
+    NeoForgeVersionInfo findNeoForgeVersionInfo(String groupId, String artifactId, String version);
+
+    @Query("select nf.launcherProfile from NeoForgeVersion nf where nf.id = :id")
+    @Nullable
+    String findLauncherProfile(long id);
+
+    @Query("select nf.installerProfile from NeoForgeVersion nf where nf.id = :id")
+    @Nullable
+    String findInstallerProfile(long id);
+
+    /**
+     * The launcher profile as it is stored, without decompressing it.
+     */
+    @NativeQuery(value = "select launcher_profile as content from neoforge_version where id = :id", sqlResultSetMapping = StoredBlob.MAPPING)
+    @Nullable
+    StoredBlob findStoredLauncherProfile(long id);
+
+    /**
+     * The installer profile as it is stored, without decompressing it.
+     */
+    @NativeQuery(value = "select installer_profile as content from neoforge_version where id = :id", sqlResultSetMapping = StoredBlob.MAPPING)
+    @Nullable
+    StoredBlob findStoredInstallerProfile(long id);
+
     @Query("from NeoForgeVersion order by released desc")
     List<NeoForgeVersion> findAllNeoForgeVersions();
 
+    @Query("from NeoForgeVersion nf where nf.minecraftVersion = :minecraftVersion")
+    List<NeoForgeVersion> findNeoForgeVersionsByMinecraftVersion(MinecraftVersion minecraftVersion);
+
+    /**
+     * The merged launch profile for an operating system as it is stored, without decompressing it.
+     *
+     * @param os The name of the {@link net.neoforged.meta.util.OsType}.
+     */
+    @NativeQuery(value = "select content from neoforge_version_launch_profiles where neoforge_version_id = :id and os = :os", sqlResultSetMapping = StoredBlob.MAPPING)
+    @Nullable
+    StoredBlob findStoredLaunchProfile(long id, String os);
+
+    /**
+     * Find NeoForge versions without merged launch profiles, even though the manifest of their Minecraft version has been imported.
+     */
+    @Query("select nf.id from NeoForgeVersion nf, MinecraftVersionManifest m where m.minecraftVersion = nf.minecraftVersion and nf.launchProfiles is empty")
+    List<Long> findNeoForgeVersionIdsWithoutLaunchProfiles();
+
+    @Query("select nf.launcherProfile from NeoForgeVersion nf order by nf.id desc")
+    List<String> findLatestNeoForgeLauncherProfiles(Limit limit);
+
+    @Query("select nf.installerProfile from NeoForgeVersion nf order by nf.id desc")
+    List<String> findLatestNeoForgeInstallerProfiles(Limit limit);
+
+    /**
+     * Finds NeoForge versions whose stored profiles are not compressed with the given dictionary, like
+     * {@link MinecraftVersionManifestDao#findIdsNotCompressedWithDictionary}.
+     *
+     * @param dictionaryId The ID of the dictionary as zlib stores it, or an empty array to find profiles compressed with any dictionary.
+     */
+    @Query(value = """
+            select id from neoforge_version
+            where (not (substr(launcher_profile, 1, 2) = x'0002' and substr(launcher_profile, 5, 4) = :dictionaryId)
+                   and (substr(launcher_profile, 1, 2) = x'0002' or length(:dictionaryId) > 0))
+            or (not (substr(installer_profile, 1, 2) = x'0002' and substr(installer_profile, 5, 4) = :dictionaryId)
+                and (substr(installer_profile, 1, 2) = x'0002' or length(:dictionaryId) > 0))
+            order by id limit :limit""", nativeQuery = true)
+    List<Long> findNeoForgeVersionIdsNotCompressedWithDictionary(byte[] dictionaryId, int limit);
+
+    @Query("select nf.launcherProfile as launcherProfile, nf.installerProfile as installerProfile from NeoForgeVersion nf where nf.id = :id")
+    @Nullable
+    NeoForgeProfiles findNeoForgeProfiles(long id);
+
+    /**
+     * Writes the profiles again, which compresses them the way {@link CompressedBlobConverter} currently compresses data.
+     */
+    @Modifying
+    @Query("update NeoForgeVersion nf set nf.launcherProfile = :launcherProfile, nf.installerProfile = :installerProfile where nf.id = :id")
+    void updateNeoForgeProfiles(long id, @Nullable String launcherProfile, @Nullable String installerProfile);
+
     /**
      * Get all versions for a specific Maven artifact.
      *
@@ -86,4 +216,41 @@ public interface SoftwareComponentVersionDao extends JpaRepository<SoftwareCompo
 
     public record VersionSummary(String version, Instant released) {
     }
+
+    record NeoForgeVersionInfo(long id, Instant lastModified) {
+    }
+
+    record LatestNeoForgeVersion(String minecraftVersion, String version) {
+    }
+
+    record NeoForgeVersionListEntry(String version, Instant released, Instant lastModified, String minecraftVersion) {
+    }
+
+    record NeoForgeVersionPageEntry(long id,
+                                    String groupId,
+                                    String artifactId,
+                                    String version,
+                                    Instant released,
+                                    Instant lastModified,
+                                    String repository,
+                                    String minecraftVersion) {
+    }
+
+    record ArtifactEntry(long versionId,
+                         String relativePath,
+                         @Nullable String classifier,
+                         @Nullable String extension,
+                         long size,
+                         Instant lastModified,
+                         String md5Checksum,
+                         String sha1Checksum,
+                         String sha256Checksum,
+                         String sha512Checksum) {
+    }
+
+    record ReleaseNotesEntry(long versionId, String text, String markdown) {
+    }
+
+    record NeoForgeProfiles(@Nullable String launcherProfile, @Nullable String installerProfile) {
+    }
 }
@@ -0,0 +1,13 @@
+package net.neoforged.meta.db;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Data exactly as {@link CompressedBlobConverter} stored it, to pass it on without decompressing it.
+ * <p>
+ * Native queries returning it must select the data as {@code content} and use the {@value #MAPPING}
+ * result set mapping, since the SQLite driver cannot read untyped BLOB columns.
+ */
+public record StoredBlob(byte @Nullable [] content) {
+    public static final String MAPPING = "StoredBlob";
+}
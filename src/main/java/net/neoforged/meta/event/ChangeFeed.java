@@ -0,0 +1,101 @@
+package net.neoforged.meta.event;
+
+import net.neoforged.meta.db.event.Event;
+import net.neoforged.meta.db.event.EventDao;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lets API consumers follow the recorded events, so that they can synchronize incrementally instead of
+ * downloading the full version lists to find out what changed.
+ * <p>
+ * The cursor is the ID of the last event a consumer has seen. Events that do not match the consumer's filter
+ * still advance the cursor, so that they are not queried again.
+ */
+@Service
+public class ChangeFeed {
+    private final EventDao eventDao;
+    private final EventService eventService;
+
+    public ChangeFeed(EventDao eventDao, EventService eventService) {
+        this.eventDao = eventDao;
+        this.eventService = eventService;
+    }
+
+    /**
+     * {@return the cursor that points after all events recorded so far}
+     */
+    public long getLatestCursor() {
+        return Objects.requireNonNullElse(eventDao.getHighestEventId(), 0L);
+    }
+
+    /**
+     * Gets the events after the given cursor, waiting for new events if there are none yet.
+     *
+     * @param cursor     The cursor returned with the previous changes.
+     * @param components The components to get events for, in the syntax of {@link EventFilters#components}.
+     *                   If empty, events for all components are returned.
+     * @param limit      The maximum number of events to return.
+     * @param wait       How long to wait for matching events if there are none yet.
+     */
+    public Changes getChanges(long cursor, Collection<String> components, int limit, Duration wait) throws InterruptedException {
+        var deadline = System.nanoTime() + wait.toNanos();
+        var filter = EventFilters.components(components);
+        while (true) {
+            var highestEventId = getLatestCursor();
+            if (highestEventId > cursor) {
+                var page = eventDao.findAll(Specification.where(EventFilters.idRange(cursor, highestEventId)).and(filter),
+                        PageRequest.of(0, limit, Sort.by("id")));
+                if (!page.isEmpty()) {
+                    var events = page.getContent();
+                    // The page may end before the highest event if it reached the limit
+                    var nextCursor = page.hasNext() ? events.getLast().getId() : highestEventId;
+                    return new Changes(events, nextCursor, page.hasNext());
+                }
+                cursor = highestEventId;
+            }
+
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !eventService.awaitEventAfter(cursor, Duration.ofNanos(remaining))) {
+                return new Changes(List.of(), cursor, false);
+            }
+        }
+    }
+
+    /**
+     * Parses a cursor as returned to API consumers.
+     *
+     * @return The latest cursor if none is given.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    public long parseCursor(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return getLatestCursor();
+        }
+        try {
+            var result = Long.parseLong(cursor);
+            if (result < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * @param events  The events after the cursor, in the order they were recorded.
+     * @param cursor  The cursor to pass when asking for the next changes.
+     * @param hasMore Whether more events are available right away.
+     */
+    public record Changes(List<Event> events, long cursor, boolean hasMore) {
+    }
+}
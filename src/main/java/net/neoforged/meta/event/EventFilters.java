@@ -0,0 +1,67 @@
+package net.neoforged.meta.event;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import net.neoforged.meta.db.event.Event;
+import net.neoforged.meta.db.event.NewComponentVersionEvent;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Filters for querying events.
+ */
+public final class EventFilters {
+    private EventFilters() {
+    }
+
+    /**
+     * Only matches events for the given software components.
+     * Components are given as {@code groupId:artifactId}, and {@code *} can be used as a wildcard for either of them.
+     * If no components are given, all events match.
+     */
+    public static PredicateSpecification<Event> components(Collection<String> components) {
+        return (from, cb) -> {
+            if (components.contains("*:*")) {
+                return null; // Unrestricted component filter.
+            }
+
+            // Use treat() to downcast Event to NewComponentVersionEvent to access groupId/artifactId
+            // Since we use a single table mapping strategy, and we have to use an Entity here, we just use the new event to access the fields.
+            var componentVersionFrom = cb.treat(from, NewComponentVersionEvent.class);
+            Path<String> groupIdAttr = componentVersionFrom.get("groupId");
+            Path<String> artifactIdAttr = componentVersionFrom.get("artifactId");
+
+            var predicates = new ArrayList<Predicate>();
+            for (var component : components) {
+                // Build a disjunction of all the filtered components
+                var parts = component.split(":", 2);
+                var groupId = parts[0];
+                var artifactId = parts[1];
+                if (groupId.equals("*")) {
+                    predicates.add(cb.equal(artifactIdAttr, artifactId));
+                } else if (artifactId.equals("*")) {
+                    predicates.add(cb.equal(groupIdAttr, groupId));
+                } else {
+                    predicates.add(cb.and(
+                            cb.equal(groupIdAttr, groupId),
+                            cb.equal(artifactIdAttr, artifactId)
+                    ));
+                }
+            }
+
+            return predicates.isEmpty() ? null : cb.or(predicates);
+        };
+    }
+
+    /**
+     * Only matches events with an ID in the range {@code (lowerBoundExclusive, upperBound]}.
+     */
+    public static PredicateSpecification<Event> idRange(long lowerBoundExclusive, long upperBound) {
+        return (from, cb) -> {
+            Path<Long> idAttr = from.get("id");
+            return cb.between(idAttr, lowerBoundExclusive + 1, upperBound);
+        };
+    }
+}
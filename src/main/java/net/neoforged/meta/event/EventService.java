@@ -7,14 +7,25 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class EventService {
     private final EventDao dao;
     private final TransactionTemplate transactionTemplate;
 
+    private final Lock newEventLock = new ReentrantLock();
+    private final Condition newEventCondition = newEventLock.newCondition();
+    /**
+     * The ID of the latest event recorded by this instance, guarded by {@link #newEventLock}.
+     */
+    private long latestEventId;
+
     public EventService(EventDao dao, PlatformTransactionManager transactionManager) {
         this.dao = dao;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
@@ -32,5 +43,37 @@ public class EventService {
         transactionTemplate.executeWithoutResult(ignored -> {
             dao.saveAndFlush(event);
         });
+        signalNewEvent(event.getId());
+    }
+
+    /**
+     * Waits until an event with an ID greater than the given one has been recorded, or until the timeout elapses.
+     *
+     * @return False if the timeout elapsed without such an event.
+     */
+    public boolean awaitEventAfter(long eventId, Duration timeout) throws InterruptedException {
+        var remaining = timeout.toNanos();
+        newEventLock.lock();
+        try {
+            while (latestEventId <= eventId) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = newEventCondition.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            newEventLock.unlock();
+        }
+    }
+
+    private void signalNewEvent(long eventId) {
+        newEventLock.lock();
+        try {
+            latestEventId = Math.max(latestEventId, eventId);
+            newEventCondition.signalAll();
+        } finally {
+            newEventLock.unlock();
+        }
     }
 }
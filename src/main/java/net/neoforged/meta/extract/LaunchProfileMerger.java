@@ -0,0 +1,151 @@
+package net.neoforged.meta.extract;
+
+import net.neoforged.meta.manifests.version.MinecraftVersionManifest;
+import net.neoforged.meta.manifests.version.Rule;
+import net.neoforged.meta.manifests.version.RuleAction;
+import net.neoforged.meta.util.MavenCoordinate;
+import net.neoforged.meta.util.OsType;
+import org.jspecify.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges the launcher profile of a NeoForge version into the manifest of the Minecraft version it inherits from,
+ * the same way launchers do, and resolves the rules that only depend on the operating system.
+ * <p>
+ * The result is a standalone version manifest for one operating system. Libraries and arguments for other
+ * operating systems are removed, and the rules of those for the given one are dropped. Rules that also depend on
+ * features or on the version or architecture of the operating system are kept, since they can only be decided
+ * by the launcher. Everything else is copied as is, so launchers can use the result like any other manifest.
+ */
+public final class LaunchProfileMerger {
+    private static final Set<String> MERGED_PROPERTIES = Set.of("inheritsFrom", "libraries", "arguments");
+
+    private LaunchProfileMerger() {
+    }
+
+    /**
+     * Merges the profiles for every operating system.
+     */
+    public static Map<OsType, String> mergeAll(String minecraftManifest, String neoForgeProfile) {
+        var result = new EnumMap<OsType, String>(OsType.class);
+        for (var os : OsType.values()) {
+            result.put(os, merge(minecraftManifest, neoForgeProfile, os));
+        }
+        return result;
+    }
+
+    public static String merge(String minecraftManifest, String neoForgeProfile, OsType os) {
+        var minecraft = (ObjectNode) MinecraftVersionManifest.MAPPER.readTree(minecraftManifest);
+        var neoForge = (ObjectNode) MinecraftVersionManifest.MAPPER.readTree(neoForgeProfile);
+
+        var result = minecraft.deepCopy();
+        for (var property : neoForge.properties()) {
+            if (!MERGED_PROPERTIES.contains(property.getKey())) {
+                result.set(property.getKey(), property.getValue());
+            }
+        }
+
+        // Libraries of NeoForge take precedence over the ones of Minecraft with the same group, artifact and classifier
+        var libraries = result.putArray("libraries");
+        var seenLibraries = new HashSet<String>();
+        addLibraries(libraries, neoForge.get("libraries"), os, seenLibraries);
+        addLibraries(libraries, minecraft.get("libraries"), os, seenLibraries);
+
+        var arguments = result.putObject("arguments");
+        for (var type : new String[]{"game", "jvm"}) {
+            var mergedArguments = arguments.putArray(type);
+            addArguments(mergedArguments, minecraft.path("arguments").get(type), os);
+            addArguments(mergedArguments, neoForge.path("arguments").get(type), os);
+        }
+
+        return MinecraftVersionManifest.MAPPER.writeValueAsString(result);
+    }
+
+    private static void addLibraries(ArrayNode result, @Nullable JsonNode libraries, OsType os, Set<String> seenLibraries) {
+        if (libraries == null) {
+            return;
+        }
+        for (var library : libraries) {
+            var allowed = isAllowed(library.get("rules"), os);
+            if (Boolean.FALSE.equals(allowed)) {
+                continue;
+            }
+
+            var coordinate = MavenCoordinate.parse(library.get("name").asString());
+            var copy = (ObjectNode) library.deepCopy();
+            if (allowed != null) {
+                copy.remove("rules");
+            }
+
+            // Only keep the natives of this operating system
+            var natives = copy.get("natives");
+            String nativesClassifier = null;
+            if (natives != null) {
+                nativesClassifier = natives.path(os.getSerializedName()).asString(null);
+                if (nativesClassifier != null) {
+                    copy.putObject("natives").put(os.getSerializedName(), nativesClassifier);
+                } else {
+                    copy.remove("natives");
+                }
+            }
+
+            if (seenLibraries.add(coordinate.group() + ":" + coordinate.artifact() + ":" + coordinate.classifier() + ":" + nativesClassifier)) {
+                result.add(copy);
+            }
+        }
+    }
+
+    private static void addArguments(ArrayNode result, @Nullable JsonNode arguments, OsType os) {
+        if (arguments == null) {
+            return;
+        }
+        for (var argument : arguments) {
+            if (!argument.isObject()) {
+                result.add(argument);
+                continue;
+            }
+
+            var allowed = isAllowed(argument.get("rules"), os);
+            if (allowed == null) {
+                result.add(argument);
+            } else if (allowed) {
+                var value = argument.get("value");
+                if (value.isArray()) {
+                    result.addAll((ArrayNode) value);
+                } else {
+                    result.add(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluates rules like launchers do: the last rule that applies decides, and nothing is allowed if none applies.
+     *
+     * @return Null if it can only be decided by the launcher.
+     */
+    private static @Nullable Boolean isAllowed(@Nullable JsonNode rules, OsType os) {
+        if (rules == null || rules.isEmpty()) {
+            return true;
+        }
+
+        var allowed = false;
+        for (var ruleNode : rules) {
+            var rule = MinecraftVersionManifest.MAPPER.treeToValue(ruleNode, Rule.class);
+            var applies = rule.appliesTo(os);
+            if (applies == null) {
+                return null;
+            } else if (applies) {
+                allowed = rule.action() == RuleAction.ALLOWED;
+            }
+        }
+        return allowed;
+    }
+}
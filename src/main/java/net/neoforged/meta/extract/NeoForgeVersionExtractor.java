@@ -14,22 +14,20 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
-import java.util.zip.ZipFile;
 
 public final class NeoForgeVersionExtractor {
     private static final Logger logger = LoggerFactory.getLogger(NeoForgeVersionExtractor.class);
     static final String CLASSPATH_SEPARATOR = "${classpath_separator}";
+    private static final String INSTALL_PROFILE_ENTRY = "install_profile.json";
+    private static final String UNIX_ARGS_ENTRY = "data/unix_args.txt";
+    private static final String WINDOWS_ARGS_ENTRY = "data/win_args.txt";
 
     private NeoForgeVersionExtractor() {
     }
@@ -47,30 +45,29 @@ public final class NeoForgeVersionExtractor {
     ) {
     }
 
-    public static Metadata extract(byte[] installerJarContent) {
-        Path installer = null;
-        try {
-            installer = Files.createTempFile("installer", "zip");
-            Files.write(installer, installerJarContent);
+    /**
+     * Provides the content of entries in an installer jar.
+     */
+    @FunctionalInterface
+    public interface EntrySource {
+        /**
+         * @return The content of the entry, or null if the jar has no such entry.
+         */
+        @Nullable
+        String readEntry(String name) throws IOException;
+    }
 
+    public static Metadata extract(EntrySource installerJar) {
+        try {
             List<DiscoveryLogMessage> warnings = new ArrayList<>();
-            String installerProfileText, versionManifestText;
-            InstallerProfile installerProfile;
-            MinecraftVersionManifest versionManifest;
-            String serverUnixArgs, serverWindowsArgs;
-            try (var zf = new ZipFile(installer.toFile())) {
-                installerProfileText = readEntryAsString(zf, "install_profile.json");
-                installerProfile = InstallerProfile.from(installerProfileText);
-                if (installerProfile.getJson() == null) {
-                    throw new IllegalStateException("Installer profile is missing key for version manifest.");
-                }
-                versionManifestText = readEntryAsString(zf, installerProfile.getJson());
-                versionManifest = MinecraftVersionManifest.from(versionManifestText);
+            String installerProfileText = readEntryAsString(installerJar, INSTALL_PROFILE_ENTRY);
+            InstallerProfile installerProfile = InstallerProfile.from(installerProfileText);
+            String versionManifestText = readEntryAsString(installerJar, getVersionManifestEntry(installerProfile));
+            MinecraftVersionManifest versionManifest = MinecraftVersionManifest.from(versionManifestText);
 
-                // Get server startup command line arguments
-                serverUnixArgs = readEntryAsString(zf, "data/unix_args.txt");
-                serverWindowsArgs = readEntryAsString(zf, "data/win_args.txt");
-            }
+            // Get server startup command line arguments
+            String serverUnixArgs = readEntryAsString(installerJar, UNIX_ARGS_ENTRY);
+            String serverWindowsArgs = readEntryAsString(installerJar, WINDOWS_ARGS_ENTRY);
 
             // Collect all libraries that are used by processors, separated by side
             var clientProcessorGav = new HashSet<>();
@@ -157,14 +154,6 @@ public final class NeoForgeVersionExtractor {
             );
         } catch (IOException e) {
             throw new UncheckedIOException(e);
-        } finally {
-            if (installer != null) {
-                try {
-                    Files.deleteIfExists(installer);
-                } catch (IOException e) {
-                    logger.error("Failed to delete temporary file {}", installer, e);
-                }
-            }
         }
     }
 
@@ -186,28 +175,22 @@ public final class NeoForgeVersionExtractor {
         };
     }
 
-    private static String readEntryAsString(ZipFile zf, String name) throws IOException {
-        var result = readEntryAsString(zf, name, null);
-        if (result == null) {
-            throw new IllegalStateException("Required entry " + name + " is missing.");
+    private static String getVersionManifestEntry(InstallerProfile installerProfile) {
+        if (installerProfile.getJson() == null) {
+            throw new IllegalStateException("Installer profile is missing key for version manifest.");
         }
-        return result;
+        return stripLeadingSlash(installerProfile.getJson());
     }
 
-    @Nullable
-    private static String readEntryAsString(ZipFile zf, String name, @Nullable String defaultValue) throws IOException {
-        // Strip leading slash
-        if (name.startsWith("/")) {
-            name = name.substring(1);
-        }
-
-        var installProfile = zf.getEntry(name);
-        if (installProfile == null) {
-            return defaultValue;
-        }
+    private static String stripLeadingSlash(String name) {
+        return name.startsWith("/") ? name.substring(1) : name;
+    }
 
-        try (var input = zf.getInputStream(installProfile)) {
-            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    private static String readEntryAsString(EntrySource installerJar, String name) throws IOException {
+        var result = installerJar.readEntry(stripLeadingSlash(name));
+        if (result == null) {
+            throw new IllegalStateException("Required entry " + name + " is missing.");
         }
+        return result;
     }
 }
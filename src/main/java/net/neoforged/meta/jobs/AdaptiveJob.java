@@ -0,0 +1,58 @@
+package net.neoforged.meta.jobs;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs a {@link DiscoveryJob} and reports the outcome to its {@link AdaptiveTrigger}.
+ * <p>
+ * Runs can be requested both by the scheduler and through {@link JobRunner}. They never overlap: a requested run
+ * that comes in while another is in progress is performed by that thread right after the current run, and the
+ * requesting thread returns immediately. Scheduled runs are skipped while a run is in progress, or if a requested
+ * run completed less than the current interval ago, since that run moved the schedule.
+ */
+final class AdaptiveJob implements Runnable {
+    private final DiscoveryJob job;
+    private final AdaptiveTrigger trigger;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicBoolean runRequested = new AtomicBoolean();
+    private final AtomicBoolean outOfScheduleRunRequested = new AtomicBoolean();
+
+    AdaptiveJob(DiscoveryJob job, AdaptiveTrigger trigger) {
+        this.job = job;
+        this.trigger = trigger;
+    }
+
+    /**
+     * Makes the next call to {@link #run()} run the job, even if it is not due according to the schedule.
+     */
+    void requestRun() {
+        outOfScheduleRunRequested.set(true);
+    }
+
+    @Override
+    public void run() {
+        if (!outOfScheduleRunRequested.getAndSet(false) && (runLock.isLocked() || !trigger.isRunDue(Instant.now()))) {
+            return;
+        }
+
+        runRequested.set(true);
+        // Re-check after unlocking, since a request may have come in between the last run and the unlock
+        while (runRequested.get() && runLock.tryLock()) {
+            try {
+                while (runRequested.getAndSet(false)) {
+                    trigger.reportRun(job.discover());
+                    trigger.reportCompletion(Instant.now());
+                }
+            } finally {
+                runLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return job.toString();
+    }
+}
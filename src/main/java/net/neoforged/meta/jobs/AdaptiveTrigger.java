@@ -0,0 +1,90 @@
+package net.neoforged.meta.jobs;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Schedules a {@link DiscoveryJob} more often while it is discovering new versions, and backs off exponentially
+ * while nothing changes upstream.
+ * <p>
+ * Releases tend to come in bursts (i.e. a Minecraft release followed by several NeoForge builds), so right after
+ * something new was found, the job runs again after the minimum interval. Each run that finds nothing
+ * multiplies the interval by the backoff factor, up to the maximum interval.
+ */
+public class AdaptiveTrigger implements Trigger {
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double backoffFactor;
+    private volatile Duration currentInterval;
+    /**
+     * The completion of the last run, which may have been requested outside the schedule.
+     */
+    private volatile @Nullable Instant lastRunCompletion;
+
+    public AdaptiveTrigger(Duration minInterval, Duration maxInterval, double backoffFactor) {
+        if (maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("Maximum interval " + maxInterval + " is shorter than minimum interval " + minInterval);
+        }
+        if (backoffFactor < 1) {
+            throw new IllegalArgumentException("Backoff factor must be at least 1: " + backoffFactor);
+        }
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.backoffFactor = backoffFactor;
+        this.currentInterval = minInterval;
+    }
+
+    /**
+     * Adapts the interval to the outcome of a run.
+     *
+     * @param discoveredChanges Whether the run discovered anything new or changed.
+     */
+    public void reportRun(boolean discoveredChanges) {
+        if (discoveredChanges) {
+            currentInterval = minInterval;
+        } else {
+            var backedOff = Duration.ofMillis((long) (currentInterval.toMillis() * backoffFactor));
+            currentInterval = backedOff.compareTo(maxInterval) > 0 ? maxInterval : backedOff;
+        }
+    }
+
+    /**
+     * Records when a run completed, so that the next scheduled run moves if the run was requested outside the schedule.
+     */
+    public void reportCompletion(Instant completion) {
+        lastRunCompletion = completion;
+    }
+
+    /**
+     * @return False if the current interval has not passed since the last run completed.
+     */
+    public boolean isRunDue(Instant now) {
+        var lastRunCompletion = this.lastRunCompletion;
+        return lastRunCompletion == null || !now.isBefore(lastRunCompletion.plus(currentInterval));
+    }
+
+    /**
+     * @return The time between the end of the last run and the start of the next.
+     */
+    public Duration getCurrentInterval() {
+        return currentInterval;
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+        var lastCompletion = triggerContext.lastCompletion();
+        if (lastCompletion == null) {
+            return triggerContext.getClock().instant(); // Run right away after startup
+        }
+        // The scheduler only knows about scheduled runs
+        var lastRunCompletion = this.lastRunCompletion;
+        if (lastRunCompletion != null && lastRunCompletion.isAfter(lastCompletion)) {
+            lastCompletion = lastRunCompletion;
+        }
+        return lastCompletion.plus(currentInterval);
+    }
+}
@@ -0,0 +1,179 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.config.BlobCompressionProperties;
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.CompressionDictionary;
+import net.neoforged.meta.db.CompressionDictionaryDao;
+import net.neoforged.meta.db.CompressionDictionaryRegistry;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.util.CompressionDictionaryTrainer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trains the {@linkplain CompressionDictionary dictionary} that manifests and profiles are compressed with,
+ * and recompresses the documents stored before it was trained, one batch per run.
+ * <p>
+ * All known dictionaries are registered with the {@link CompressionDictionaryRegistry} on startup, whether the job is
+ * scheduled or not, since stored documents cannot be read without them. If dictionaries are disabled,
+ * the job instead recompresses the documents that were compressed with one.
+ */
+@Component
+public class BlobCompressionJob implements DiscoveryJob {
+    private static final Logger logger = LoggerFactory.getLogger(BlobCompressionJob.class);
+
+    /**
+     * With fewer documents than this, there is nothing to learn from.
+     */
+    private static final int MIN_TRAINING_SAMPLES = 10;
+
+    private final CompressionDictionaryDao dictionaryDao;
+    private final MinecraftVersionManifestDao manifestDao;
+    private final SoftwareComponentVersionDao versionDao;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobCompressionProperties properties;
+    private final CompressionDictionaryRegistry dictionaryRegistry;
+    @Nullable
+    private volatile Instant currentDictionaryCreated;
+
+    public BlobCompressionJob(CompressionDictionaryDao dictionaryDao,
+                              MinecraftVersionManifestDao manifestDao,
+                              SoftwareComponentVersionDao versionDao,
+                              TransactionTemplate transactionTemplate,
+                              MetaApiProperties apiProperties,
+                              CompressionDictionaryRegistry dictionaryRegistry) {
+        this.dictionaryDao = dictionaryDao;
+        this.manifestDao = manifestDao;
+        this.versionDao = versionDao;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = apiProperties.getBlobCompression();
+        this.dictionaryRegistry = dictionaryRegistry;
+        loadDictionaries();
+    }
+
+    private void loadDictionaries() {
+        var dictionaries = transactionTemplate.execute(ignored -> dictionaryDao.findAllByOrderByCreatedAscIdAsc());
+        for (var dictionary : dictionaries) {
+            dictionaryRegistry.register(dictionary.getContent());
+        }
+
+        if (properties.isDictionaryEnabled() && !dictionaries.isEmpty()) {
+            var current = dictionaries.getLast();
+            dictionaryRegistry.setCurrentDictionary(current.getContent());
+            currentDictionaryCreated = current.getCreated();
+        } else {
+            dictionaryRegistry.setCurrentDictionary(null);
+        }
+        logger.info("Loaded {} compression dictionaries", dictionaries.size());
+    }
+
+    @Override
+    public boolean discover() {
+        if (!properties.isDictionaryEnabled()) {
+            // Documents compressed with a dictionary can't be sent to clients without decompressing them
+            return recompress() > 0;
+        }
+
+        var created = currentDictionaryCreated;
+        var trained = false;
+        if (created == null || dictionaryRegistry.getCurrentDictionary() == null
+                || created.isBefore(Instant.now().minus(properties.getDictionaryMaxAge()))) {
+            trained = trainDictionary();
+        }
+
+        if (dictionaryRegistry.getCurrentDictionary() == null) {
+            return trained;
+        }
+        return recompress() > 0 || trained;
+    }
+
+    private boolean trainDictionary() {
+        var limit = Limit.of(properties.getTrainingSamples());
+        var samples = transactionTemplate.execute(ignored -> {
+            var result = new ArrayList<String>();
+            result.addAll(manifestDao.findLatestContents(limit));
+            result.addAll(versionDao.findLatestNeoForgeLauncherProfiles(limit));
+            result.addAll(versionDao.findLatestNeoForgeInstallerProfiles(limit));
+            return result;
+        });
+        if (samples.size() < MIN_TRAINING_SAMPLES) {
+            logger.info("Not training a compression dictionary from only {} documents", samples.size());
+            return false;
+        }
+
+        var content = CompressionDictionaryTrainer.train(samples, (int) properties.getDictionarySize().toBytes());
+        if (content.length == 0) {
+            logger.info("Documents have nothing in common to train a compression dictionary from");
+            return false;
+        }
+
+        // The dictionary has to be stored before any document compressed with it
+        var dictionaryId = CompressionDictionaryRegistry.getDictionaryId(content);
+        var dictionary = transactionTemplate.execute(ignored -> {
+            var existing = dictionaryDao.findByDictionaryId(dictionaryId);
+            if (existing == null) {
+                existing = new CompressionDictionary();
+                existing.setDictionaryId(dictionaryId);
+                existing.setContent(content);
+                existing.setSampleCount(samples.size());
+            }
+            existing.setCreated(Instant.now());
+            return dictionaryDao.save(existing);
+        });
+        dictionaryRegistry.setCurrentDictionary(dictionary.getContent());
+        currentDictionaryCreated = dictionary.getCreated();
+        logger.info("Trained compression dictionary {} ({} bytes) from {} documents",
+                Integer.toHexString(dictionaryId), content.length, samples.size());
+        return true;
+    }
+
+    /**
+     * @return The number of recompressed documents.
+     */
+    private int recompress() {
+        var dictionaryId = dictionaryRegistry.getCurrentDictionaryStoredId();
+        var batchSize = properties.getMigrationBatchSize();
+        var recompressed = 0;
+
+        List<Long> manifestIds = transactionTemplate.execute(ignored -> manifestDao.findIdsNotCompressedWithDictionary(dictionaryId, batchSize));
+        for (var id : manifestIds) {
+            transactionTemplate.executeWithoutResult(ignored -> {
+                var content = manifestDao.findContent(id);
+                if (content != null) {
+                    manifestDao.updateContent(id, content);
+                }
+            });
+            recompressed++;
+        }
+
+        List<Long> versionIds = transactionTemplate.execute(ignored -> versionDao.findNeoForgeVersionIdsNotCompressedWithDictionary(dictionaryId, batchSize));
+        for (var id : versionIds) {
+            transactionTemplate.executeWithoutResult(ignored -> {
+                var profiles = versionDao.findNeoForgeProfiles(id);
+                if (profiles != null) {
+                    versionDao.updateNeoForgeProfiles(id, profiles.launcherProfile(), profiles.installerProfile());
+                }
+            });
+            recompressed++;
+        }
+
+        if (recompressed > 0) {
+            logger.info("Recompressed {} documents", recompressed);
+        }
+        return recompressed;
+    }
+
+    @Override
+    public String toString() {
+        return "Blob Compression";
+    }
+}
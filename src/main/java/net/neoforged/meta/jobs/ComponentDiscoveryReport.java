@@ -0,0 +1,36 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.util.TimeFormatter;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Summarizes the last discovery run for a software component.
+ *
+ * @param requests      The number of HTTP requests sent to the repository.
+ * @param bytesReceived The size of all response bodies that were read.
+ * @param error         Why discovery failed or was aborted, or null if it completed.
+ */
+public record ComponentDiscoveryReport(String repository,
+                                       String groupId,
+                                       String artifactId,
+                                       Instant started,
+                                       Duration duration,
+                                       long requests,
+                                       long bytesReceived,
+                                       int newVersions,
+                                       @Nullable String error) {
+    public boolean successful() {
+        return error == null;
+    }
+
+    public String relativeStarted() {
+        return TimeFormatter.formatRelativeTime(started);
+    }
+
+    public String absoluteStarted() {
+        return TimeFormatter.formatAbsoluteTime(started);
+    }
+}
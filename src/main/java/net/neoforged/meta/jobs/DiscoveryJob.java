@@ -0,0 +1,16 @@
+package net.neoforged.meta.jobs;
+
+/**
+ * A job that polls an upstream source for new or changed versions.
+ */
+public interface DiscoveryJob extends Runnable {
+    /**
+     * @return true if anything new or changed was discovered.
+     */
+    boolean discover();
+
+    @Override
+    default void run() {
+        discover();
+    }
+}
@@ -0,0 +1,50 @@
+package net.neoforged.meta.jobs;
+
+import org.springframework.scheduling.config.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs scheduled jobs right away on request, i.e. from the UI or when a new version was announced.
+ * <p>
+ * Requested runs go through the scheduled task, so that their outcome is recorded like that of scheduled runs.
+ * They never overlap with other runs of the same job, and move its next scheduled run (see {@link AdaptiveJob}).
+ */
+@Component
+public class JobRunner {
+    private record ScheduledJob(AdaptiveJob adaptiveJob, Task task) {
+    }
+
+    private final Map<String, ScheduledJob> jobs = new ConcurrentHashMap<>();
+
+    void register(AdaptiveJob adaptiveJob, Task task) {
+        jobs.put(adaptiveJob.toString(), new ScheduledJob(adaptiveJob, task));
+    }
+
+    /**
+     * Runs a job on a virtual thread.
+     *
+     * @return False if no such job is scheduled.
+     */
+    public boolean runNow(DiscoveryJob job) {
+        return runNow(job.toString());
+    }
+
+    /**
+     * Runs a job on a virtual thread.
+     *
+     * @param jobName The name of the job, as shown for its scheduled task.
+     * @return False if no such job is scheduled.
+     */
+    public boolean runNow(String jobName) {
+        var scheduledJob = jobs.get(jobName);
+        if (scheduledJob == null) {
+            return false;
+        }
+        scheduledJob.adaptiveJob().requestRun();
+        Thread.ofVirtual().name("run-now-" + jobName).start(scheduledJob.task().getRunnable());
+        return true;
+    }
+}
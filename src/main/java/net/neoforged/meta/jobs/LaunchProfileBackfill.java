@@ -0,0 +1,67 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.extract.LaunchProfileMerger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Merges the launch profiles of NeoForge versions that were discovered before launch profiles were stored,
+ * so the API doesn't have to merge them on every request. Runs on startup, and finds nothing to do once
+ * all versions whose Minecraft manifest has been imported have their profiles.
+ * <p>
+ * Versions are updated one transaction at a time, so an interrupted backfill continues where it left off on
+ * the next startup. Their last modification time is kept, since the API already served the same merged profiles.
+ */
+@Component
+public class LaunchProfileBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LaunchProfileBackfill.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final SoftwareComponentVersionDao versionDao;
+    private final MinecraftVersionManifestDao manifestDao;
+
+    public LaunchProfileBackfill(TransactionTemplate transactionTemplate,
+                                 SoftwareComponentVersionDao versionDao,
+                                 MinecraftVersionManifestDao manifestDao) {
+        this.transactionTemplate = transactionTemplate;
+        this.versionDao = versionDao;
+        this.manifestDao = manifestDao;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    public void backfill() {
+        var versionIds = versionDao.findNeoForgeVersionIdsWithoutLaunchProfiles();
+        if (versionIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Merging the launch profiles of {} NeoForge versions", versionIds.size());
+        for (var versionId : versionIds) {
+            try {
+                transactionTemplate.executeWithoutResult(ignored -> {
+                    if (!(versionDao.findById(versionId).orElse(null) instanceof NeoForgeVersion version) || !version.getLaunchProfiles().isEmpty()) {
+                        return;
+                    }
+                    var minecraftManifest = manifestDao.findContentByNeoForgeVersionId(versionId);
+                    if (minecraftManifest != null) {
+                        version.setLaunchProfiles(LaunchProfileMerger.mergeAll(minecraftManifest, version.getLauncherProfile()));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The API keeps merging the profiles of this version on each request
+                logger.warn("Failed to merge the launch profiles of NeoForge version {}", versionId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.LibraryArtifact;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.ReferencedLibrary;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves the libraries of versions that were imported before the {@linkplain LibraryCatalog library catalog} existed
+ * from the tables they used to be stored in into the catalog. Runs once on startup, and drops each old table
+ * after all of its rows have been moved.
+ * <p>
+ * Versions are moved one transaction at a time, and their rows are deleted from the old table in the same
+ * transaction, so an interrupted backfill continues where it left off on the next startup.
+ */
+@Component
+public class LibraryBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LibraryBackfill.class);
+
+    private static final String MINECRAFT_TABLE = "minecraft_version_libraries";
+    private static final String MINECRAFT_OWNER_COLUMN = "minecraft_version_id";
+    private static final String NEOFORGE_TABLE = "neoforge_version_libraries";
+    private static final String NEOFORGE_OWNER_COLUMN = "neo_forge_version_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MinecraftVersionDao minecraftVersionDao;
+    private final SoftwareComponentVersionDao versionDao;
+    private final LibraryCatalog libraryCatalog;
+
+    public LibraryBackfill(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           MinecraftVersionDao minecraftVersionDao,
+                           SoftwareComponentVersionDao versionDao,
+                           LibraryCatalog libraryCatalog) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.minecraftVersionDao = minecraftVersionDao;
+        this.versionDao = versionDao;
+        this.libraryCatalog = libraryCatalog;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    public void backfill() {
+        backfill(MINECRAFT_TABLE, MINECRAFT_OWNER_COLUMN, id -> {
+            var version = minecraftVersionDao.findById(id).orElse(null);
+            return version != null ? version.getLibraries() : null;
+        });
+        backfill(NEOFORGE_TABLE, NEOFORGE_OWNER_COLUMN, id -> {
+            var version = versionDao.findById(id).orElse(null);
+            return version instanceof NeoForgeVersion neoForgeVersion ? neoForgeVersion.getLibraries() : null;
+        });
+    }
+
+    private void backfill(String table, String ownerColumn, LibraryListLookup lookup) {
+        if (!tableExists(table)) {
+            return;
+        }
+
+        var ownerIds = jdbcTemplate.queryForList("select distinct " + ownerColumn + " from " + table, Long.class);
+        logger.info("Moving the libraries of {} versions from {} to the library catalog", ownerIds.size(), table);
+        for (var ownerId : ownerIds) {
+            transactionTemplate.executeWithoutResult(ignored -> {
+                var libraries = lookup.find(ownerId);
+                // Versions that were reimported since already reference the catalog
+                if (libraries != null && libraries.isEmpty()) {
+                    // Interned before they are added, since adding catalog entries flushes the version
+                    var oldLibraries = readLibraries(table, ownerColumn, ownerId);
+                    libraryCatalog.intern(oldLibraries);
+                    libraries.addAll(oldLibraries);
+                }
+                jdbcTemplate.update("delete from " + table + " where " + ownerColumn + " = ?", ownerId);
+            });
+        }
+
+        jdbcTemplate.execute("drop table " + table);
+        logger.info("Dropped {} after moving its libraries to the library catalog", table);
+    }
+
+    private List<ReferencedLibrary> readLibraries(String table, String ownerColumn, long ownerId) {
+        return jdbcTemplate.query("""
+                select group_id, artifact_id, version, classifier, extension, sha1_checksum, size, url,
+                       client_classpath, client_module_path, client_installer, server_installer
+                from %s where %s = ? order by rowid""".formatted(table, ownerColumn), (rs, rowNum) -> {
+            var artifact = new LibraryArtifact();
+            artifact.setGroupId(rs.getString("group_id"));
+            artifact.setArtifactId(rs.getString("artifact_id"));
+            artifact.setVersion(rs.getString("version"));
+            artifact.setClassifier(rs.getString("classifier"));
+            artifact.setExtension(rs.getString("extension"));
+            artifact.setSha1Checksum(rs.getString("sha1_checksum"));
+            artifact.setSize(rs.getObject("size", Long.class));
+            artifact.setUrl(rs.getString("url"));
+
+            var library = new ReferencedLibrary(artifact);
+            library.setClientClasspath(rs.getBoolean("client_classpath"));
+            library.setClientModulePath(rs.getBoolean("client_module_path"));
+            library.setClientInstaller(rs.getBoolean("client_installer"));
+            library.setServerInstaller(rs.getBoolean("server_installer"));
+            return library;
+        }, ownerId);
+    }
+
+    private boolean tableExists(String table) {
+        var count = jdbcTemplate.queryForObject("select count(*) from sqlite_master where type = 'table' and name = ?", Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    @FunctionalInterface
+    private interface LibraryListLookup {
+        /**
+         * @return The libraries of the version with the given id, or null if the version no longer exists.
+         */
+        @Nullable
+        List<ReferencedLibrary> find(long id);
+    }
+}
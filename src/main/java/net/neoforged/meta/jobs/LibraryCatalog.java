@@ -0,0 +1,100 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.LibraryArtifact;
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.db.ReferencedLibrary;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the shared catalog of {@link LibraryArtifact libraries}, so that each unique library is only stored once,
+ * regardless of how many versions reference it. Libraries are only shared if they also have the same download URL
+ * and size, so every version keeps the download it was published with.
+ */
+@Service
+public class LibraryCatalog {
+    private final LibraryArtifactDao dao;
+
+    public LibraryCatalog(LibraryArtifactDao dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Replaces the library artifacts of the given references with their catalog entries, adding new entries
+     * to the catalog as needed. Must be called in the transaction that saves the referencing version.
+     */
+    public void intern(List<ReferencedLibrary> libraries) {
+        var interned = new HashMap<LibraryKey, LibraryArtifact>();
+        for (var library : libraries) {
+            var artifact = library.getLibrary();
+            if (artifact.getId() != null) {
+                continue; // Already in the catalog
+            }
+
+            var key = LibraryKey.of(artifact);
+            var catalogEntry = interned.computeIfAbsent(key, this::findOrCreate);
+            library.setLibrary(catalogEntry);
+        }
+    }
+
+    /**
+     * Finds the catalog entry for a library, or adds it. Another transaction may add the same entry concurrently,
+     * in which case the insert is ignored due to the unique catalog key, and the other entry is selected again.
+     */
+    private LibraryArtifact findOrCreate(LibraryKey key) {
+        var catalogKey = key.toCatalogKey();
+        var existing = dao.findByCatalogKey(catalogKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        dao.insertIfAbsent(catalogKey, key.groupId(), key.artifactId(), key.version(), key.classifier(), key.extension(),
+                key.sha1Checksum(), key.size(), key.url());
+        return dao.findByCatalogKey(catalogKey)
+                .orElseThrow(() -> new IllegalStateException("Library was not added to the catalog: " + catalogKey));
+    }
+
+    private record LibraryKey(String groupId,
+                              String artifactId,
+                              String version,
+                              @Nullable String classifier,
+                              @Nullable String extension,
+                              @Nullable String sha1Checksum,
+                              @Nullable Long size,
+                              @Nullable String url) {
+        static LibraryKey of(LibraryArtifact artifact) {
+            return new LibraryKey(
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    artifact.getVersion(),
+                    artifact.getClassifier(),
+                    artifact.getExtension(),
+                    artifact.getSha1Checksum(),
+                    artifact.getSize(),
+                    artifact.getUrl()
+            );
+        }
+
+        /**
+         * {@return the string that uniquely identifies the catalog entry}
+         */
+        String toCatalogKey() {
+            var result = new StringBuilder()
+                    .append(groupId).append(':').append(artifactId).append(':').append(version);
+            if (classifier != null) {
+                result.append(':').append(classifier);
+            }
+            if (extension != null) {
+                result.append('@').append(extension);
+            }
+            return result.append('|').append(Objects.requireNonNullElse(sha1Checksum, ""))
+                    .append('|').append(size != null ? size.toString() : "")
+                    .append('|').append(Objects.requireNonNullElse(url, ""))
+                    .toString();
+        }
+    }
+}
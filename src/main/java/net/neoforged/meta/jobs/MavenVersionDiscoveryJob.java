@@ -1,9 +1,12 @@
 package net.neoforged.meta.jobs;
 
+import net.neoforged.meta.config.MavenRepositoryProperties;
 import net.neoforged.meta.config.MetaApiProperties;
 import net.neoforged.meta.config.SoftwareComponentArtifactProperties;
 import net.neoforged.meta.config.SoftwareComponentProperties;
 import net.neoforged.meta.config.SoftwareComponentPublicationPropertiesRule;
+import net.neoforged.meta.db.ComponentDiscoveryState;
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
 import net.neoforged.meta.db.SoftwareComponentVersionDao;
 import net.neoforged.meta.db.MinecraftVersionDao;
 import net.neoforged.meta.db.NeoForgeVersion;
@@ -12,21 +15,41 @@ import net.neoforged.meta.db.SoftwareComponentReleaseNotes;
 import net.neoforged.meta.db.SoftwareComponentVersion;
 import net.neoforged.meta.event.EventService;
 import net.neoforged.meta.extract.ChangelogExtractor;
+import net.neoforged.meta.extract.LaunchProfileMerger;
 import net.neoforged.meta.extract.NeoForgeVersionExtractor;
+import net.neoforged.meta.maven.ArtifactChecksumResolver;
 import net.neoforged.meta.maven.MavenRepositoriesFacade;
 import net.neoforged.meta.maven.NeoForgeVersionService;
+import net.neoforged.meta.readmodel.VersionListCache;
+import net.neoforged.meta.util.HashingUtil;
+import net.neoforged.meta.util.HttpRequestStatistics;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Discover new versions of a Maven component using the NeoForged Maven API.
@@ -35,7 +58,7 @@ import java.util.Set;
  * and stores discovered versions in the database.
  */
 @Component
-public class MavenVersionDiscoveryJob implements Runnable {
+public class MavenVersionDiscoveryJob implements DiscoveryJob {
     private static final Logger logger = LoggerFactory.getLogger(MavenVersionDiscoveryJob.class);
 
     private final SoftwareComponentVersionDao versionDao;
@@ -46,6 +69,26 @@ public class MavenVersionDiscoveryJob implements Runnable {
     private final EventService eventService;
     private final BrokenVersionService brokenVersionService;
     private final NeoForgeVersionService neoForgeVersionService;
+    private final ComponentDiscoveryStateDao discoveryStateDao;
+    private final ArtifactChecksumResolver checksumResolver;
+    private final LibraryCatalog libraryCatalog;
+    private final VersionListCache versionListCache;
+    /**
+     * Limits the number of versions being discovered concurrently per repository.
+     */
+    private final Map<String, Semaphore> discoveryPermits;
+    /**
+     * The report of the last discovery run for each component, keyed by {@link #getComponentKey}.
+     */
+    private final Map<String, ComponentDiscoveryReport> lastReports = new ConcurrentHashMap<>();
+    /**
+     * The versions that are currently being discovered, as {@code groupId:artifactId:version}.
+     */
+    private final Set<String> versionsInDiscovery = ConcurrentHashMap.newKeySet();
+    /**
+     * The components that are currently being discovered, keyed by {@link #getComponentKey}.
+     */
+    private final Set<String> componentsInDiscovery = ConcurrentHashMap.newKeySet();
 
     public MavenVersionDiscoveryJob(
             SoftwareComponentVersionDao versionDao,
@@ -54,7 +97,11 @@ public class MavenVersionDiscoveryJob implements Runnable {
             TransactionTemplate transactionTemplate,
             MinecraftVersionDao minecraftVersionDao,
             EventService eventService,
-            BrokenVersionService brokenVersionService, NeoForgeVersionService neoForgeVersionService) {
+            BrokenVersionService brokenVersionService, NeoForgeVersionService neoForgeVersionService,
+            ComponentDiscoveryStateDao discoveryStateDao,
+            ArtifactChecksumResolver checksumResolver,
+            LibraryCatalog libraryCatalog,
+            VersionListCache versionListCache) {
         this.versionDao = versionDao;
         this.components = apiProperties.getComponents();
         this.mavenRepositories = mavenRepositories;
@@ -63,16 +110,151 @@ public class MavenVersionDiscoveryJob implements Runnable {
         this.eventService = eventService;
         this.brokenVersionService = brokenVersionService;
         this.neoForgeVersionService = neoForgeVersionService;
+        this.discoveryStateDao = discoveryStateDao;
+        this.checksumResolver = checksumResolver;
+        this.libraryCatalog = libraryCatalog;
+        this.versionListCache = versionListCache;
+        this.discoveryPermits = apiProperties.getMavenRepositories().stream()
+                .collect(Collectors.toMap(
+                        MavenRepositoryProperties::getId,
+                        // Fair, so that versions are started in the order they were submitted
+                        mr -> new Semaphore(mr.getDiscoveryConcurrency(), true)
+                ));
     }
 
+    /**
+     * Discovers all components concurrently. Each component has its own deadline, and a component that fails
+     * or times out does not affect the others.
+     * <p>
+     * A component that timed out is interrupted, but the run does not wait for it to stop, since it may be stuck
+     * in a read that can't be interrupted. Until it stops, later runs skip the component. A component that timed
+     * out before its discovery even started is never discovered by this run.
+     */
     @Override
-    public void run() {
-        for (var component : components) {
-            discoverComponent(component);
+    public boolean discover() {
+        record ComponentRun(SoftwareComponentProperties component,
+                            Instant started,
+                            HttpRequestStatistics statistics,
+                            AtomicInteger newVersions,
+                            AtomicBoolean claimed,
+                            Future<ComponentDiscoveryReport> report) {
+        }
+
+        int newVersions = 0;
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            var runs = new ArrayList<ComponentRun>(components.size());
+            for (var component : components) {
+                var started = Instant.now();
+                var statistics = new HttpRequestStatistics();
+                var componentNewVersions = new AtomicInteger();
+                if (!componentsInDiscovery.add(getComponentKey(component))) {
+                    logger.error("Skipping discovery of {}:{} since a previous run of it is still in progress.", component.getGroupId(), component.getArtifactId());
+                    runs.add(new ComponentRun(component, started, statistics, componentNewVersions, new AtomicBoolean(true),
+                            CompletableFuture.completedFuture(createReport(component, started, statistics, 0, "A previous run is still in progress"))));
+                    continue;
+                }
+                // Claimed by either the task when it starts, or the run when it gives up on the component first
+                var claimed = new AtomicBoolean();
+                runs.add(new ComponentRun(component, started, statistics, componentNewVersions, claimed,
+                        executor.submit(() -> claimed.compareAndSet(false, true)
+                                ? discoverAndReport(component, started, statistics, componentNewVersions)
+                                : null)));
+            }
+
+            for (var run : runs) {
+                var component = run.component();
+                var deadline = run.started().plus(component.getDiscoveryTimeout());
+                ComponentDiscoveryReport report;
+                try {
+                    var remaining = Duration.between(Instant.now(), deadline);
+                    report = run.report().get(Math.max(0, remaining.toMillis()), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    run.report().cancel(true);
+                    if (run.claimed().compareAndSet(false, true)) {
+                        // The task never started, so it doesn't mark the component as no longer in discovery
+                        componentsInDiscovery.remove(getComponentKey(component));
+                    }
+                    logger.error("Discovery of {}:{} did not complete within {}", component.getGroupId(), component.getArtifactId(), component.getDiscoveryTimeout());
+                    report = createReport(component, run.started(), run.statistics(), run.newVersions().get(), "Timed out after " + component.getDiscoveryTimeout());
+                } catch (ExecutionException e) {
+                    // discoverAndReport already reports exceptions, so these are errors, which must not affect other components
+                    logger.error("Failed to discover Maven versions for {}:{}", component.getGroupId(), component.getArtifactId(), e.getCause());
+                    report = createReport(component, run.started(), run.statistics(), run.newVersions().get(), e.getCause().toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while discovering Maven versions", e);
+                }
+                lastReports.put(getComponentKey(component), report);
+                newVersions += report.newVersions();
+            }
+        } finally {
+            // Doesn't wait for components that timed out, unlike closing the executor
+            executor.shutdown();
+        }
+        return newVersions > 0;
+    }
+
+    /**
+     * @return The report of the last discovery run of each component that has been discovered since startup.
+     */
+    public List<ComponentDiscoveryReport> getLastReports() {
+        return lastReports.values().stream()
+                .sorted(Comparator.comparing(ComponentDiscoveryReport::groupId).thenComparing(ComponentDiscoveryReport::artifactId))
+                .toList();
+    }
+
+    private ComponentDiscoveryReport discoverAndReport(SoftwareComponentProperties component, Instant started, HttpRequestStatistics statistics, AtomicInteger newVersions) {
+        try {
+            statistics.collect(() -> {
+                discoverComponent(component, newVersions);
+                return null;
+            });
+            return createReport(component, started, statistics, newVersions.get(), null);
+        } catch (Exception e) {
+            logger.error("Failed to discover Maven versions for {}:{}", component.getGroupId(), component.getArtifactId(), e);
+            return createReport(component, started, statistics, newVersions.get(), e.toString());
+        } finally {
+            componentsInDiscovery.remove(getComponentKey(component));
         }
     }
 
-    public void discoverComponent(SoftwareComponentProperties component) {
+    private static ComponentDiscoveryReport createReport(SoftwareComponentProperties component,
+                                                         Instant started,
+                                                         HttpRequestStatistics statistics,
+                                                         int newVersions,
+                                                         @Nullable String error) {
+        return new ComponentDiscoveryReport(
+                component.getMavenRepositoryId(),
+                component.getGroupId(),
+                component.getArtifactId(),
+                started,
+                Duration.between(started, Instant.now()),
+                statistics.getRequests(),
+                statistics.getBytesReceived(),
+                newVersions,
+                error
+        );
+    }
+
+    private static String getComponentKey(SoftwareComponentProperties component) {
+        return component.getMavenRepositoryId() + ":" + component.getGroupId() + ":" + component.getArtifactId();
+    }
+
+    /**
+     * @return The number of new versions that were discovered.
+     */
+    public int discoverComponent(SoftwareComponentProperties component) {
+        var newVersions = new AtomicInteger();
+        discoverComponent(component, newVersions);
+        return newVersions.get();
+    }
+
+    /**
+     * @param newVersions Incremented for each new version as soon as it is saved, so that the count is also
+     *                    known if the discovery doesn't complete.
+     */
+    private void discoverComponent(SoftwareComponentProperties component, AtomicInteger newVersions) {
         var groupId = component.getGroupId();
         var artifactId = component.getArtifactId();
         var repository = component.getMavenRepositoryId();
@@ -84,44 +266,269 @@ public class MavenVersionDiscoveryJob implements Runnable {
 
         logger.info("Discovering Maven versions for {}:{} in repository {}", groupId, artifactId, repository);
 
-        // Get existing versions to avoid duplicates and broken versions to avoid rescanning them
-        var existingVersions = Set.copyOf(versionDao.findAllVersionsByGA(groupId, artifactId));
-        logger.info("Component has {} known versions.", existingVersions.size());
+        // Only process the version list if it changed since the last time we fully processed it
+        var discoveryState = discoveryStateDao.findByComponent(repository, groupId, artifactId);
+        MavenRepositoriesFacade.MetadataValidators previousValidators = null;
+        if (discoveryState != null) {
+            previousValidators = new MavenRepositoriesFacade.MetadataValidators(discoveryState.getEtag(), discoveryState.getLastModified());
+        }
+        var componentVersions = mavenRepositories.listComponentVersionsIfModified(repository, groupId, artifactId, previousValidators);
+        if (componentVersions == null) {
+            logger.info("Versions of {}:{} are unchanged since {}.", groupId, artifactId, discoveryState.getLastProcessed());
+            return;
+        }
+        var discoveredVersions = componentVersions.versions();
+
+        logger.info("Found {} versions for component {}:{}", discoveredVersions.size(), groupId, artifactId);
+
+        // Versions are appended to the listing as they are published. If the versions we processed last time
+        // are still listed first, only the versions after them are new. Otherwise, compare against all known versions.
         var brokenVersions = brokenVersionService.getBrokenVersions(groupId, artifactId);
+        List<String> candidateVersions;
+        Predicate<String> isKnownVersion;
+        if (isWatermarkConsistent(discoveryState, componentVersions)) {
+            candidateVersions = discoveredVersions.subList(discoveryState.getVersionCount(), discoveredVersions.size());
+            logger.info("{} versions were added since the last run.", candidateVersions.size());
+            isKnownVersion = version -> versionDao.existsByGAV(groupId, artifactId, version);
+        } else {
+            candidateVersions = discoveredVersions;
+            var existingVersions = Set.copyOf(versionDao.findAllVersionsByGA(groupId, artifactId));
+            logger.info("Component has {} known versions.", existingVersions.size());
+            isKnownVersion = existingVersions::contains;
+        }
 
-        var discoveredVersions = mavenRepositories.listComponentVersions(component.getMavenRepositoryId(), component.getGroupId(), component.getArtifactId());
+        // The network-heavy part of discovering a version runs concurrently (bounded by the repository),
+        // while results are persisted one transaction per version, in the order the versions are listed.
+        var permits = Objects.requireNonNull(discoveryPermits.get(repository), () -> "No repository is configured for id '" + repository + "'");
+        var versionsToDiscover = new ArrayList<String>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var version : candidateVersions) {
+                if (isKnownVersion.test(version)) {
+                    continue;
+                }
 
-        logger.info("Found {} versions for component {}:{}", discoveredVersions.size(), groupId, artifactId);
+                if (brokenVersions.shouldSkipVersion(version)) {
+                    logger.debug("Skipping version {} because it is broken.", version);
+                    continue;
+                }
 
-        int newVersions = 0;
-        for (var version : discoveredVersions) {
-            if (existingVersions.contains(version)) {
-                continue;
+                if (!startDiscovery(groupId, artifactId, version)) {
+                    logger.debug("Skipping version {} because it is already being discovered.", version);
+                    continue;
+                }
+                versionsToDiscover.add(version);
+
+                // It may have been discovered through a notification since we listed the known versions
+                if (versionDao.existsByGAV(groupId, artifactId, version)) {
+                    versionsToDiscover.removeLast();
+                    finishDiscovery(groupId, artifactId, version);
+                }
+            }
+
+            var pendingVersions = new ArrayList<Future<SoftwareComponentVersion>>(versionsToDiscover.size());
+            for (var version : versionsToDiscover) {
+                pendingVersions.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return discoverVersion(component, version);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < versionsToDiscover.size(); i++) {
+                var version = versionsToDiscover.get(i);
+                try {
+                    var versionEntity = awaitDiscovery(pendingVersions.get(i));
+                    saveDiscoveredVersion(component, brokenVersions, versionEntity);
+                    newVersions.incrementAndGet();
+                } catch (InterruptedException e) {
+                    // Discovery of the component was aborted, which says nothing about this version
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while discovering " + groupId + ":" + artifactId + ":" + version, e);
+                } catch (Exception e) {
+                    brokenVersions.reportError(version, e);
+                }
+            }
+        } finally {
+            for (var version : versionsToDiscover) {
+                finishDiscovery(groupId, artifactId, version);
+            }
+        }
+
+        // Versions that failed are now recorded as broken, and flagging them for a retry invalidates this state
+        saveDiscoveryState(component, discoveryState, componentVersions);
+
+        logger.info("Completed Maven version discovery for {}:{}. Found {} new versions out of {} total",
+                groupId, artifactId, newVersions.get(), discoveredVersions.size());
+    }
+
+    /**
+     * Discovers a single version that was just published, without waiting for it to show up in the version listing.
+     * Versions that are already known or currently being discovered by a discovery run are skipped, as are versions
+     * that are recorded as broken and not flagged for a retry.
+     * <p>
+     * Since anyone who can publish can send notifications with any version, the version has to be listed in the
+     * Maven metadata of the component. Otherwise, a typo would be recorded as a broken version.
+     */
+    public PublishedVersionOutcome discoverPublishedVersion(SoftwareComponentProperties component, String version) {
+        var groupId = component.getGroupId();
+        var artifactId = component.getArtifactId();
+        if (!startDiscovery(groupId, artifactId, version)) {
+            return PublishedVersionOutcome.IN_PROGRESS;
+        }
+
+        try {
+            if (versionDao.existsByGAV(groupId, artifactId, version)) {
+                return PublishedVersionOutcome.ALREADY_KNOWN;
             }
 
+            var brokenVersions = brokenVersionService.getBrokenVersions(groupId, artifactId);
             if (brokenVersions.shouldSkipVersion(version)) {
-                logger.debug("Skipping version {} because it is broken.", version);
-                continue;
+                return PublishedVersionOutcome.BROKEN;
+            }
+
+            var repository = component.getMavenRepositoryId();
+            if (!mavenRepositories.listComponentVersions(repository, groupId, artifactId).contains(version)) {
+                logger.warn("Ignoring published version {}:{}:{} since it is not listed in repository {}", groupId, artifactId, version, repository);
+                return PublishedVersionOutcome.NOT_PUBLISHED;
             }
 
+            logger.info("Discovering published version {}:{}:{}", groupId, artifactId, version);
+            var permits = Objects.requireNonNull(discoveryPermits.get(component.getMavenRepositoryId()));
             try {
-                transactionTemplate.executeWithoutResult(ignored -> {
-                    discoverVersion(component, version);
-                    brokenVersions.reportSuccess(version);
-                });
-                eventService.newComponentVersion(component.getGroupId(), component.getArtifactId(), version);
-                newVersions++;
+                permits.acquire();
+                SoftwareComponentVersion versionEntity;
+                try {
+                    versionEntity = discoverVersion(component, version);
+                } finally {
+                    permits.release();
+                }
+                saveDiscoveredVersion(component, brokenVersions, versionEntity);
+                return PublishedVersionOutcome.DISCOVERED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while discovering " + groupId + ":" + artifactId + ":" + version, e);
             } catch (Exception e) {
                 brokenVersions.reportError(version, e);
+                return PublishedVersionOutcome.FAILED;
             }
+        } finally {
+            finishDiscovery(groupId, artifactId, version);
         }
+    }
 
-        logger.info("Completed Maven version discovery for {}:{}. Found {} new versions out of {} total",
-                groupId, artifactId, newVersions, discoveredVersions.size());
+    public enum PublishedVersionOutcome {
+        DISCOVERED,
+        ALREADY_KNOWN,
+        /**
+         * A discovery run or another notification is discovering the version right now.
+         */
+        IN_PROGRESS,
+        /**
+         * The version is not listed in the Maven metadata of the component.
+         */
+        NOT_PUBLISHED,
+        /**
+         * The version was recorded as broken before and is not flagged for a retry.
+         */
+        BROKEN,
+        /**
+         * The version has been recorded as broken.
+         */
+        FAILED
     }
 
+    /**
+     * Claims a version for discovery, so that discovery runs and notifications about published versions
+     * never discover the same version at the same time.
+     *
+     * @return false if the version is already being discovered.
+     */
+    private boolean startDiscovery(String groupId, String artifactId, String version) {
+        return versionsInDiscovery.add(groupId + ":" + artifactId + ":" + version);
+    }
+
+    private void finishDiscovery(String groupId, String artifactId, String version) {
+        versionsInDiscovery.remove(groupId + ":" + artifactId + ":" + version);
+    }
 
-    private void discoverVersion(SoftwareComponentProperties component, String version) {
+    private void saveDiscoveredVersion(SoftwareComponentProperties component,
+                                       BrokenVersionService.BrokenVersions brokenVersions,
+                                       SoftwareComponentVersion versionEntity) {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            saveVersion(component, versionEntity);
+            brokenVersions.reportSuccess(versionEntity.getVersion());
+            versionListCache.invalidate();
+        });
+        eventService.newComponentVersion(component.getGroupId(), component.getArtifactId(), versionEntity.getVersion());
+    }
+
+    /**
+     * Checks that the listing still starts with the versions seen in the last run, and was not reset to an older state.
+     */
+    private static boolean isWatermarkConsistent(@Nullable ComponentDiscoveryState discoveryState,
+                                                 MavenRepositoriesFacade.ComponentVersions componentVersions) {
+        if (discoveryState == null || discoveryState.getVersionCount() == null || discoveryState.getVersionsHash() == null) {
+            return false;
+        }
+
+        var previousLastUpdated = discoveryState.getMetadataLastUpdated();
+        var lastUpdated = componentVersions.lastUpdated();
+        if (previousLastUpdated != null && (lastUpdated == null || lastUpdated.compareTo(previousLastUpdated) < 0)) {
+            return false;
+        }
+
+        var versions = componentVersions.versions();
+        int versionCount = discoveryState.getVersionCount();
+        return versionCount <= versions.size()
+                && hashVersions(versions.subList(0, versionCount)).equals(discoveryState.getVersionsHash());
+    }
+
+    private static String hashVersions(List<String> versions) {
+        return HashingUtil.sha1(String.join("\n", versions));
+    }
+
+    private void saveDiscoveryState(SoftwareComponentProperties component,
+                                    @Nullable ComponentDiscoveryState discoveryState,
+                                    MavenRepositoriesFacade.ComponentVersions componentVersions) {
+        if (discoveryState == null) {
+            discoveryState = new ComponentDiscoveryState();
+            discoveryState.setRepository(component.getMavenRepositoryId());
+            discoveryState.setGroupId(component.getGroupId());
+            discoveryState.setArtifactId(component.getArtifactId());
+        }
+        var validators = componentVersions.validators();
+        discoveryState.setEtag(validators.etag());
+        discoveryState.setLastModified(validators.lastModified());
+        discoveryState.setMetadataLastUpdated(componentVersions.lastUpdated());
+        discoveryState.setVersionCount(componentVersions.versions().size());
+        discoveryState.setVersionsHash(hashVersions(componentVersions.versions()));
+        discoveryState.setLastProcessed(Instant.now());
+        var state = discoveryState;
+        transactionTemplate.executeWithoutResult(ignored -> discoveryStateDao.save(state));
+    }
+
+
+    private static SoftwareComponentVersion awaitDiscovery(Future<SoftwareComponentVersion> pendingVersion) throws Exception {
+        try {
+            return pendingVersion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Collects all information about a version from the repository, without writing anything to the database.
+     */
+    private SoftwareComponentVersion discoverVersion(SoftwareComponentProperties component, String version) {
         SoftwareComponentVersion versionEntity;
 
         // Post-Process Component Specific Information
@@ -136,20 +543,30 @@ public class MavenVersionDiscoveryJob implements Runnable {
 
         versionEntity.setDiscovered(Instant.now());
         versionEntity.setLastModified(versionEntity.getDiscovered());
+        return versionEntity;
+    }
+
+    private void saveVersion(SoftwareComponentProperties component, SoftwareComponentVersion versionEntity) {
+        if (versionEntity instanceof NeoForgeVersion neoForgeVersion) {
+            libraryCatalog.intern(neoForgeVersion.getLibraries());
+        }
         versionDao.saveAndFlush(versionEntity);
 
-        logger.info("Discovered new version: {}:{}:{} ({} artifacts)", component.getMavenRepositoryId(), component.getArtifactId(), version, versionEntity.getArtifacts().size());
+        logger.info("Discovered new version: {}:{}:{} ({} artifacts)", component.getMavenRepositoryId(), component.getArtifactId(), versionEntity.getVersion(), versionEntity.getArtifacts().size());
     }
 
     private void discoverNeoForgeVersion(String version, NeoForgeVersion neoForgeVersion) {
-        // We need to parse information found in the installer jar, for which we need to download the jar file
+        // We need to parse information found in the installer jar, of which we only download the entries we need
         var installerArtifact = neoForgeVersion.getArtifact("installer", "jar");
         if (installerArtifact == null) {
             throw new IllegalStateException("Expected installer, but is missing.");
         }
 
-        byte[] installerContent = mavenRepositories.getArtifact(neoForgeVersion.getRepository(), neoForgeVersion.getGroupId(), neoForgeVersion.getArtifactId(), neoForgeVersion.getVersion(), installerArtifact.getClassifier(), installerArtifact.getExtension());
-        var versionMetadata = NeoForgeVersionExtractor.extract(installerContent);
+        var installerJar = mavenRepositories.openArtifactAsZip(neoForgeVersion.getRepository(), neoForgeVersion.getGroupId(), neoForgeVersion.getArtifactId(), neoForgeVersion.getVersion(), installerArtifact.getClassifier(), installerArtifact.getExtension());
+        var versionMetadata = NeoForgeVersionExtractor.extract(name -> {
+            var entryContent = installerJar.readEntry(name);
+            return entryContent != null ? new String(entryContent, StandardCharsets.UTF_8) : null;
+        });
         neoForgeVersion.setReleased(versionMetadata.releaseTime()); // The time in the profile may be more accurate
 
         var minecraftVersion = minecraftVersionDao.getByVersion(versionMetadata.minecraftVersion());
@@ -164,6 +581,12 @@ public class MavenVersionDiscoveryJob implements Runnable {
         neoForgeVersion.setLibraries(versionMetadata.libraries());
         neoForgeVersion.setClientStartup(versionMetadata.clientStartup());
         neoForgeVersion.setServerStartup(versionMetadata.serverStartup());
+
+        // Merging needs the manifest of the Minecraft version, and is done once it is imported otherwise
+        var minecraftManifest = minecraftVersion.getManifest();
+        if (minecraftManifest != null) {
+            neoForgeVersion.setLaunchProfiles(LaunchProfileMerger.mergeAll(minecraftManifest.getContent(), versionMetadata.launcherProfile()));
+        }
     }
 
     private void discoverBaseVersion(SoftwareComponentProperties component,
@@ -255,25 +678,16 @@ public class MavenVersionDiscoveryJob implements Runnable {
         artifactEntity.setLastModified(Instant.ofEpochMilli(artifactLastModified));
         artifactEntity.setEtag(etag);
 
-        // Try to discover the checksums
-        for (var checksumType : SoftwareComponentArtifact.ChecksumType.values()) {
-            String checksumExtension = Objects.requireNonNullElse(artifact.extension(), "") + checksumType.checksumExtension();
-            var checksum = new String(mavenRepositories.getArtifact(
-                    component.getMavenRepositoryId(),
-                    component.getGroupId(),
-                    component.getArtifactId(),
-                    versionEntity.getVersion(),
-                    artifact.classifier(),
-                    checksumExtension
-            )).trim().toLowerCase(Locale.ROOT);
-
-            var checksumBytes = HexFormat.of().parseHex(checksum);
-            if (checksumBytes.length != checksumType.byteLength()) {
-                throw new IllegalStateException("Checksum value '" + checksum + "' does not match expected byte length " + checksumType.byteLength());
-            }
-
-            artifactEntity.setChecksum(checksumType, HexFormat.of().formatHex(checksumBytes));
-        }
+        var checksums = checksumResolver.resolve(
+                component.getMavenRepositoryId(),
+                component.getGroupId(),
+                component.getArtifactId(),
+                versionEntity.getVersion(),
+                artifact.classifier(),
+                artifact.extension(),
+                artifactHeaders
+        );
+        checksums.forEach(artifactEntity::setChecksum);
 
         return artifactEntity;
     }
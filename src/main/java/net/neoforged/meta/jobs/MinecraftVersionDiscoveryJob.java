@@ -1,14 +1,23 @@
 package net.neoforged.meta.jobs;
 
 import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.ComponentDiscoveryState;
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
 import net.neoforged.meta.db.MinecraftVersion;
 import net.neoforged.meta.db.MinecraftVersionDao;
 import net.neoforged.meta.db.MinecraftVersionManifest;
 import net.neoforged.meta.db.ReferencedLibrary;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.extract.LaunchProfileMerger;
 import net.neoforged.meta.manifests.launcher.LauncherManifest;
 import net.neoforged.meta.maven.NeoForgeVersionService;
+import net.neoforged.meta.readmodel.VersionListCache;
+import net.neoforged.meta.util.HashingUtil;
+import net.neoforged.meta.util.HttpClientFactory;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestClient;
@@ -17,96 +26,197 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
-public class MinecraftVersionDiscoveryJob implements Runnable {
+public class MinecraftVersionDiscoveryJob implements DiscoveryJob {
 
     private static final Logger logger = LoggerFactory.getLogger(MinecraftVersionDiscoveryJob.class);
 
+    /**
+     * The repository under which the state of the launcher manifest is stored in {@link ComponentDiscoveryState}.
+     */
+    static final String LAUNCHER_META_REPOSITORY = "minecraft-launcher-meta";
+
     private final RestClient restClient;
     private final MinecraftVersionDao minecraftVersionDao;
     private final BrokenVersionService brokenVersionService;
     private final TransactionTemplate transactionTemplate;
+    private final ComponentDiscoveryStateDao discoveryStateDao;
+    private final LibraryCatalog libraryCatalog;
+    private final VersionListCache versionListCache;
+    private final SoftwareComponentVersionDao versionDao;
 
     public MinecraftVersionDiscoveryJob(MinecraftVersionDao minecraftVersionDao,
                                         MetaApiProperties apiProperties,
                                         BrokenVersionService brokenVersionService,
-                                        TransactionTemplate transactionTemplate) {
+                                        TransactionTemplate transactionTemplate,
+                                        HttpClientFactory httpClientFactory,
+                                        ComponentDiscoveryStateDao discoveryStateDao,
+                                        LibraryCatalog libraryCatalog,
+                                        VersionListCache versionListCache,
+                                        SoftwareComponentVersionDao versionDao) {
         this.minecraftVersionDao = minecraftVersionDao;
-        this.restClient = RestClient.builder()
+        this.restClient = httpClientFactory.createRestClientBuilder(LAUNCHER_META_REPOSITORY, apiProperties.getMinecraftLauncherMetaHttp())
                 .baseUrl(apiProperties.getMinecraftLauncherMetaUrl())
                 .build();
         this.brokenVersionService = brokenVersionService;
         this.transactionTemplate = transactionTemplate;
+        this.discoveryStateDao = discoveryStateDao;
+        this.libraryCatalog = libraryCatalog;
+        this.versionListCache = versionListCache;
+        this.versionDao = versionDao;
     }
 
     @Override
-    public void run() {
+    public boolean discover() {
         logger.info("Starting Minecraft metadata polling job");
 
-        var launcherManifest = restClient.get().retrieve().body(LauncherManifest.class);
+        var discoveryState = discoveryStateDao.findByComponent(LAUNCHER_META_REPOSITORY, MinecraftVersion.MINECRAFT_GROUP_ID, MinecraftVersion.MINECRAFT_ARTIFACT_ID);
+        var response = restClient.get()
+                .headers(headers -> {
+                    if (discoveryState != null && discoveryState.getEtag() != null) {
+                        headers.setIfNoneMatch(discoveryState.getEtag());
+                    }
+                    if (discoveryState != null && discoveryState.getLastModified() != null) {
+                        headers.setIfModifiedSince(discoveryState.getLastModified());
+                    }
+                })
+                .retrieve()
+                .toEntity(byte[].class);
 
-        var existingVersions = minecraftVersionDao.getAllVersions();
-        logger.info("Discovered {} versions. {} are already known.", launcherManifest.versions().size(), existingVersions.size());
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            logger.info("Launcher manifest is unchanged. Skipping Minecraft metadata polling.");
+            return false;
+        }
 
-        var brokenVersions = brokenVersionService.getBrokenMinecraftVersions();
+        var content = response.getBody();
+        if (content == null || content.length == 0) {
+            throw new IllegalStateException("Empty launcher manifest received");
+        }
+        var lastModifiedHeader = response.getHeaders().getLastModified();
+        var etag = response.getHeaders().getETag();
+        var lastModified = lastModifiedHeader != -1 ? Instant.ofEpochMilli(lastModifiedHeader) : null;
 
-        var versionsAdded = new AtomicInteger();
-        var versionsChanged = new AtomicInteger();
+        // Servers that do not honor the validators still return identical content
+        var contentSha1 = HashingUtil.sha1(content);
+        if (discoveryState != null && contentSha1.equals(discoveryState.getContentSha1())) {
+            logger.info("Launcher manifest content is unchanged. Skipping Minecraft metadata polling.");
+            saveDiscoveryState(discoveryState, etag, lastModified, contentSha1);
+            return false;
+        }
+
+        var launcherManifest = LauncherManifest.from(content);
+
+        // Decide which versions changed from a single query, so unchanged versions are never loaded
+        var syncStates = minecraftVersionDao.getSyncStates().stream()
+                .collect(Collectors.toMap(MinecraftVersionDao.SyncState::version, Function.identity()));
+        logger.info("Discovered {} versions. {} are already known.", launcherManifest.versions().size(), syncStates.size());
 
+        var brokenVersions = brokenVersionService.getBrokenMinecraftVersions();
+
+        var changedVersions = new ArrayList<LauncherManifest.Version>();
         for (var discoveredVersion : launcherManifest.versions()) {
-            logger.trace("Working on version {}", discoveredVersion.id());
+            var syncState = syncStates.get(discoveredVersion.id());
+            if (syncState != null && !syncState.reimport() && discoveredVersion.sha1().equalsIgnoreCase(syncState.manifestSha1())) {
+                continue;
+            }
 
             if (brokenVersions.shouldSkipVersion(discoveredVersion.id())) {
                 logger.debug("Skipping version {} since it's broken", discoveredVersion.id());
                 continue;
             }
 
-            // Import each version in a separate DB transaction to avoid locking the DB for too long.
-            try {
-                transactionTemplate.executeWithoutResult(ignored -> {
-                    var existingVersion = minecraftVersionDao.getByVersion(discoveredVersion.id());
-                    if (existingVersion != null) {
-                        // Check if manifest changed
-                        var existingManifest = existingVersion.getManifest();
-                        boolean manifestChanged = existingManifest == null ||
-                                !existingManifest.getSha1().equals(discoveredVersion.sha1());
-
-                        if (manifestChanged || existingVersion.isReimport()) {
-                            updateVersion(discoveredVersion, existingVersion);
+            changedVersions.add(discoveredVersion);
+        }
+
+        var versionsAdded = new AtomicInteger();
+        var versionsChanged = new AtomicInteger();
+        var versionsFailed = 0;
+
+        // Fetch the manifests concurrently (bounded by the HTTP client), then import each version in a separate
+        // DB transaction to avoid locking the DB for too long.
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var manifestContents = new ArrayList<Future<String>>(changedVersions.size());
+            for (var discoveredVersion : changedVersions) {
+                manifestContents.add(executor.submit(() -> fetchManifest(discoveredVersion)));
+            }
+
+            for (int i = 0; i < changedVersions.size(); i++) {
+                var discoveredVersion = changedVersions.get(i);
+                logger.trace("Working on version {}", discoveredVersion.id());
+                try {
+                    var manifestContent = awaitManifest(manifestContents.get(i));
+                    transactionTemplate.executeWithoutResult(ignored -> {
+                        var existingVersion = minecraftVersionDao.getByVersion(discoveredVersion.id());
+                        if (existingVersion != null) {
+                            updateVersion(discoveredVersion, existingVersion, manifestContent);
                             existingVersion.setReimport(false);
                             existingVersion.setLastModified(Instant.now());
                             versionsChanged.incrementAndGet();
+                        } else {
+                            existingVersion = new MinecraftVersion();
+                            existingVersion.setVersion(discoveredVersion.id());
+                            existingVersion.setDiscovered(Instant.now());
+                            existingVersion.setLastModified(existingVersion.getDiscovered());
+                            existingVersion.setImported(true);
+                            updateVersion(discoveredVersion, existingVersion, manifestContent);
+                            minecraftVersionDao.save(existingVersion);
+                            versionsAdded.incrementAndGet();
                         }
-                        brokenVersions.reportSuccess(discoveredVersion.id());
-                    } else {
-                        existingVersion = new MinecraftVersion();
-                        existingVersion.setVersion(discoveredVersion.id());
-                        existingVersion.setDiscovered(Instant.now());
-                        existingVersion.setLastModified(existingVersion.getDiscovered());
-                        existingVersion.setImported(true);
-                        updateVersion(discoveredVersion, existingVersion);
-                        minecraftVersionDao.save(existingVersion);
-                        versionsAdded.incrementAndGet();
-                    }
-                });
-                brokenVersions.reportSuccess(discoveredVersion.id());
-            } catch (Exception e) {
-                brokenVersions.reportError(discoveredVersion.id(), e);
+                        versionListCache.invalidate();
+                    });
+                    brokenVersions.reportSuccess(discoveredVersion.id());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while discovering Minecraft version " + discoveredVersion.id(), e);
+                } catch (Exception e) {
+                    brokenVersions.reportError(discoveredVersion.id(), e);
+                    versionsFailed++;
+                }
             }
         }
 
+        // Only remember the manifest once all of its versions were imported, so failed versions are retried
+        if (versionsFailed == 0) {
+            saveDiscoveryState(discoveryState, etag, lastModified, contentSha1);
+        }
+
         logger.info("Completed Minecraft metadata polling job. Versions added: {}, changed: {}", versionsAdded.get(), versionsChanged.get());
+        return versionsAdded.get() > 0 || versionsChanged.get() > 0;
     }
 
-    private void updateVersion(LauncherManifest.Version discoveredVersion, MinecraftVersion version) {
-        version.setType(discoveredVersion.type());
-        version.setReleased(discoveredVersion.releaseTime().toInstant());
+    private void saveDiscoveryState(@Nullable ComponentDiscoveryState discoveryState,
+                                    @Nullable String etag,
+                                    @Nullable Instant lastModified,
+                                    String contentSha1) {
+        if (discoveryState == null) {
+            discoveryState = new ComponentDiscoveryState();
+            discoveryState.setRepository(LAUNCHER_META_REPOSITORY);
+            discoveryState.setGroupId(MinecraftVersion.MINECRAFT_GROUP_ID);
+            discoveryState.setArtifactId(MinecraftVersion.MINECRAFT_ARTIFACT_ID);
+        }
+        discoveryState.setEtag(etag);
+        discoveryState.setLastModified(lastModified);
+        discoveryState.setContentSha1(contentSha1);
+        discoveryState.setLastProcessed(Instant.now());
+        var state = discoveryState;
+        transactionTemplate.executeWithoutResult(ignored -> discoveryStateDao.save(state));
+    }
 
-        // Fetch the manifest content from the URL
-        String manifestContent = RestClient.create()
+    /**
+     * Fetches the manifest content from the URL, reusing the connection to the launcher metadata server,
+     * and verifies it against the checksum listed in the launcher manifest.
+     */
+    private String fetchManifest(LauncherManifest.Version discoveredVersion) {
+        String manifestContent = restClient
                 .get()
                 .uri(discoveredVersion.url())
                 .retrieve()
@@ -128,6 +238,23 @@ public class MinecraftVersionDiscoveryJob implements Runnable {
             logger.error(errorMsg);
             throw new IllegalStateException(errorMsg);
         }
+        return manifestContent;
+    }
+
+    private static String awaitManifest(Future<String> manifestContent) throws Exception {
+        try {
+            return manifestContent.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void updateVersion(LauncherManifest.Version discoveredVersion, MinecraftVersion version, String manifestContent) {
+        version.setType(discoveredVersion.type());
+        version.setReleased(discoveredVersion.releaseTime().toInstant());
 
         // Create or update the manifest
         var manifest = version.getManifest();
@@ -160,13 +287,31 @@ public class MinecraftVersionDiscoveryJob implements Runnable {
                 version.setJavaVersion(parsedManifest.javaVersion().majorVersion());
             }
 
-            version.getLibraries().clear();
+            var libraries = new ArrayList<ReferencedLibrary>();
             for (var library : parsedManifest.libraries()) {
                 for (var referencedLibrary : ReferencedLibrary.of(library)) {
                     referencedLibrary.setClientClasspath(true);
-                    version.getLibraries().add(referencedLibrary);
+                    libraries.add(referencedLibrary);
                 }
             }
+            // Interned before they are added, since adding catalog entries flushes the version
+            libraryCatalog.intern(libraries);
+            version.getLibraries().clear();
+            version.getLibraries().addAll(libraries);
+
+            if (version.getId() != null) {
+                updateLaunchProfiles(version, manifestContent);
+            }
+        }
+    }
+
+    /**
+     * Merges the launcher profiles of the NeoForge versions for a Minecraft version again, since they include its manifest.
+     */
+    private void updateLaunchProfiles(MinecraftVersion version, String manifestContent) {
+        for (var neoForgeVersion : versionDao.findNeoForgeVersionsByMinecraftVersion(version)) {
+            neoForgeVersion.setLaunchProfiles(LaunchProfileMerger.mergeAll(manifestContent, neoForgeVersion.getLauncherProfile()));
+            neoForgeVersion.setLastModified(Instant.now());
         }
     }
 
@@ -1,6 +1,7 @@
 package net.neoforged.meta.jobs;
 
 import net.neoforged.meta.MetaApiApplication;
+import net.neoforged.meta.config.ScheduledTaskProperties;
 import net.neoforged.meta.config.ScheduledTasksProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
-import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.config.TriggerTask;
 
 @Configuration
 @EnableScheduling
@@ -23,33 +24,39 @@ public class ScheduledTaskConfiguration implements SchedulingConfigurer {
     private final ScheduledTasksProperties properties;
     private final MinecraftVersionDiscoveryJob minecraftVersionDiscoveryJob;
     private final MavenVersionDiscoveryJob mavenVersionDiscoveryJob;
+    private final BlobCompressionJob blobCompressionJob;
+    private final JobRunner jobRunner;
 
     public ScheduledTaskConfiguration(ScheduledTasksProperties properties,
                                       MinecraftVersionDiscoveryJob minecraftVersionDiscoveryJob,
-                                      MavenVersionDiscoveryJob mavenVersionDiscoveryJob) {
+                                      MavenVersionDiscoveryJob mavenVersionDiscoveryJob,
+                                      BlobCompressionJob blobCompressionJob,
+                                      JobRunner jobRunner) {
         this.properties = properties;
         this.minecraftVersionDiscoveryJob = minecraftVersionDiscoveryJob;
         this.mavenVersionDiscoveryJob = mavenVersionDiscoveryJob;
+        this.blobCompressionJob = blobCompressionJob;
+        this.jobRunner = jobRunner;
     }
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-        if (properties.minecraftVersionDiscovery().enabled()) {
-            String cronExpression = properties.minecraftVersionDiscovery().cronPattern();
-            logger.info("Registering Minecraft metadata polling job with cron expression: {}", cronExpression);
+        addAdaptiveTask(taskRegistrar, minecraftVersionDiscoveryJob, properties.minecraftVersionDiscovery());
+        addAdaptiveTask(taskRegistrar, mavenVersionDiscoveryJob, properties.mavenVersionDiscovery());
+        addAdaptiveTask(taskRegistrar, blobCompressionJob, properties.blobCompression());
+    }
 
-            taskRegistrar.addTriggerTask(minecraftVersionDiscoveryJob, new CronTrigger(cronExpression));
-        } else {
-            logger.info("Minecraft metadata polling job is disabled");
+    private void addAdaptiveTask(ScheduledTaskRegistrar taskRegistrar, DiscoveryJob job, ScheduledTaskProperties taskProperties) {
+        if (!taskProperties.enabled()) {
+            logger.info("{} job is disabled", job);
+            return;
         }
 
-        if (properties.mavenVersionDiscovery().enabled()) {
-            String cronExpression = properties.mavenVersionDiscovery().cronPattern();
-            logger.info("Registering Maven version discovery job with cron expression: {}", cronExpression);
-
-            taskRegistrar.addTriggerTask(mavenVersionDiscoveryJob, new CronTrigger(cronExpression));
-        } else {
-            logger.info("Maven version discovery job is disabled");
-        }
+        logger.info("Registering {} job with an interval between {} and {}", job, taskProperties.minInterval(), taskProperties.maxInterval());
+        var trigger = new AdaptiveTrigger(taskProperties.minInterval(), taskProperties.maxInterval(), taskProperties.backoffFactor());
+        var adaptiveJob = new AdaptiveJob(job, trigger);
+        var task = new TriggerTask(adaptiveJob, trigger);
+        taskRegistrar.addTriggerTask(task);
+        jobRunner.register(adaptiveJob, task);
     }
 }
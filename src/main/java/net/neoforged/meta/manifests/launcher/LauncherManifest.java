@@ -15,6 +15,10 @@ public record LauncherManifest(List<Version> versions) {
         return mapper.readValue(path.toFile(), LauncherManifest.class);
     }
 
+    public static LauncherManifest from(byte[] content) {
+        return mapper.readValue(content, LauncherManifest.class);
+    }
+
     public record Version(String id, String type, URI url, String sha1, OffsetDateTime releaseTime) {
     }
 }
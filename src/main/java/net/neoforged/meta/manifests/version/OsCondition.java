@@ -1,6 +1,7 @@
 package net.neoforged.meta.manifests.version;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import net.neoforged.meta.util.OsType;
 import net.neoforged.meta.util.OsUtil;
 
 import java.util.regex.Pattern;
@@ -19,6 +20,13 @@ public record OsCondition(String name, String version, String arch) {
         };
     }
 
+    /**
+     * Checks the name against a given operating system instead of the current one.
+     */
+    public boolean nameMatches(OsType os) {
+        return name == null || name.equals(os.getSerializedName());
+    }
+
     public boolean versionMatches() {
         return version == null || Pattern.compile(version).matcher(System.getProperty("os.version")).find();
     }
@@ -1,6 +1,8 @@
 package net.neoforged.meta.manifests.version;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import net.neoforged.meta.util.OsType;
+import org.jspecify.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Objects;
@@ -19,5 +21,21 @@ public record Rule(
     public boolean evaluate() {
         return features.isEmpty() && (os == null || os.platformMatches());
     }
+
+    /**
+     * Checks whether this rule applies on a given operating system, as far as that can be decided
+     * without knowing the system that the game will run on.
+     *
+     * @return Null if it depends on features, or on the version or architecture of the operating system.
+     */
+    public @Nullable Boolean appliesTo(OsType osType) {
+        if (os != null && !os.nameMatches(osType)) {
+            return false;
+        }
+        if (!features.isEmpty() || (os != null && (os.version() != null || os.arch() != null))) {
+            return null;
+        }
+        return true;
+    }
 }
 
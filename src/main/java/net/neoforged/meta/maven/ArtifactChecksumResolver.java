@@ -0,0 +1,270 @@
+package net.neoforged.meta.maven;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.SoftwareComponentArtifact.ChecksumType;
+import net.neoforged.meta.util.HashingUtil;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resolves the checksums of an artifact in a Maven repository.
+ * <p>
+ * The checksum files published alongside the artifact are fetched concurrently. Checksums that
+ * are not published are computed from the artifact itself, in a single pass for all missing algorithms.
+ * Results are cached on disk, keyed by the artifact path and its ETag (or Last-Modified and size),
+ * so unchanged artifacts are resolved without any requests. Since an artifact that changes gets a new key,
+ * the least recently used results are removed once the cache holds more than the configured number of them.
+ */
+@Component
+public class ArtifactChecksumResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactChecksumResolver.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final MavenRepositoriesFacade mavenRepositories;
+    private final Path cacheDirectory;
+    private final int maxCacheEntries;
+
+    /**
+     * All cache files, in order of their last use.
+     */
+    private final LinkedHashMap<Path, Path> cacheFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean cacheLoaded;
+
+    public ArtifactChecksumResolver(MavenRepositoriesFacade mavenRepositories, MetaApiProperties properties) {
+        this.mavenRepositories = mavenRepositories;
+        this.cacheDirectory = properties.getDataDirectory().toPath().resolve("checksum-cache");
+        this.maxCacheEntries = properties.getArtifactCache().getMaxChecksumEntries();
+    }
+
+    record CachedChecksums(Map<ChecksumType, String> checksums) {
+    }
+
+    /**
+     * @param artifactHeaders The response headers of a HEAD request for the artifact, which identify the
+     *                        artifact content for caching purposes.
+     * @return All checksums of the artifact, as lowercase hex strings.
+     */
+    public Map<ChecksumType, String> resolve(String repositoryId,
+                                             String groupId,
+                                             String artifactId,
+                                             String version,
+                                             @Nullable String classifier,
+                                             @Nullable String extension,
+                                             HttpHeaders artifactHeaders) {
+        var artifactPath = mavenRepositories.getArtifactPath(repositoryId, groupId, artifactId, version, classifier, extension);
+        var cacheFile = getCacheFile(repositoryId, artifactPath, artifactHeaders);
+        if (cacheFile != null) {
+            var cached = readCache(cacheFile);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        var checksums = new EnumMap<ChecksumType, String>(ChecksumType.class);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var checksumFiles = new EnumMap<ChecksumType, Future<byte @Nullable []>>(ChecksumType.class);
+            for (var checksumType : ChecksumType.values()) {
+                var checksumExtension = Objects.requireNonNullElse(extension, "") + checksumType.checksumExtension();
+                checksumFiles.put(checksumType, executor.submit(() -> mavenRepositories.getOptionalArtifact(repositoryId, groupId, artifactId, version, classifier, checksumExtension)));
+            }
+
+            for (var entry : checksumFiles.entrySet()) {
+                var checksumFile = await(entry.getValue());
+                if (checksumFile != null) {
+                    checksums.put(entry.getKey(), parseChecksum(entry.getKey(), checksumFile));
+                }
+            }
+        }
+
+        if (checksums.size() < ChecksumType.values().length) {
+            var missing = EnumSet.allOf(ChecksumType.class);
+            missing.removeAll(checksums.keySet());
+            logger.info("Computing {} checksums of {} in repository {}, since they are not published.", missing, artifactPath, repositoryId);
+            checksums.putAll(mavenRepositories.readArtifact(repositoryId, groupId, artifactId, version, classifier, extension, in -> digest(in, missing)));
+        }
+
+        if (cacheFile != null) {
+            writeCache(cacheFile, checksums);
+        }
+        return checksums;
+    }
+
+    private static String parseChecksum(ChecksumType checksumType, byte[] checksumFile) {
+        var checksum = new String(checksumFile).trim().toLowerCase(Locale.ROOT);
+        var checksumBytes = HexFormat.of().parseHex(checksum);
+        if (checksumBytes.length != checksumType.byteLength()) {
+            throw new IllegalStateException("Checksum value '" + checksum + "' does not match expected byte length " + checksumType.byteLength());
+        }
+        return HexFormat.of().formatHex(checksumBytes);
+    }
+
+    private static Map<ChecksumType, String> digest(InputStream in, Set<ChecksumType> checksumTypes) {
+        try {
+            var digests = HashingUtil.hash(in, checksumTypes.stream().map(ChecksumType::digestAlgorithm).toList());
+            var result = new EnumMap<ChecksumType, String>(ChecksumType.class);
+            for (var checksumType : checksumTypes) {
+                result.put(checksumType, digests.get(checksumType.digestAlgorithm()));
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nullable
+    private Path getCacheFile(String repositoryId, String artifactPath, HttpHeaders artifactHeaders) {
+        String validator;
+        if (artifactHeaders.getETag() != null) {
+            validator = "etag:" + artifactHeaders.getETag();
+        } else if (artifactHeaders.getLastModified() != -1 && artifactHeaders.getContentLength() != -1) {
+            validator = "modified:" + artifactHeaders.getLastModified() + ":" + artifactHeaders.getContentLength();
+        } else {
+            return null; // We can't tell whether the artifact has changed
+        }
+
+        var key = HashingUtil.sha1(repositoryId + "\n" + artifactPath + "\n" + validator);
+        return cacheDirectory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private @Nullable Map<ChecksumType, String> readCache(Path cacheFile) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try {
+            var cached = mapper.readValue(cacheFile.toFile(), CachedChecksums.class);
+            if (cached.checksums() == null || !cached.checksums().keySet().containsAll(Set.of(ChecksumType.values()))) {
+                return null;
+            }
+            markUsed(cacheFile);
+            return new EnumMap<>(cached.checksums());
+        } catch (JacksonException e) {
+            logger.warn("Ignoring corrupted checksum cache file {}: {}", cacheFile, e.toString());
+            return null;
+        }
+    }
+
+    private void writeCache(Path cacheFile, Map<ChecksumType, String> checksums) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            var tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                mapper.writeValue(tempFile.toFile(), new CachedChecksums(checksums));
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException | JacksonException e) {
+            // The cache is only an optimization
+            logger.warn("Failed to write checksum cache file {}: {}", cacheFile, e.toString());
+            return;
+        }
+
+        synchronized (this) {
+            ensureCacheLoaded();
+            cacheFiles.put(cacheFile, cacheFile);
+            evict();
+        }
+    }
+
+    /**
+     * Moves a cache file to the end of the LRU order, and updates its modification time to keep that order across restarts.
+     */
+    private void markUsed(Path cacheFile) {
+        try {
+            Files.setLastModifiedTime(cacheFile, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.warn("Failed to update checksum cache file {}: {}", cacheFile, e.toString());
+        }
+        synchronized (this) {
+            ensureCacheLoaded();
+            cacheFiles.put(cacheFile, cacheFile);
+        }
+    }
+
+    private void evict() {
+        var iterator = cacheFiles.keySet().iterator();
+        while (cacheFiles.size() > maxCacheEntries && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            try {
+                Files.deleteIfExists(eldest);
+            } catch (IOException e) {
+                logger.warn("Failed to delete checksum cache file {}: {}", eldest, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the LRU order from disk, using the modification time of the files as the time of last use.
+     */
+    private void ensureCacheLoaded() {
+        if (cacheLoaded) {
+            return;
+        }
+        cacheLoaded = true;
+
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        record LoadedFile(Path path, FileTime lastUsed) {
+        }
+        var loadedFiles = new ArrayList<LoadedFile>();
+        try (var stream = Files.walk(cacheDirectory)) {
+            for (var cacheFile : stream.filter(p -> p.getFileName().toString().endsWith(".json")).toList()) {
+                loadedFiles.add(new LoadedFile(cacheFile, Files.getLastModifiedTime(cacheFile)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read checksum cache " + cacheDirectory, e);
+        }
+
+        loadedFiles.sort(Comparator.comparing(LoadedFile::lastUsed));
+        for (var loadedFile : loadedFiles) {
+            cacheFiles.put(loadedFile.path(), loadedFile.path());
+        }
+        evict();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package net.neoforged.meta.maven;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.util.HashingUtil;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+
+/**
+ * A local copy of artifacts downloaded from Maven repositories, stored below the data directory.
+ * <p>
+ * Entries are keyed by repository and artifact path. They remember the ETag and Last-Modified
+ * of the download so they can be revalidated with a conditional request, and the SHA-1 of their content
+ * to detect corruption on disk. When the total size exceeds the configured maximum, the least recently
+ * used entries are removed.
+ */
+@Component
+public class ArtifactDiskCache {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDiskCache.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final long minArtifactSize;
+    private final Path cacheDirectory;
+
+    /**
+     * All entries by key, in order of their last use.
+     */
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private boolean loaded;
+
+    /**
+     * @param etag         The ETag of the cached content, if the repository sent one.
+     * @param lastModified The Last-Modified of the cached content, if the repository sent one.
+     */
+    public record CacheEntry(String repositoryId, String path, @Nullable String etag, @Nullable Instant lastModified, String sha1, long size) {
+    }
+
+    public ArtifactDiskCache(MetaApiProperties properties) {
+        var cacheProperties = properties.getArtifactCache();
+        this.enabled = cacheProperties.isEnabled();
+        this.maxSize = cacheProperties.getMaxSize().toBytes();
+        this.minArtifactSize = cacheProperties.getMinArtifactSize().toBytes();
+        this.cacheDirectory = properties.getDataDirectory().toPath().resolve("artifact-cache");
+    }
+
+    /**
+     * Find the cache entry for an artifact, which then has to be revalidated before {@link #read reading} it.
+     */
+    @Nullable
+    public synchronized CacheEntry get(String repositoryId, String path) {
+        if (!enabled) {
+            return null;
+        }
+        ensureLoaded();
+        return entries.get(getKey(repositoryId, path));
+    }
+
+    /**
+     * Read the content of a cache entry and mark it as recently used.
+     *
+     * @return null if the content is missing or corrupted, in which case the entry is removed.
+     */
+    public byte @Nullable [] read(CacheEntry entry) {
+        var key = getKey(entry.repositoryId(), entry.path());
+        var contentFile = getContentFile(key);
+        try {
+            var content = Files.readAllBytes(contentFile);
+            if (!HashingUtil.sha1(content).equals(entry.sha1())) {
+                logger.warn("Removing corrupted cache entry for {} in repository {}", entry.path(), entry.repositoryId());
+                remove(entry.repositoryId(), entry.path());
+                return null;
+            }
+            Files.setLastModifiedTime(contentFile, FileTime.from(Instant.now()));
+            synchronized (this) {
+                entries.get(key); // Move to the end of the LRU order
+            }
+            return content;
+        } catch (IOException e) {
+            logger.warn("Failed to read cache entry for {} in repository {}: {}", entry.path(), entry.repositoryId(), e.toString());
+            remove(entry.repositoryId(), entry.path());
+            return null;
+        }
+    }
+
+    /**
+     * Open the content of a cache entry for reading and mark it as recently used, without loading it into memory.
+     * The content is checked against its SHA-1 before it is opened.
+     *
+     * @return null if the content is missing or corrupted, in which case the entry is removed.
+     */
+    public @Nullable InputStream open(CacheEntry entry) {
+        var key = getKey(entry.repositoryId(), entry.path());
+        var contentFile = getContentFile(key);
+        try {
+            if (!HashingUtil.sha1(contentFile).equals(entry.sha1())) {
+                logger.warn("Removing corrupted cache entry for {} in repository {}", entry.path(), entry.repositoryId());
+                remove(entry.repositoryId(), entry.path());
+                return null;
+            }
+            Files.setLastModifiedTime(contentFile, FileTime.from(Instant.now()));
+            synchronized (this) {
+                entries.get(key); // Move to the end of the LRU order
+            }
+            // An entry evicted while it is read stays readable through the open file
+            return Files.newInputStream(contentFile);
+        } catch (IOException e) {
+            logger.warn("Failed to read cache entry for {} in repository {}: {}", entry.path(), entry.repositoryId(), e.toString());
+            remove(entry.repositoryId(), entry.path());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether an artifact of the given size would be cached, to avoid keeping a copy of it otherwise.
+     *
+     * @param size The size of the artifact, or -1 if it is unknown.
+     */
+    public boolean accepts(long size) {
+        return enabled && size >= minArtifactSize && size <= maxSize;
+    }
+
+    public void put(String repositoryId, String path, byte[] content, @Nullable String etag, @Nullable Instant lastModified) {
+        if (!accepts(content.length) || (etag == null && lastModified == null)) {
+            return; // We can't revalidate entries without ETag or Last-Modified
+        }
+
+        var key = getKey(repositoryId, path);
+        var entry = new CacheEntry(repositoryId, path, etag, lastModified, HashingUtil.sha1(content), content.length);
+        try {
+            var contentFile = getContentFile(key);
+            Files.createDirectories(contentFile.getParent());
+            writeAtomically(contentFile, content);
+            writeAtomically(getMetadataFile(key), mapper.writeValueAsBytes(entry));
+        } catch (IOException | JacksonException e) {
+            // The cache is only an optimization
+            logger.warn("Failed to cache {} from repository {}: {}", path, repositoryId, e.toString());
+            return;
+        }
+
+        addEntry(key, entry);
+    }
+
+    /**
+     * Start caching an artifact that is written piece by piece, such as while it is streamed from a repository.
+     * The content goes to a temporary file in the cache directory, which only replaces the entry once it is
+     * {@linkplain PendingEntry#commit() committed}. Content that grows beyond the maximum size is discarded.
+     *
+     * @return null if the artifact can't be cached.
+     */
+    public @Nullable PendingEntry startPut(String repositoryId, String path, @Nullable String etag, @Nullable Instant lastModified) {
+        if (!enabled || (etag == null && lastModified == null)) {
+            return null; // We can't revalidate entries without ETag or Last-Modified
+        }
+
+        synchronized (this) {
+            // Removes temporary files left behind by an earlier run before we create our own
+            ensureLoaded();
+        }
+
+        var key = getKey(repositoryId, path);
+        var contentFile = getContentFile(key);
+        try {
+            Files.createDirectories(contentFile.getParent());
+            var tempFile = Files.createTempFile(contentFile.getParent(), contentFile.getFileName().toString(), ".tmp");
+            try {
+                return new PendingEntry(key, repositoryId, path, etag, lastModified, tempFile, Files.newOutputStream(tempFile));
+            } catch (IOException e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+        } catch (IOException e) {
+            // The cache is only an optimization
+            logger.warn("Failed to cache {} from repository {}: {}", path, repositoryId, e.toString());
+            return null;
+        }
+    }
+
+    public synchronized void remove(String repositoryId, String path) {
+        if (!enabled) {
+            return;
+        }
+        ensureLoaded();
+        var key = getKey(repositoryId, path);
+        var entry = entries.remove(key);
+        if (entry != null) {
+            totalSize -= entry.size();
+        }
+        deleteFiles(key);
+    }
+
+    /**
+     * @return The total size of all cached artifacts.
+     */
+    public synchronized long getTotalSize() {
+        ensureLoaded();
+        return totalSize;
+    }
+
+    private synchronized void addEntry(String key, CacheEntry entry) {
+        ensureLoaded();
+        var previous = entries.put(key, entry);
+        if (previous != null) {
+            totalSize -= previous.size();
+        }
+        totalSize += entry.size();
+        evict();
+    }
+
+    private void evict() {
+        var iterator = entries.entrySet().iterator();
+        while (totalSize > maxSize && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            totalSize -= eldest.getValue().size();
+            deleteFiles(eldest.getKey());
+            logger.debug("Evicted {} from repository {} from the artifact cache", eldest.getValue().path(), eldest.getValue().repositoryId());
+        }
+    }
+
+    /**
+     * Rebuilds the index from disk, using the modification time of the content as the time of last use.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        record LoadedEntry(String key, CacheEntry entry, FileTime lastUsed) {
+        }
+        var loadedEntries = new ArrayList<LoadedEntry>();
+        try (var stream = Files.walk(cacheDirectory)) {
+            var files = stream.filter(Files::isRegularFile).toList();
+            for (var tempFile : files.stream().filter(p -> p.getFileName().toString().endsWith(".tmp")).toList()) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete temporary artifact cache file {}: {}", tempFile, e.toString());
+                }
+            }
+            for (var metadataFile : files.stream().filter(p -> p.getFileName().toString().endsWith(".json")).toList()) {
+                var fileName = metadataFile.getFileName().toString();
+                var key = fileName.substring(0, fileName.length() - ".json".length());
+                try {
+                    var entry = mapper.readValue(metadataFile.toFile(), CacheEntry.class);
+                    var lastUsed = Files.getLastModifiedTime(getContentFile(key));
+                    loadedEntries.add(new LoadedEntry(key, entry, lastUsed));
+                } catch (IOException | JacksonException e) {
+                    logger.warn("Removing unreadable artifact cache entry {}: {}", key, e.toString());
+                    deleteFiles(key);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read artifact cache " + cacheDirectory, e);
+        }
+
+        loadedEntries.sort(Comparator.comparing(LoadedEntry::lastUsed));
+        for (var loadedEntry : loadedEntries) {
+            entries.put(loadedEntry.key(), loadedEntry.entry());
+            totalSize += loadedEntry.entry().size();
+        }
+        logger.info("Artifact cache contains {} artifacts with {} bytes", entries.size(), totalSize);
+        evict();
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(getMetadataFile(key));
+            Files.deleteIfExists(getContentFile(key));
+        } catch (IOException e) {
+            logger.warn("Failed to delete artifact cache entry {}: {}", key, e.toString());
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        var tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * An artifact that is being written to the cache. Closing it without committing discards the content.
+     */
+    public final class PendingEntry implements Closeable {
+        private final String key;
+        private final String repositoryId;
+        private final String path;
+        private final @Nullable String etag;
+        private final @Nullable Instant lastModified;
+        private final Path tempFile;
+        private final OutputStream out;
+        private final MessageDigest digest;
+        private long size;
+        private boolean discarded;
+
+        private PendingEntry(String key, String repositoryId, String path, @Nullable String etag, @Nullable Instant lastModified, Path tempFile, OutputStream out) {
+            this.key = key;
+            this.repositoryId = repositoryId;
+            this.path = path;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.tempFile = tempFile;
+            this.out = out;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Append content to the entry. Failures to write it only discard the entry.
+         */
+        public void write(byte[] b, int off, int len) {
+            if (discarded) {
+                return;
+            }
+            size += len;
+            if (size > maxSize) {
+                logger.debug("Not caching {} from repository {}, since it is larger than the cache", path, repositoryId);
+                close();
+                return;
+            }
+            try {
+                out.write(b, off, len);
+                digest.update(b, off, len);
+            } catch (IOException e) {
+                logger.warn("Failed to cache {} from repository {}: {}", path, repositoryId, e.toString());
+                close();
+            }
+        }
+
+        /**
+         * Replace the cache entry with the content written so far.
+         */
+        public void commit() {
+            if (discarded) {
+                return;
+            }
+            try {
+                out.close();
+                if (size < minArtifactSize) {
+                    return;
+                }
+                var entry = new CacheEntry(repositoryId, path, etag, lastModified, HexFormat.of().formatHex(digest.digest()), size);
+                Files.move(tempFile, getContentFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                writeAtomically(getMetadataFile(key), mapper.writeValueAsBytes(entry));
+                addEntry(key, entry);
+            } catch (IOException | JacksonException e) {
+                logger.warn("Failed to cache {} from repository {}: {}", path, repositoryId, e.toString());
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (discarded) {
+                return;
+            }
+            discarded = true;
+            try {
+                out.close();
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete temporary artifact cache file {}: {}", tempFile, e.toString());
+            }
+        }
+    }
+
+    private static String getKey(String repositoryId, String path) {
+        return HashingUtil.sha1(repositoryId + "\n" + path);
+    }
+
+    private Path getContentFile(String key) {
+        return cacheDirectory.resolve(key.substring(0, 2)).resolve(key + ".bin");
+    }
+
+    private Path getMetadataFile(String key) {
+        return cacheDirectory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+}
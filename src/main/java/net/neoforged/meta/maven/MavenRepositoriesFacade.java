@@ -2,6 +2,7 @@ package net.neoforged.meta.maven;
 
 import net.neoforged.meta.config.MavenRepositoryProperties;
 import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.util.HttpClientFactory;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,13 +15,20 @@ import org.springframework.web.client.RestClientException;
 import tools.jackson.core.JacksonException;
 import tools.jackson.dataformat.xml.XmlMapper;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,16 +36,20 @@ import java.util.stream.Stream;
 public class MavenRepositoriesFacade {
     private static final Logger logger = LoggerFactory.getLogger(MavenRepositoriesFacade.class);
 
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (\\d+)-\\d+/(\\d+)");
+
     private final Map<String, RestClient> restClients;
     private final tools.jackson.dataformat.xml.XmlMapper xmlMapper;
+    private final ArtifactDiskCache artifactCache;
 
-    public MavenRepositoriesFacade(MetaApiProperties properties) {
+    public MavenRepositoriesFacade(MetaApiProperties properties, HttpClientFactory httpClientFactory, ArtifactDiskCache artifactCache) {
         this.xmlMapper = new XmlMapper();
+        this.artifactCache = artifactCache;
         this.restClients = properties.getMavenRepositories().stream()
                 .collect(Collectors.toMap(
                         MavenRepositoryProperties::getId,
                         mr -> {
-                            var builder = RestClient.builder();
+                            var builder = httpClientFactory.createRestClientBuilder("maven-" + mr.getId(), mr.getHttp());
                             for (var entry : mr.getHeaders().entrySet()) {
                                 builder.defaultHeader(entry.getKey(), entry.getValue());
                             }
@@ -64,9 +76,25 @@ public class MavenRepositoriesFacade {
      * @param repositoryId The repository ID (must be configured in maven-repositories)
      * @param groupId      The Maven group ID (e.g., "net.neoforged")
      * @param artifactId   The Maven artifact ID (e.g., "neoforge")
-     * @return List of version strings, or empty list if not found or on error
+     * @return List of version strings
      */
     public List<String> listComponentVersions(String repositoryId, String groupId, String artifactId) {
+        return Objects.requireNonNull(listComponentVersionsIfModified(repositoryId, groupId, artifactId, null)).versions();
+    }
+
+    /**
+     * Retrieve the list of versions for a Maven artifact from maven-metadata.xml, unless it is unchanged
+     * compared to the given validators of a previous retrieval.
+     *
+     * @param repositoryId The repository ID (must be configured in maven-repositories)
+     * @param groupId      The Maven group ID (e.g., "net.neoforged")
+     * @param artifactId   The Maven artifact ID (e.g., "neoforge")
+     * @param validators   The validators returned by a previous call, or null to unconditionally retrieve the list.
+     * @return The versions and the validators to use for the next call, or null if the repository reports that
+     * the maven-metadata.xml has not been modified.
+     */
+    @Nullable
+    public ComponentVersions listComponentVersionsIfModified(String repositoryId, String groupId, String artifactId, @Nullable MetadataValidators validators) {
         try {
             String metadataPath = getComponentPath(groupId, artifactId) + "/maven-metadata.xml";
 
@@ -74,13 +102,27 @@ public class MavenRepositoriesFacade {
                     repositoryId, groupId, artifactId, metadataPath);
 
             // Fetch maven-metadata.xml as String
-            String xmlContent = getRestClient(repositoryId)
+            var response = getRestClient(repositoryId)
                     .get()
                     .uri(metadataPath)
                     .accept(MediaType.APPLICATION_XML)
+                    .headers(headers -> {
+                        if (validators != null && validators.etag() != null) {
+                            headers.setIfNoneMatch(validators.etag());
+                        }
+                        if (validators != null && validators.lastModified() != null) {
+                            headers.setIfModifiedSince(validators.lastModified());
+                        }
+                    })
                     .retrieve()
-                    .body(String.class);
+                    .toEntity(String.class);
+
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                logger.debug("maven-metadata.xml for {}:{} in repository '{}' is unchanged", groupId, artifactId, repositoryId);
+                return null;
+            }
 
+            String xmlContent = response.getBody();
             if (xmlContent == null || xmlContent.isBlank()) {
                 throw new RuntimeException("Empty or null maven-metadata.xml returned for " + groupId + ":" + artifactId + " in repository " + repositoryId);
             }
@@ -96,13 +138,37 @@ public class MavenRepositoriesFacade {
             }
 
             logger.info("Found {} versions for {}:{} in repository '{}'", versions.size(), groupId, artifactId, repositoryId);
-            return versions;
+            var lastModified = response.getHeaders().getLastModified();
+            return new ComponentVersions(
+                    versions,
+                    metadata.getVersioning().getLastUpdated(),
+                    new MetadataValidators(
+                            response.getHeaders().getETag(),
+                            lastModified != -1 ? Instant.ofEpochMilli(lastModified) : null
+                    )
+            );
 
         } catch (RestClientException | JacksonException e) {
             throw new RuntimeException("Error fetching versions for " + groupId + ":" + artifactId + " from repository " + repositoryId + ": " + e, e);
         }
     }
 
+    /**
+     * The versions listed in a maven-metadata.xml.
+     *
+     * @param versions    The versions in the order they are listed, which is the order they were published in.
+     * @param lastUpdated The lastUpdated timestamp of the metadata (yyyyMMddHHmmss in UTC), if present.
+     * @param validators  Used to check whether the maven-metadata.xml changed in subsequent requests.
+     */
+    public record ComponentVersions(List<String> versions, @Nullable String lastUpdated, MetadataValidators validators) {
+    }
+
+    /**
+     * HTTP cache validators of a maven-metadata.xml, as returned by the repository.
+     */
+    public record MetadataValidators(@Nullable String etag, @Nullable Instant lastModified) {
+    }
+
     public HttpHeaders headArtifact(String repositoryId, String groupId, String artifactId, String version, @Nullable String classifier, @Nullable String extension) {
         var result = headOptionalArtifact(repositoryId, groupId, artifactId, version, classifier, extension);
         if (result == null) {
@@ -137,12 +203,122 @@ public class MavenRepositoriesFacade {
     }
 
     public byte[] getArtifact(String repositoryId, String groupId, String artifactId, String version, @Nullable String classifier, @Nullable String extension) {
+        var result = getOptionalArtifact(repositoryId, groupId, artifactId, version, classifier, extension);
+        if (result == null) {
+            throw new IllegalStateException("Required artifact is missing: " + getArtifactPath(repositoryId, groupId, artifactId, version, classifier, extension));
+        }
+        return result;
+    }
+
+    /**
+     * Streams the content of an artifact to the given reader, without buffering it first.
+     * The stream is closed after the reader returns, which may be before the artifact has been fully read.
+     * <p>
+     * A cached copy of the artifact is revalidated and read from disk instead, and artifacts that the reader
+     * reads completely are added to the cache.
+     */
+    public <T> T readArtifact(String repositoryId, String groupId, String artifactId, String version, @Nullable String classifier, @Nullable String extension, Function<InputStream, T> reader) {
         String url = getArtifactPath(repositoryId, groupId, artifactId, version, classifier, extension);
 
         try {
-            return getRestClient(repositoryId).get().uri(url).retrieve().body(byte[].class);
+            var cacheEntry = artifactCache.get(repositoryId, url);
+            return getRestClient(repositoryId).get().uri(url)
+                    .headers(headers -> setValidators(headers, cacheEntry))
+                    .exchange((_, response) -> {
+                        if (cacheEntry != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            var cachedContent = artifactCache.open(cacheEntry);
+                            if (cachedContent != null) {
+                                logger.debug("Using cached copy of {} from repository '{}'", url, repositoryId);
+                                try (cachedContent) {
+                                    return reader.apply(cachedContent);
+                                }
+                            }
+                            // The cached copy was lost, opening it removed the entry, so this request is unconditional
+                            return readArtifact(repositoryId, groupId, artifactId, version, classifier, extension, reader);
+                        }
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("Unexpected status " + response.getStatusCode().value());
+                        }
+
+                        try (var body = response.getBody()) {
+                            var pendingEntry = artifactCache.accepts(response.getHeaders().getContentLength())
+                                    ? artifactCache.startPut(repositoryId, url, response.getHeaders().getETag(), getLastModified(response.getHeaders()))
+                                    : null;
+                            if (pendingEntry == null) {
+                                return reader.apply(body);
+                            }
+                            try (pendingEntry) {
+                                var recordingBody = new RecordingInputStream(body, pendingEntry);
+                                var result = reader.apply(recordingBody);
+                                if (recordingBody.isComplete()) {
+                                    pendingEntry.commit();
+                                }
+                                return result;
+                            }
+                        }
+                    });
         } catch (Exception e) {
-            throw new RuntimeException("Failed to retrieve headers from " + url + " for repository " + repositoryId, e);
+            throw new RuntimeException("Failed to read " + url + " from repository " + repositoryId, e);
+        }
+    }
+
+    /**
+     * Opens an artifact as a zip file, from which only the central directory and the entries that are actually read
+     * will be downloaded, if the repository supports range requests.
+     * <p>
+     * A cached copy of the artifact is revalidated with the first request and read from disk instead.
+     * Artifacts are only added to the cache if the repository sent the full file, since range requests
+     * only download a small part of them.
+     */
+    public RemoteZipFile openArtifactAsZip(String repositoryId, String groupId, String artifactId, String version, @Nullable String classifier, @Nullable String extension) {
+        String url = getArtifactPath(repositoryId, groupId, artifactId, version, classifier, extension);
+        var restClient = getRestClient(repositoryId);
+        var cacheEntry = artifactCache.get(repositoryId, url);
+        var revalidated = new AtomicBoolean();
+
+        try {
+            return RemoteZipFile.open(range -> restClient.get()
+                    .uri(url)
+                    .header(HttpHeaders.RANGE, range)
+                    // Offsets would refer to the encoded content otherwise
+                    .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                    .headers(headers -> {
+                        // Only the first request revalidates, since the cached copy is used for all reads if it is still valid
+                        if (!revalidated.getAndSet(true)) {
+                            setValidators(headers, cacheEntry);
+                        }
+                    })
+                    .exchange((_, response) -> {
+                        if (cacheEntry != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            var cachedContent = artifactCache.read(cacheEntry);
+                            if (cachedContent == null) {
+                                throw new IllegalStateException("Cached copy of " + url + " was lost");
+                            }
+                            logger.debug("Using cached copy of {} from repository '{}'", url, repositoryId);
+                            return RemoteZipFile.RangeResponse.full(cachedContent);
+                        }
+
+                        var body = response.getBody().readAllBytes();
+                        if (response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+                            artifactCache.put(repositoryId, url, body, response.getHeaders().getETag(), getLastModified(response.getHeaders()));
+                            return RemoteZipFile.RangeResponse.full(body);
+                        } else if (!response.getStatusCode().isSameCodeAs(HttpStatus.PARTIAL_CONTENT)) {
+                            throw new IllegalStateException("Unexpected status " + response.getStatusCode().value() + " for range " + range);
+                        }
+
+                        var contentRange = response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+                        var matcher = contentRange != null ? CONTENT_RANGE_PATTERN.matcher(contentRange) : null;
+                        if (matcher == null || !matcher.matches()) {
+                            throw new IllegalStateException("Invalid Content-Range for range " + range + ": " + contentRange);
+                        }
+                        return new RemoteZipFile.RangeResponse(true, Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), body);
+                    }));
+        } catch (Exception e) {
+            if (cacheEntry != null) {
+                // Don't keep failing on a cached copy that was lost or is corrupt
+                artifactCache.remove(repositoryId, url);
+            }
+            throw new RuntimeException("Failed to open " + url + " from repository " + repositoryId + " as a zip file", e);
         }
     }
 
@@ -151,12 +327,107 @@ public class MavenRepositoriesFacade {
         String url = getArtifactPath(repositoryId, groupId, artifactId, version, classifier, extension);
 
         try {
-            return getRestClient(repositoryId).get().uri(url).retrieve()
+            var cacheEntry = artifactCache.get(repositoryId, url);
+            var entity = getRestClient(repositoryId).get().uri(url)
+                    .headers(headers -> setValidators(headers, cacheEntry))
+                    .retrieve()
                     .onStatus(HttpStatus.NOT_FOUND::isSameCodeAs, (_, _) -> {
                     })
-                    .body(byte[].class);
+                    .toEntity(byte[].class);
+
+            if (entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                artifactCache.remove(repositoryId, url);
+                return null;
+            }
+
+            if (cacheEntry != null && entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                var cachedContent = artifactCache.read(cacheEntry);
+                if (cachedContent != null) {
+                    logger.debug("Using cached copy of {} from repository '{}'", url, repositoryId);
+                    return cachedContent;
+                }
+                // The cached copy was lost, the read above removed the entry, so this request is unconditional
+                return getOptionalArtifact(repositoryId, groupId, artifactId, version, classifier, extension);
+            }
+
+            var body = entity.getBody();
+            if (body != null) {
+                artifactCache.put(repositoryId, url, body, entity.getHeaders().getETag(), getLastModified(entity.getHeaders()));
+            }
+            return body;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to retrieve headers from " + url + " for repository " + repositoryId, e);
+            throw new RuntimeException("Failed to retrieve " + url + " from repository " + repositoryId, e);
+        }
+    }
+
+    /**
+     * Makes a request conditional on the cached copy of an artifact being outdated.
+     */
+    private static void setValidators(HttpHeaders headers, ArtifactDiskCache.@Nullable CacheEntry cacheEntry) {
+        if (cacheEntry != null && cacheEntry.etag() != null) {
+            headers.setIfNoneMatch(cacheEntry.etag());
+        }
+        if (cacheEntry != null && cacheEntry.lastModified() != null) {
+            headers.setIfModifiedSince(cacheEntry.lastModified());
+        }
+    }
+
+    private static @Nullable Instant getLastModified(HttpHeaders headers) {
+        var lastModified = headers.getLastModified();
+        return lastModified != -1 ? Instant.ofEpochMilli(lastModified) : null;
+    }
+
+    /**
+     * Copies everything read from a stream to a pending cache entry, to commit it once it has been read completely.
+     */
+    private static final class RecordingInputStream extends FilterInputStream {
+        private final ArtifactDiskCache.PendingEntry pendingEntry;
+        private boolean complete;
+
+        RecordingInputStream(InputStream in, ArtifactDiskCache.PendingEntry pendingEntry) {
+            super(in);
+            this.pendingEntry = pendingEntry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                complete = true;
+            } else {
+                pendingEntry.write(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n == -1) {
+                complete = true;
+            } else {
+                pendingEntry.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes would be missing from the copy
+            var buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                var read = read(buffer, 0, (int) Math.min(n - skipped, buffer.length));
+                if (read == -1) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        boolean isComplete() {
+            return complete;
         }
     }
 
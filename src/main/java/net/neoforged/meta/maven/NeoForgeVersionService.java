@@ -41,6 +41,18 @@ public class NeoForgeVersionService {
         return null;
     }
 
+    /**
+     * Finds the ID and modification time of a version without loading it.
+     */
+    public SoftwareComponentVersionDao.@Nullable NeoForgeVersionInfo getVersionInfo(String version) {
+        var info = dao.findNeoForgeVersionInfo(NeoForgeVersion.GROUP_ID, NeoForgeVersion.NEOFORGE_ARTIFACT_ID, version);
+        if (info != null) {
+            return info;
+        }
+
+        return dao.findNeoForgeVersionInfo(NeoForgeVersion.GROUP_ID, NeoForgeVersion.FORGE_ARTIFACT_ID, version);
+    }
+
     /**
      * {@return a map from minecraft version to latest NF version available}
      */
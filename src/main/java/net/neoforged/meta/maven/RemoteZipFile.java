@@ -0,0 +1,269 @@
+package net.neoforged.meta.maven;
+
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Random access to the entries of a zip file on a remote server, using HTTP range requests.
+ * <p>
+ * Opening the file reads the end of central directory record and the central directory,
+ * and each entry is only fetched when it is read. If the server does not honor range requests,
+ * the full content it sent instead is used.
+ * <p>
+ * Zip64 archives are not supported.
+ */
+public final class RemoteZipFile {
+    /**
+     * Enough to include the end of central directory record, even with a comment of maximum length.
+     */
+    private static final int MAX_EOCD_SIZE = 22 + 0xFFFF;
+    /**
+     * How much to read beyond an entry's data offset computed from the central directory, since the local header
+     * may have a longer extra field than the central directory. Avoids a second request in most cases.
+     */
+    private static final int LOCAL_EXTRA_SLACK = 128;
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    /**
+     * Fetches a byte range of the remote file.
+     */
+    @FunctionalInterface
+    public interface RangeFetcher {
+        /**
+         * @param range The value of the Range header, i.e. {@code bytes=0-99} or {@code bytes=-100}.
+         */
+        RangeResponse fetch(String range);
+    }
+
+    /**
+     * The response to a range request.
+     *
+     * @param partial   True if the server only sent the requested range, false if it sent the full content.
+     * @param start     The offset of {@code content} within the file.
+     * @param totalSize The size of the full file.
+     */
+    public record RangeResponse(boolean partial, long start, long totalSize, byte[] content) {
+        public static RangeResponse full(byte[] content) {
+            return new RangeResponse(false, 0, content.length, content);
+        }
+    }
+
+    private record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset,
+                         int nameLength, int extraLength) {
+    }
+
+    private final RangeFetcher fetcher;
+    private long totalSize;
+    /**
+     * Set once the server sent the full content, after which no further requests are made.
+     */
+    private byte @Nullable [] content;
+    private Map<String, Entry> entries = Map.of();
+    private int requests;
+
+    private RemoteZipFile(RangeFetcher fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    public static RemoteZipFile open(RangeFetcher fetcher) {
+        var zipFile = new RemoteZipFile(fetcher);
+        var tail = zipFile.fetch("bytes=-" + MAX_EOCD_SIZE);
+        zipFile.readCentralDirectory(tail);
+        return zipFile;
+    }
+
+    /**
+     * @return The names of all entries in the zip file, in the order of the central directory.
+     */
+    public Set<String> getEntryNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @return True if the server didn't honor the range requests and the full file had to be downloaded.
+     */
+    public boolean isFullyDownloaded() {
+        return content != null;
+    }
+
+    /**
+     * @return The number of requests made to the server so far.
+     */
+    public int getRequests() {
+        return requests;
+    }
+
+    /**
+     * Reads the uncompressed content of an entry.
+     *
+     * @return null if no such entry exists
+     */
+    public byte @Nullable [] readEntry(String name) {
+        var entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+
+        var generationContent = content;
+        long minLength = LOCAL_HEADER_SIZE + entry.nameLength() + entry.extraLength() + entry.compressedSize();
+        var local = read(entry.localHeaderOffset(), Math.min(minLength + LOCAL_EXTRA_SLACK, totalSize - entry.localHeaderOffset()));
+        if (generationContent == null && content != null) {
+            // The server sent the full file instead of a range, which may differ from the one we read the directory from
+            readCentralDirectory(RangeResponse.full(content));
+            return readEntry(name);
+        }
+
+        if (local.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IllegalStateException("Invalid local header for zip entry " + name);
+        }
+        int dataOffset = LOCAL_HEADER_SIZE + Short.toUnsignedInt(local.getShort(26)) + Short.toUnsignedInt(local.getShort(28));
+        byte[] compressed;
+        if (dataOffset + entry.compressedSize() <= local.limit()) {
+            compressed = new byte[(int) entry.compressedSize()];
+            local.get(dataOffset, compressed);
+        } else {
+            var data = read(entry.localHeaderOffset() + dataOffset, entry.compressedSize());
+            compressed = new byte[data.remaining()];
+            data.get(compressed);
+        }
+
+        var uncompressed = switch (entry.method()) {
+            case 0 -> compressed;
+            case 8 -> inflate(entry, compressed);
+            default -> throw new IllegalStateException("Unsupported compression method " + entry.method() + " for zip entry " + name);
+        };
+
+        var crc = new CRC32();
+        crc.update(uncompressed);
+        if (crc.getValue() != entry.crc()) {
+            throw new IllegalStateException("CRC mismatch for zip entry " + name);
+        }
+        return uncompressed;
+    }
+
+    private static byte[] inflate(Entry entry, byte[] compressed) {
+        var inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            var result = new byte[Math.toIntExact(entry.size())];
+            int read = 0;
+            while (read < result.length && !inflater.finished()) {
+                int n = inflater.inflate(result, read, result.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != result.length) {
+                throw new IllegalStateException("Zip entry " + entry.name() + " is truncated");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Zip entry " + entry.name() + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void readCentralDirectory(RangeResponse tail) {
+        var tailBuffer = ByteBuffer.wrap(tail.content()).order(ByteOrder.LITTLE_ENDIAN);
+        int eocdPos = -1;
+        for (int i = tailBuffer.limit() - 22; i >= 0; i--) {
+            if (tailBuffer.getInt(i) == EOCD_SIGNATURE) {
+                eocdPos = i;
+                break;
+            }
+        }
+        if (eocdPos == -1) {
+            throw new IllegalStateException("Could not find end of central directory record");
+        }
+
+        int entryCount = Short.toUnsignedInt(tailBuffer.getShort(eocdPos + 10));
+        long directorySize = Integer.toUnsignedLong(tailBuffer.getInt(eocdPos + 12));
+        long directoryOffset = Integer.toUnsignedLong(tailBuffer.getInt(eocdPos + 16));
+        if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            throw new IllegalStateException("Zip64 archives are not supported");
+        }
+
+        ByteBuffer directory;
+        if (directoryOffset >= tail.start()) {
+            directory = tailBuffer.slice((int) (directoryOffset - tail.start()), (int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            // Only fetch the part of the directory that precedes what we already have
+            var head = read(directoryOffset, tail.start() - directoryOffset);
+            if (content != null) {
+                directory = ByteBuffer.wrap(content, (int) directoryOffset, (int) directorySize).slice().order(ByteOrder.LITTLE_ENDIAN);
+            } else {
+                directory = ByteBuffer.allocate((int) directorySize).order(ByteOrder.LITTLE_ENDIAN)
+                        .put(head)
+                        .put(tailBuffer.slice(0, (int) (directorySize - head.capacity())))
+                        .flip();
+            }
+        }
+
+        var result = new LinkedHashMap<String, Entry>(entryCount);
+        int pos = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (directory.getInt(pos) != CENTRAL_HEADER_SIGNATURE) {
+                throw new IllegalStateException("Invalid central directory header at index " + i);
+            }
+            int nameLength = Short.toUnsignedInt(directory.getShort(pos + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(pos + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(pos + 32));
+            var nameBytes = new byte[nameLength];
+            directory.get(pos + CENTRAL_HEADER_SIZE, nameBytes);
+            var name = new String(nameBytes, StandardCharsets.UTF_8);
+            result.put(name, new Entry(
+                    name,
+                    Short.toUnsignedInt(directory.getShort(pos + 10)),
+                    Integer.toUnsignedLong(directory.getInt(pos + 16)),
+                    Integer.toUnsignedLong(directory.getInt(pos + 20)),
+                    Integer.toUnsignedLong(directory.getInt(pos + 24)),
+                    Integer.toUnsignedLong(directory.getInt(pos + 42)),
+                    nameLength,
+                    extraLength
+            ));
+            pos += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        this.entries = result;
+    }
+
+    private ByteBuffer read(long offset, long length) {
+        if (content == null) {
+            var response = fetch("bytes=" + offset + "-" + (offset + length - 1));
+            if (response.partial()) {
+                if (response.start() != offset || response.content().length != length) {
+                    throw new IllegalStateException("Server returned range starting at " + response.start() + " with length "
+                                                    + response.content().length + ", but " + offset + "+" + length + " was requested");
+                }
+                return ByteBuffer.wrap(response.content()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return ByteBuffer.wrap(content, Math.toIntExact(offset), Math.toIntExact(length)).slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private RangeResponse fetch(String range) {
+        requests++;
+        var response = fetcher.fetch(range);
+        if (!response.partial()) {
+            content = response.content();
+        }
+        totalSize = response.totalSize();
+        return response;
+    }
+}
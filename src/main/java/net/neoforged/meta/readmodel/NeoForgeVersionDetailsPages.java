@@ -0,0 +1,186 @@
+package net.neoforged.meta.readmodel;
+
+import net.neoforged.meta.config.MavenRepositoryProperties;
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.db.SoftwareComponentVersionDao.ArtifactEntry;
+import net.neoforged.meta.db.SoftwareComponentVersionDao.NeoForgeVersionPageEntry;
+import net.neoforged.meta.generated.model.ReleaseNotes;
+import net.neoforged.meta.generated.model.SoftwareComponentArtifact;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serializes the details of many NeoForge versions at once, for tools that mirror the metadata.
+ * <p>
+ * A page is read with one query for the versions and one for each requested optional field, instead of loading
+ * the entities of every version, and written to JSON directly from the query results.
+ * Pages are ordered by the ID of the versions, so that versions discovered while paging through them
+ * end up on the last page instead of shifting the pages.
+ */
+@Service
+public class NeoForgeVersionDetailsPages {
+    private final SoftwareComponentVersionDao versionDao;
+    private final MetaApiProperties apiProperties;
+    private final JsonMapper jsonMapper;
+
+    public NeoForgeVersionDetailsPages(SoftwareComponentVersionDao versionDao,
+                                       MetaApiProperties apiProperties,
+                                       JsonMapper jsonMapper) {
+        this.versionDao = versionDao;
+        this.apiProperties = apiProperties;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The maximum number of versions in the page.
+     * @param fields The optional fields to include for each version.
+     * @return The page serialized as JSON.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    public byte[] getPage(@Nullable String cursor, int limit, Set<Field> fields) {
+        var versions = versionDao.findNeoForgeVersionPage(parseCursor(cursor), Limit.of(limit + 1));
+        String nextCursor = null;
+        if (versions.size() > limit) {
+            versions = versions.subList(0, limit);
+            nextCursor = Long.toString(versions.getLast().id());
+        }
+
+        var versionIds = versions.stream().map(NeoForgeVersionPageEntry::id).toList();
+        Map<Long, List<ArtifactEntry>> artifacts = Map.of();
+        if (fields.contains(Field.ARTIFACTS) && !versionIds.isEmpty()) {
+            artifacts = versionDao.findArtifactsByVersionIds(versionIds).stream()
+                    .collect(Collectors.groupingBy(ArtifactEntry::versionId));
+        }
+        Map<Long, ReleaseNotes> releaseNotes = Map.of();
+        if (fields.contains(Field.RELEASE_NOTES) && !versionIds.isEmpty()) {
+            releaseNotes = versionDao.findReleaseNotesByVersionIds(versionIds).stream()
+                    .collect(Collectors.toMap(SoftwareComponentVersionDao.ReleaseNotesEntry::versionId, notes -> new ReleaseNotes(notes.text(), notes.markdown())));
+        }
+        var repositories = apiProperties.getMavenRepositories().stream()
+                .collect(Collectors.toMap(MavenRepositoryProperties::getId, Function.identity()));
+
+        var out = new ByteArrayOutputStream();
+        try (var generator = jsonMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayPropertyStart("versions");
+            for (var version : versions) {
+                writeVersion(generator, version, fields, repositories, artifacts.getOrDefault(version.id(), List.of()), releaseNotes.get(version.id()));
+            }
+            generator.writeEndArray();
+            generator.writeStringProperty("next_cursor", nextCursor);
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeVersion(JsonGenerator generator,
+                                     NeoForgeVersionPageEntry version,
+                                     Set<Field> fields,
+                                     Map<String, MavenRepositoryProperties> repositories,
+                                     List<ArtifactEntry> artifacts,
+                                     @Nullable ReleaseNotes releaseNotes) {
+        generator.writeStartObject();
+        generator.writeStringProperty("group_id", version.groupId());
+        generator.writeStringProperty("artifact_id", version.artifactId());
+        generator.writeStringProperty("version", version.version());
+        generator.writePOJOProperty("released", version.released().atOffset(ZoneOffset.UTC));
+        generator.writePOJOProperty("last_modified", version.lastModified().atOffset(ZoneOffset.UTC));
+        generator.writeStringProperty("minecraft_version", version.minecraftVersion());
+
+        if (fields.contains(Field.ARTIFACTS)) {
+            var repository = repositories.get(version.repository());
+            if (repository == null) {
+                throw new IllegalStateException("Version " + version.version() + " references unknown repository " + version.repository());
+            }
+            var artifactDetails = new ArrayList<SoftwareComponentArtifact>(artifacts.size());
+            for (var artifact : artifacts) {
+                artifactDetails.add(new SoftwareComponentArtifact(
+                        artifact.classifier(),
+                        artifact.extension(),
+                        artifact.size(),
+                        artifact.lastModified().atOffset(ZoneOffset.UTC),
+                        repository.getDownloadUrl(artifact.relativePath()),
+                        artifact.md5Checksum(),
+                        artifact.sha1Checksum(),
+                        artifact.sha256Checksum(),
+                        artifact.sha512Checksum()
+                ));
+            }
+            generator.writePOJOProperty("artifacts", artifactDetails);
+        }
+        if (fields.contains(Field.RELEASE_NOTES)) {
+            generator.writePOJOProperty("release_notes", releaseNotes);
+        }
+        generator.writeEndObject();
+    }
+
+    private static long parseCursor(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * The fields of the version details that are only included if requested.
+     */
+    public enum Field {
+        ARTIFACTS("artifacts"),
+        RELEASE_NOTES("release_notes");
+
+        private final String name;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Parses a comma-separated list of field names.
+         *
+         * @return All fields if the list is null.
+         * @throws IllegalArgumentException If the list contains an unknown field.
+         */
+        public static Set<Field> parseList(@Nullable String list) {
+            if (list == null) {
+                return EnumSet.allOf(Field.class);
+            }
+            var fields = EnumSet.noneOf(Field.class);
+            var byName = new HashMap<String, Field>();
+            for (var field : values()) {
+                byName.put(field.name, field);
+            }
+            for (var name : list.split(",")) {
+                name = name.strip();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                var field = byName.get(name);
+                if (field == null) {
+                    throw new IllegalArgumentException("Unknown field: " + name);
+                }
+                fields.add(field);
+            }
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package net.neoforged.meta.readmodel;
+
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.generated.model.MinecraftVersionSummary;
+import net.neoforged.meta.generated.model.NeoForgeVersionSummary;
+import net.neoforged.meta.util.HashingUtil;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed responses for the lists of all Minecraft and NeoForge versions, which launchers request on every start.
+ * <p>
+ * The lists are built from projections instead of entities and each row is serialized as it is read, so that
+ * building them takes little memory no matter how many versions there are. Whatever changes versions calls
+ * {@link #invalidate()}, and the lists are rebuilt on the next request, so that importing many versions in a row
+ * does not rebuild them for every version.
+ */
+@Service
+public class VersionListCache {
+    private final MinecraftVersionDao minecraftVersionDao;
+    private final SoftwareComponentVersionDao versionDao;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Incremented for every change, so that lists built concurrently with a change are not used afterward.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    @Nullable
+    private volatile Snapshot snapshot;
+
+    public VersionListCache(MinecraftVersionDao minecraftVersionDao,
+                            SoftwareComponentVersionDao versionDao,
+                            PlatformTransactionManager transactionManager,
+                            JsonMapper jsonMapper) {
+        this.minecraftVersionDao = minecraftVersionDao;
+        this.versionDao = versionDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public SerializedList getMinecraftVersions() {
+        return getSnapshot().minecraftVersions();
+    }
+
+    public SerializedList getNeoForgeVersions() {
+        return getSnapshot().neoForgeVersions();
+    }
+
+    /**
+     * Discards the lists once the current transaction commits, or immediately if there is none.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    private Snapshot getSnapshot() {
+        var current = snapshot;
+        if (current != null && current.generation() == generation.get()) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            var currentGeneration = generation.get();
+            if (current == null || current.generation() != currentGeneration) {
+                current = transactionTemplate.execute(ignored -> build(currentGeneration));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private Snapshot build(long generation) {
+        var latestNeoForgeVersions = new HashMap<String, String>();
+        for (var latest : versionDao.findLatestNeoForgeVersionNames()) {
+            latestNeoForgeVersions.putIfAbsent(latest.minecraftVersion(), latest.version());
+        }
+
+        var neoForgeVersions = new ListWriter();
+        try (var versions = versionDao.streamNeoForgeVersionListEntries()) {
+            versions.forEach(version -> neoForgeVersions.write(new NeoForgeVersionSummary(
+                    version.version(),
+                    version.released().atOffset(ZoneOffset.UTC),
+                    version.lastModified().atOffset(ZoneOffset.UTC),
+                    version.minecraftVersion()
+            ), version.lastModified()));
+        }
+
+        // The Minecraft versions list the latest NeoForge version for each of them
+        var minecraftVersions = new ListWriter();
+        minecraftVersions.lastModified = neoForgeVersions.lastModified;
+        try (var versions = minecraftVersionDao.streamVersionListEntries()) {
+            versions.forEach(version -> minecraftVersions.write(new MinecraftVersionSummary(
+                    version.version(),
+                    version.type(),
+                    version.released().atOffset(ZoneOffset.UTC),
+                    version.lastModified().atOffset(ZoneOffset.UTC),
+                    latestNeoForgeVersions.get(version.version())
+            ), version.lastModified()));
+        }
+
+        return new Snapshot(generation, minecraftVersions.finish(), neoForgeVersions.finish());
+    }
+
+    /**
+     * Writes a list to JSON one item at a time as the rows are read, so that building a list
+     * does not hold all of its items in memory at once.
+     */
+    private final class ListWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final JsonGenerator generator = jsonMapper.createGenerator(out);
+        @Nullable
+        private Instant lastModified;
+
+        ListWriter() {
+            generator.writeStartArray();
+        }
+
+        void write(Object item, Instant itemLastModified) {
+            generator.writePOJO(item);
+            if (lastModified == null || itemLastModified.isAfter(lastModified)) {
+                lastModified = itemLastModified;
+            }
+        }
+
+        SerializedList finish() {
+            generator.writeEndArray();
+            generator.close();
+            var json = out.toByteArray();
+            return new SerializedList(json, "\"" + HashingUtil.sha1(json) + "\"", lastModified);
+        }
+    }
+
+    /**
+     * @param json         The list serialized as JSON. Must not be modified.
+     * @param eTag         The strong entity tag of the serialized list, including quotes.
+     * @param lastModified When the most recently modified version in the list was modified, or null if it is empty.
+     *                     Versions that were removed do not count, so clients should prefer the entity tag.
+     */
+    public record SerializedList(byte[] json, String eTag, @Nullable Instant lastModified) {
+        /**
+         * Builds a response with the serialized list, for endpoints declared to return the list itself.
+         * The byte array message converter writes it as is, regardless of the declared type.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> ResponseEntity<T> toResponse() {
+            var response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(eTag);
+            if (lastModified != null) {
+                response.lastModified(lastModified.toEpochMilli());
+            }
+            return (ResponseEntity<T>) response.body(json);
+        }
+    }
+
+    private record Snapshot(long generation, SerializedList minecraftVersions, SerializedList neoForgeVersions) {
+    }
+}
@@ -1,6 +1,7 @@
 package net.neoforged.meta.ui;
 
 import net.neoforged.meta.db.BrokenSoftwareComponentVersionDao;
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
@@ -17,9 +18,11 @@ import java.util.List;
 @Controller
 public class BrokenVersionsController {
     private final BrokenSoftwareComponentVersionDao dao;
+    private final ComponentDiscoveryStateDao discoveryStateDao;
 
-    public BrokenVersionsController(BrokenSoftwareComponentVersionDao dao) {
+    public BrokenVersionsController(BrokenSoftwareComponentVersionDao dao, ComponentDiscoveryStateDao discoveryStateDao) {
         this.dao = dao;
+        this.discoveryStateDao = discoveryStateDao;
     }
 
     @GetMapping("/ui/broken-versions")
@@ -35,6 +38,8 @@ public class BrokenVersionsController {
     @Transactional
     public String retryBrokenVersion(RedirectAttributes redirectAttributes) {
         var count = dao.retryAll();
+        // Discovery would otherwise skip components whose version list didn't change
+        discoveryStateDao.invalidateAll();
         redirectAttributes.addFlashAttribute("successMessage", "Successfully flagged " + count + " versions for retry.");
         return "redirect:/ui/broken-versions";
     }
@@ -67,6 +72,8 @@ public class BrokenVersionsController {
         }
 
         version.setRetry(true);
+        // Discovery would otherwise skip the component if its version list didn't change
+        discoveryStateDao.invalidateByGA(version.getGroupId(), version.getArtifactId());
 
         redirectAttributes.addAttribute("groupId", version.getGroupId());
         redirectAttributes.addAttribute("artifactId", version.getArtifactId());
@@ -4,6 +4,7 @@ import net.neoforged.meta.util.TimeFormatter;
 import org.jspecify.annotations.Nullable;
 import org.springframework.scheduling.config.TaskExecutionOutcome.Status;
 
+import java.time.Duration;
 import java.time.Instant;
 
 public record JobModel(
@@ -11,7 +12,8 @@ public record JobModel(
         @Nullable Instant nextExecution,
         @Nullable Instant lastExecution,
         Status lastStatus,
-        @Nullable Throwable lastError) {
+        @Nullable Throwable lastError,
+        @Nullable Duration currentInterval) {
 
     public String relativeNextExecution() {
         return TimeFormatter.formatRelativeTime(nextExecution);
@@ -28,4 +30,8 @@ public record JobModel(
     public String absoluteLastExecution() {
         return TimeFormatter.formatAbsoluteTime(lastExecution);
     }
+
+    public String formattedCurrentInterval() {
+        return TimeFormatter.formatDuration(currentInterval);
+    }
 }
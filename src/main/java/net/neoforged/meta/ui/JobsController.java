@@ -1,9 +1,16 @@
 package net.neoforged.meta.ui;
 
+import net.neoforged.meta.jobs.AdaptiveTrigger;
+import net.neoforged.meta.jobs.JobRunner;
+import net.neoforged.meta.jobs.MavenVersionDiscoveryJob;
 import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.config.TriggerTask;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -11,9 +18,13 @@ import java.util.Collection;
 @Controller
 public class JobsController {
     private final Collection<ScheduledTaskHolder> scheduledTaskHolders;
+    private final MavenVersionDiscoveryJob mavenVersionDiscoveryJob;
+    private final JobRunner jobRunner;
 
-    public JobsController(Collection<ScheduledTaskHolder> scheduledTaskHolders) {
+    public JobsController(Collection<ScheduledTaskHolder> scheduledTaskHolders, MavenVersionDiscoveryJob mavenVersionDiscoveryJob, JobRunner jobRunner) {
         this.scheduledTaskHolders = scheduledTaskHolders;
+        this.mavenVersionDiscoveryJob = mavenVersionDiscoveryJob;
+        this.jobRunner = jobRunner;
     }
 
     @GetMapping("/ui/jobs")
@@ -24,18 +35,34 @@ public class JobsController {
             for (var task : scheduledTaskHolder.getScheduledTasks()) {
                 var nextExecution = task.nextExecution();
                 var lastOutcome = task.getTask().getLastExecutionOutcome();
+                var currentInterval = task.getTask() instanceof TriggerTask triggerTask && triggerTask.getTrigger() instanceof AdaptiveTrigger adaptiveTrigger
+                        ? adaptiveTrigger.getCurrentInterval()
+                        : null;
                 jobs.add(new JobModel(
                         task.toString(),
                         nextExecution,
                         lastOutcome.executionTime(),
                         lastOutcome.status(),
-                        lastOutcome.throwable()
+                        lastOutcome.throwable(),
+                        currentInterval
                 ));
             }
         }
 
         model.addAttribute("jobs", jobs);
+        model.addAttribute("componentReports", mavenVersionDiscoveryJob.getLastReports());
 
         return "jobs";
     }
+
+    @PostMapping(value = "/ui/jobs", params = "action=run")
+    public String runJob(@RequestParam("job") String jobName, RedirectAttributes redirectAttributes) {
+        if (!jobRunner.runNow(jobName)) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Unknown job: " + jobName);
+            return "redirect:/ui/jobs";
+        }
+
+        redirectAttributes.addFlashAttribute("successMessage", "Started " + jobName + ".");
+        return "redirect:/ui/jobs";
+    }
 }
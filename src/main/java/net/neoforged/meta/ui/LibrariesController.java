@@ -0,0 +1,40 @@
+package net.neoforged.meta.ui;
+
+import net.neoforged.meta.db.LibraryArtifactDao;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+public class LibrariesController {
+    private static final int PAGE_SIZE = 100;
+
+    private final LibraryArtifactDao libraryArtifactDao;
+
+    public LibrariesController(LibraryArtifactDao libraryArtifactDao) {
+        this.libraryArtifactDao = libraryArtifactDao;
+    }
+
+    @GetMapping("/ui/libraries")
+    @Transactional(readOnly = true)
+    public String libraryUsages(@RequestParam(value = "groupId", required = false) @Nullable String groupId,
+                                @RequestParam(value = "artifactId", required = false) @Nullable String artifactId,
+                                @RequestParam(value = "versionPrefix", required = false) @Nullable String versionPrefix,
+                                @RequestParam(value = "page", defaultValue = "0") int page,
+                                Model model) {
+        model.addAttribute("groupId", groupId != null ? groupId : "");
+        model.addAttribute("artifactId", artifactId != null ? artifactId : "");
+        model.addAttribute("versionPrefix", versionPrefix != null ? versionPrefix : "");
+
+        if (groupId != null && !groupId.isBlank() && artifactId != null && !artifactId.isBlank()) {
+            var usages = libraryArtifactDao.findUsagesByVersionPrefix(groupId.trim(), artifactId.trim(), versionPrefix, PageRequest.of(Math.max(0, page), PAGE_SIZE));
+            model.addAttribute("usages", usages);
+        }
+
+        return "libraries";
+    }
+}
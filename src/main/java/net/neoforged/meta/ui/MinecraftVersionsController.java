@@ -1,5 +1,7 @@
 package net.neoforged.meta.ui;
 
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
+import net.neoforged.meta.db.MinecraftVersion;
 import net.neoforged.meta.db.MinecraftVersionDao;
 import net.neoforged.meta.maven.NeoForgeVersionService;
 import org.springframework.data.domain.Sort;
@@ -18,10 +20,14 @@ import java.util.stream.Collectors;
 public class MinecraftVersionsController {
     private final MinecraftVersionDao minecraftVersionDao;
     private final NeoForgeVersionService neoForgeVersionService;
+    private final ComponentDiscoveryStateDao discoveryStateDao;
 
-    public MinecraftVersionsController(MinecraftVersionDao minecraftVersionDao, NeoForgeVersionService neoForgeVersionService) {
+    public MinecraftVersionsController(MinecraftVersionDao minecraftVersionDao,
+                                       NeoForgeVersionService neoForgeVersionService,
+                                       ComponentDiscoveryStateDao discoveryStateDao) {
         this.minecraftVersionDao = minecraftVersionDao;
         this.neoForgeVersionService = neoForgeVersionService;
+        this.discoveryStateDao = discoveryStateDao;
     }
 
     @GetMapping("/ui/minecraft-versions")
@@ -58,6 +64,8 @@ public class MinecraftVersionsController {
     @Transactional
     public String reimportVersion(@PathVariable String version, RedirectAttributes redirect) {
         minecraftVersionDao.setReimportForVersion(version);
+        // Discovery would otherwise skip the version if the launcher manifest didn't change
+        discoveryStateDao.invalidateByGA(MinecraftVersion.MINECRAFT_GROUP_ID, MinecraftVersion.MINECRAFT_ARTIFACT_ID);
         redirect.addFlashAttribute("successMessage", "Reimport has been flagged");
         return "redirect:/ui/minecraft-versions/version/{version}";
     }
@@ -0,0 +1,89 @@
+package net.neoforged.meta.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Trains preset dictionaries for deflate from sample documents.
+ * <p>
+ * The documents are split into pieces at JSON structure characters, which is independent of where a piece
+ * is located in a document. Pieces that occur in many documents save the most space and are put at the end
+ * of the dictionary, where deflate references them with the shortest distances.
+ */
+public final class CompressionDictionaryTrainer {
+    /**
+     * Deflate can only reference the last 32 KiB of a preset dictionary.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * Shorter pieces are cheaper to encode as literals than as references.
+     */
+    private static final int MIN_PIECE_LENGTH = 8;
+
+    private CompressionDictionaryTrainer() {
+    }
+
+    public static byte[] train(List<String> samples, int maxSize) {
+        maxSize = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+
+        // Count in how many documents each piece occurs
+        var documentCounts = new HashMap<String, Integer>();
+        for (var sample : samples) {
+            for (var piece : new HashSet<>(split(sample))) {
+                documentCounts.merge(piece, 1, Integer::sum);
+            }
+        }
+
+        // Pieces that only occur in one document are unlikely to occur in future documents
+        var candidates = new ArrayList<Candidate>();
+        for (var entry : documentCounts.entrySet()) {
+            if (entry.getValue() > 1) {
+                var bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                candidates.add(new Candidate(bytes, (long) entry.getValue() * bytes.length));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Candidate::score).reversed());
+
+        var selected = new ArrayList<Candidate>();
+        var size = 0;
+        for (var candidate : candidates) {
+            if (size + candidate.bytes().length <= maxSize) {
+                selected.add(candidate);
+                size += candidate.bytes().length;
+            }
+        }
+
+        var dictionary = new ByteArrayOutputStream(size);
+        for (var candidate : selected.reversed()) {
+            dictionary.writeBytes(candidate.bytes());
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static List<String> split(String document) {
+        var pieces = new ArrayList<String>();
+        var start = 0;
+        for (var i = 0; i < document.length(); i++) {
+            var c = document.charAt(i);
+            if (c == ',' || c == '{' || c == '[' || c == '\n') {
+                if (i + 1 - start >= MIN_PIECE_LENGTH) {
+                    pieces.add(document.substring(start, i + 1));
+                }
+                start = i + 1;
+            }
+        }
+        if (document.length() - start >= MIN_PIECE_LENGTH) {
+            pieces.add(document.substring(start));
+        }
+        return pieces;
+    }
+
+    private record Candidate(byte[] bytes, long score) {
+    }
+}
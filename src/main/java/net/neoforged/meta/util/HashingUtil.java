@@ -1,17 +1,30 @@
 package net.neoforged.meta.util;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.DigestInputStream;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public final class HashingUtil {
+    /**
+     * Digests are updated from a heap array, since {@link MessageDigest} copies direct buffers
+     * into a small temporary array anyway. A large buffer keeps the number of reads low.
+     */
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
     private HashingUtil() {
     }
 
@@ -36,37 +49,86 @@ public final class HashingUtil {
     }
 
     public static String hashFile(Path path, String algorithm) throws IOException {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+        return hashFile(path, List.of(algorithm)).get(algorithm);
+    }
 
-        try (var in = Files.newInputStream(path);
-             var din = new DigestInputStream(in, digest)) {
-            byte[] buffer = new byte[8192];
-            while (din.read(buffer) != -1) {
+    /**
+     * Hashes a file with several algorithms, while only reading it once.
+     *
+     * @return The hex-encoded digests, keyed by algorithm in the order they were given.
+     */
+    public static Map<String, String> hashFile(Path path, Collection<String> algorithms) throws IOException {
+        var digests = createDigests(algorithms);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                for (var digest : digests.values()) {
+                    digest.update(buffer.array(), 0, buffer.position());
+                }
+                buffer.clear();
             }
         }
+        return finish(digests);
+    }
 
-        return HexFormat.of().formatHex(digest.digest());
+    /**
+     * Hashes the remaining content of a stream with several algorithms, while only reading it once.
+     * The stream is not closed.
+     *
+     * @return The hex-encoded digests, keyed by algorithm in the order they were given.
+     */
+    public static Map<String, String> hash(InputStream in, Collection<String> algorithms) throws IOException {
+        var digests = createDigests(algorithms);
+        var buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+            for (var digest : digests.values()) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return finish(digests);
     }
 
+    /**
+     * Hashes the paths and contents of all files in a directory. Files are hashed in parallel,
+     * but the result only depends on the directory content.
+     */
     public static String hashDirectory(Path path, String algorithm) throws IOException {
+        List<Path> files;
         try (var stream = Files.walk(path)) {
-            var fileListing = stream.map(p -> p.relativize(path))
-                    .filter(Files::isRegularFile)
+            files = stream.filter(Files::isRegularFile)
                     .sorted()
-                    .map(p -> {
-                        try {
-                            return p + " " + HashingUtil.hashFile(p, algorithm);
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    })
-                    .collect(Collectors.joining("\n"));
-            return sha1(fileListing);
+                    .toList();
         }
+
+        var fileListing = files.parallelStream()
+                .map(p -> {
+                    try {
+                        var relativePath = path.relativize(p).toString().replace('\\', '/');
+                        return relativePath + " " + HashingUtil.hashFile(p, algorithm);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.joining("\n"));
+        return sha1(fileListing);
+    }
+
+    private static Map<String, MessageDigest> createDigests(Collection<String> algorithms) {
+        var digests = new LinkedHashMap<String, MessageDigest>(algorithms.size());
+        for (var algorithm : algorithms) {
+            try {
+                digests.put(algorithm, MessageDigest.getInstance(algorithm));
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return digests;
+    }
+
+    private static Map<String, String> finish(Map<String, MessageDigest> digests) {
+        var result = new LinkedHashMap<String, String>(digests.size());
+        digests.forEach((algorithm, digest) -> result.put(algorithm, HexFormat.of().formatHex(digest.digest())));
+        return result;
     }
 }
@@ -0,0 +1,203 @@
+package net.neoforged.meta.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.neoforged.meta.config.HttpClientProperties;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates {@link RestClient RestClients} that are each backed by their own long-lived HTTP client,
+ * so that connections are kept alive and reused between requests, and multiplexed over HTTP/2 where supported.
+ * <p>
+ * Each client limits the number of requests it has in-flight, and reports how close it is to that limit
+ * as the {@code metaapi.http.client.requests.active} and {@code metaapi.http.client.requests.waiting} gauges.
+ * Requests are also counted towards the {@link HttpRequestStatistics} that are being collected by the calling thread.
+ */
+@Component
+public class HttpClientFactory {
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
+    public HttpClientFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    /**
+     * @param name Identifies the client in metrics.
+     */
+    public RestClient.Builder createRestClientBuilder(String name, HttpClientProperties properties) {
+        var httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+
+        int maxInFlightRequests = properties.getMaxInFlightRequests();
+        var inFlightRequests = new Semaphore(maxInFlightRequests, true);
+        if (meterRegistry != null) {
+            Gauge.builder("metaapi.http.client.requests.active", inFlightRequests, s -> maxInFlightRequests - s.availablePermits())
+                    .description("Requests that are currently in-flight")
+                    .tag("client", name)
+                    .register(meterRegistry);
+            Gauge.builder("metaapi.http.client.requests.waiting", inFlightRequests, Semaphore::getQueueLength)
+                    .description("Requests waiting because the maximum number of in-flight requests was reached")
+                    .tag("client", name)
+                    .register(meterRegistry);
+            Gauge.builder("metaapi.http.client.requests.max", () -> maxInFlightRequests)
+                    .description("The maximum number of in-flight requests")
+                    .tag("client", name)
+                    .register(meterRegistry);
+        }
+
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .requestInterceptor(limitInFlightRequests(inFlightRequests))
+                .requestInterceptor(recordStatistics());
+    }
+
+    private static ClientHttpRequestInterceptor recordStatistics() {
+        return (request, body, execution) -> {
+            var statistics = HttpRequestStatistics.current();
+            var response = execution.execute(request, body);
+            if (statistics == null) {
+                return response;
+            }
+            statistics.recordRequest();
+            return new StatisticsRecordingResponse(response, statistics);
+        };
+    }
+
+    /**
+     * A request counts as in-flight until its response is closed, which includes the time it takes to read the body.
+     */
+    private static ClientHttpRequestInterceptor limitInFlightRequests(Semaphore inFlightRequests) {
+        return (request, body, execution) -> {
+            try {
+                inFlightRequests.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to send " + request.getMethod() + " " + request.getURI());
+            }
+
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                inFlightRequests.release();
+                throw e;
+            }
+            return new PermitReleasingResponse(response, inFlightRequests);
+        };
+    }
+
+    /**
+     * Forwards everything to another response, for subclasses to intercept parts of it.
+     */
+    private abstract static class DelegatingResponse implements ClientHttpResponse {
+        protected final ClientHttpResponse delegate;
+
+        DelegatingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private static final class PermitReleasingResponse extends DelegatingResponse {
+        private final Semaphore inFlightRequests;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingResponse(ClientHttpResponse delegate, Semaphore inFlightRequests) {
+            super(delegate);
+            this.inFlightRequests = inFlightRequests;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    inFlightRequests.release();
+                }
+            }
+        }
+    }
+
+    private static final class StatisticsRecordingResponse extends DelegatingResponse {
+        private final HttpRequestStatistics statistics;
+        @Nullable
+        private InputStream body;
+
+        StatisticsRecordingResponse(ClientHttpResponse delegate, HttpRequestStatistics statistics) {
+            super(delegate);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b != -1) {
+                            statistics.recordBytesReceived(1);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = super.read(b, off, len);
+                        if (read > 0) {
+                            statistics.recordBytesReceived(read);
+                        }
+                        return read;
+                    }
+                };
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.neoforged.meta.util;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the HTTP requests sent by clients created with {@link HttpClientFactory} while {@link #collect collecting}.
+ * <p>
+ * Requests sent from virtual threads started while collecting are counted too, since they inherit the statistics
+ * of the thread that started them.
+ */
+public final class HttpRequestStatistics {
+    private static final InheritableThreadLocal<HttpRequestStatistics> CURRENT = new InheritableThreadLocal<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    /**
+     * Counts the requests sent by the given task, and the threads it starts, towards these statistics.
+     */
+    public <T> T collect(Callable<T> task) throws Exception {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Nullable
+    static HttpRequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    void recordBytesReceived(long bytes) {
+        bytesReceived.add(bytes);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return The number of response body bytes that were read.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+}
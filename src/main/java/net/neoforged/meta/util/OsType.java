@@ -1,6 +1,7 @@
 package net.neoforged.meta.util;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import org.jspecify.annotations.Nullable;
 
 public enum OsType {
     WINDOWS("windows"),
@@ -18,6 +19,15 @@ public enum OsType {
         return serializedName;
     }
 
+    public static @Nullable OsType fromSerializedName(String serializedName) {
+        for (var os : values()) {
+            if (os.serializedName.equals(serializedName)) {
+                return os;
+            }
+        }
+        return null;
+    }
+
     public static OsType current() {
         if (OsUtil.isWindows()) {
             return WINDOWS;
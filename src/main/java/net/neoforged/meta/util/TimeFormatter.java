@@ -24,7 +24,20 @@ public class TimeFormatter {
         Instant now = Instant.now();
         Duration duration = Duration.between(now, instant);
         boolean future = !duration.isNegative();
-        duration = duration.abs();
+        String timeString = formatDuration(duration.abs());
+        return future ? "in " + timeString : timeString + " ago";
+    }
+
+    /**
+     * Formats a Duration in its largest whole unit.
+     *
+     * @param duration The duration to format
+     * @return A string like "5 minutes" or "2 hours"
+     */
+    public static String formatDuration(Duration duration) {
+        if (duration == null) {
+            return null;
+        }
 
         long seconds = duration.getSeconds();
         long minutes = duration.toMinutes();
@@ -41,8 +54,7 @@ public class TimeFormatter {
         } else {
             timeString = days + (days == 1 ? " day" : " days");
         }
-
-        return future ? "in " + timeString : timeString + " ago";
+        return timeString;
     }
 
     /**
@@ -0,0 +1,191 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.event.Event;
+import net.neoforged.meta.db.event.EventDao;
+import net.neoforged.meta.event.ChangeFeed;
+import net.neoforged.meta.event.EventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = ChangeStreamControllerTest.Initializer.class)
+@ActiveProfiles("test")
+class ChangeStreamControllerTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    ChangeStreamController controller;
+    @Autowired
+    ChangeFeed changeFeed;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventDao eventDao;
+    @Autowired
+    JsonMapper jsonMapper;
+
+    MockMvc mockMvc;
+    final List<MvcResult> openStreams = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        eventDao.deleteAll();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void closeStreams() {
+        // Completing the request stops the thread that serves the stream
+        for (var stream : openStreams) {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    void testStreamsRecordedEvents() throws Exception {
+        var stream = openStream(get("/v1/changes/stream/"));
+        eventService.newComponentVersion("somegroup", "someartifact", "1");
+
+        var events = awaitEvents(stream, 1);
+        assertEquals(Long.toString(getLatestEvent().getId()), events.getFirst().id());
+        var data = events.getFirst().data();
+        assertEquals("somegroup", data.get("group_id").asString());
+        assertEquals("someartifact", data.get("artifact_id").asString());
+        assertEquals("1", data.get("version").asString());
+    }
+
+    @Test
+    void testResumesAfterLastEventId() throws Exception {
+        eventService.newComponentVersion("somegroup", "someartifact", "1");
+        var lastEventId = getLatestEvent().getId();
+        eventService.newComponentVersion("somegroup", "someartifact", "2");
+        eventService.newComponentVersion("somegroup", "someartifact", "3");
+
+        // Last-Event-ID takes precedence over the cursor in the query
+        var stream = openStream(get("/v1/changes/stream/")
+                .param("since", Long.toString(changeFeed.getLatestCursor()))
+                .header("Last-Event-ID", Long.toString(lastEventId)));
+
+        var events = awaitEvents(stream, 2);
+        assertEquals(List.of("2", "3"), events.stream().map(e -> e.data().get("version").asString()).toList());
+        assertEquals(Long.toString(getLatestEvent().getId()), events.getLast().id());
+    }
+
+    @Test
+    void testFiltersByComponents() throws Exception {
+        var stream = openStream(get("/v1/changes/stream/").param("components", "somegroup:someartifact"));
+        eventService.newComponentVersion("othergroup", "otherartifact", "1");
+        eventService.newComponentVersion("somegroup", "otherartifact", "1");
+        eventService.newComponentVersion("somegroup", "someartifact", "2");
+
+        var events = awaitEvents(stream, 1);
+        assertEquals(List.of("somegroup:someartifact:2"), events.stream()
+                .map(e -> e.data().get("group_id").asString() + ":" + e.data().get("artifact_id").asString() + ":" + e.data().get("version").asString())
+                .toList());
+    }
+
+    @Test
+    void testRejectsInvalidComponents() throws Exception {
+        mockMvc.perform(get("/v1/changes/stream/").param("components", "not-a-component"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult openStream(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        var result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        openStreams.add(result);
+        // Events recorded from now on are streamed, since the stream starts after the initial comment
+        awaitContent(result, ":connected");
+        return result;
+    }
+
+    private Event getLatestEvent() {
+        return eventDao.findAll().stream().reduce((first, second) -> second).orElseThrow();
+    }
+
+    private List<StreamedEvent> awaitEvents(MvcResult stream, int count) throws Exception {
+        var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (Instant.now().isBefore(deadline)) {
+            var events = parseEvents(stream.getResponse().getContentAsString());
+            if (events.size() >= count) {
+                // Wait briefly for events that should not have been sent
+                Thread.sleep(200);
+                return parseEvents(stream.getResponse().getContentAsString());
+            }
+            Thread.sleep(50);
+        }
+        return fail("Expected " + count + " events, but got: " + stream.getResponse().getContentAsString());
+    }
+
+    private static void awaitContent(MvcResult stream, String content) throws Exception {
+        var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while (!stream.getResponse().getContentAsString().contains(content)) {
+            if (Instant.now().isAfter(deadline)) {
+                fail("Stream did not send " + content);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private List<StreamedEvent> parseEvents(String content) {
+        var result = new ArrayList<StreamedEvent>();
+        for (var block : content.split("\n\n")) {
+            String id = null;
+            String data = null;
+            for (var line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring("id:".length());
+                } else if (line.startsWith("data:")) {
+                    data = line.substring("data:".length());
+                }
+            }
+            if (data != null) {
+                result.add(new StreamedEvent(id, jsonMapper.readTree(data)));
+            }
+        }
+        return result;
+    }
+
+    private record StreamedEvent(String id, JsonNode data) {
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.event.ChangeFeed;
+import net.neoforged.meta.triggers.PayloadFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChangesApiControllerTest {
+    private final ChangeFeed changeFeed = mock(ChangeFeed.class);
+    private final ChangesApiController controller = new ChangesApiController(changeFeed, mock(PayloadFactory.class), 1);
+
+    @Test
+    void testAnswersRightAwayWhenTooManyRequestsWait() throws Exception {
+        var waiting = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(changeFeed.getChanges(anyLong(), any(), anyInt(), eq(Duration.ofSeconds(30)))).thenAnswer(invocation -> {
+            waiting.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return new ChangeFeed.Changes(List.of(), 0, false);
+        });
+        when(changeFeed.getChanges(anyLong(), any(), anyInt(), eq(Duration.ZERO))).thenReturn(new ChangeFeed.Changes(List.of(), 0, false));
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> controller.getChanges(null, null, 100, 30));
+            assertTrue(waiting.await(10, TimeUnit.SECONDS));
+
+            // Only one request may wait, so the second one is answered right away
+            assertEquals(200, controller.getChanges(null, null, 100, 30).getStatusCode().value());
+            verify(changeFeed).getChanges(0, List.of(), 100, Duration.ZERO);
+
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getStatusCode().value());
+        }
+
+        // Once the first request is done, the next one may wait again
+        controller.getChanges(null, null, 100, 30);
+        verify(changeFeed, times(2)).getChanges(0, List.of(), 100, Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,84 @@
+package net.neoforged.meta.api;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConditionalRequestsTest {
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-06-13T12:00:00.250Z");
+    private static final String ETAG = ConditionalRequests.eTag(LAST_MODIFIED);
+
+    @Test
+    void testMatchesEntityTags() {
+        assertTrue(isNotModified("If-None-Match", ETAG));
+        assertTrue(isNotModified("If-None-Match", "\"other\", W/" + ETAG));
+        assertTrue(isNotModified("If-None-Match", StoredContentResponses.deflatedETag(ETAG)));
+        assertTrue(isNotModified("If-None-Match", "*"));
+        assertFalse(isNotModified("If-None-Match", "\"other\""));
+        assertFalse(isNotModified("If-None-Match", ConditionalRequests.eTag(LAST_MODIFIED.plusMillis(1))));
+    }
+
+    @Test
+    void testComparesModificationTimeInSeconds() {
+        assertTrue(isNotModified("If-Modified-Since", "Thu, 13 Jun 2024 12:00:00 GMT"));
+        assertTrue(isNotModified("If-Modified-Since", "Fri, 14 Jun 2024 12:00:00 GMT"));
+        assertFalse(isNotModified("If-Modified-Since", "Thu, 13 Jun 2024 11:59:59 GMT"));
+        assertFalse(isNotModified("If-Modified-Since", "yesterday"));
+    }
+
+    @Test
+    void testPrefersEntityTags() {
+        var request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"other\"");
+        request.addHeader("If-Modified-Since", "Fri, 14 Jun 2024 12:00:00 GMT");
+        assertFalse(ConditionalRequests.isNotModified(request, ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    void testUnconditionalRequest() {
+        assertFalse(ConditionalRequests.isNotModified(new MockHttpServletRequest("GET", "/"), ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    void testEchoesMatchingEntityTag() {
+        var deflatedETag = StoredContentResponses.deflatedETag(ETAG);
+        var response = checkNotModified("If-None-Match", "\"other\", " + deflatedETag);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(deflatedETag, response.getHeaders().getETag());
+        assertEquals(List.of("Accept-Encoding"), response.getHeaders().getVary());
+
+        assertEquals(ETAG, checkNotModified("If-None-Match", "W/" + ETAG).getHeaders().getETag());
+        assertEquals(ETAG, checkNotModified("If-None-Match", "*").getHeaders().getETag());
+        assertEquals(ETAG, checkNotModified("If-Modified-Since", "Thu, 13 Jun 2024 12:00:00 GMT").getHeaders().getETag());
+        assertNull(checkNotModified("If-None-Match", "\"other\""));
+    }
+
+    private static @Nullable ResponseEntity<Void> checkNotModified(String header, String value) {
+        var request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(header, value);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            return ConditionalRequests.checkNotModified(ETAG, LAST_MODIFIED);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static boolean isNotModified(String header, String value) {
+        var request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(header, value);
+        return ConditionalRequests.isNotModified(request, ETAG, LAST_MODIFIED);
+    }
+}
@@ -0,0 +1,207 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.ReferencedLibrary;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.generated.model.LibraryUsage;
+import net.neoforged.meta.jobs.LibraryCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = LibrariesApiControllerTest.Initializer.class)
+@ActiveProfiles("test")
+class LibrariesApiControllerTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    LibrariesApiController controller;
+
+    @Autowired
+    LibraryArtifactDao libraryArtifactDao;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    LibraryCatalog libraryCatalog;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            createMinecraftVersion("1.20.1", "2023-06-12T12:00:00Z", "com.google.guava:guava:31.1-jre", "org.ow2.asm:asm:9.5");
+            var minecraft121 = createMinecraftVersion("1.21", "2024-06-13T12:00:00Z", "com.google.guava:guava:31.1-jre", "org.ow2.asm:asm:9.7");
+            createNeoForgeVersion(minecraft121, "21.0.1", "2024-06-20T12:00:00Z", "org.ow2.asm:asm:9.7", "net.neoforged:neoform:1.21:mappings@zip");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+        libraryArtifactDao.deleteAll();
+    }
+
+    @Test
+    void testFindsMinecraftAndNeoForgeUsagesNewestFirst() {
+        var usages = libraryArtifactDao.findUsagesByVersionPrefix("org.ow2.asm", "asm", null, PageRequest.of(0, 10));
+        assertEquals(List.of("net.neoforged:neoforge:21.0.1", "net.minecraft:minecraft:1.21", "net.minecraft:minecraft:1.20.1"),
+                usages.stream().map(u -> u.groupId() + ":" + u.artifactId() + ":" + u.version()).toList());
+        assertEquals(List.of("9.7", "9.7", "9.5"), usages.stream().map(LibraryArtifactDao.LibraryUsage::libraryVersion).toList());
+
+        var neoForgeUsage = usages.getContent().getFirst();
+        assertFalse(neoForgeUsage.clientClasspath());
+        assertTrue(neoForgeUsage.clientInstaller());
+        assertTrue(neoForgeUsage.serverInstaller());
+        var minecraftUsage = usages.getContent().get(1);
+        assertTrue(minecraftUsage.clientClasspath());
+        assertFalse(minecraftUsage.clientInstaller());
+
+        // Both versions share the catalog entry
+        assertEquals(1, libraryArtifactDao.findByCoordinates("org.ow2.asm", "asm", "9.7", null, "jar", "sha1-org.ow2.asm:asm:9.7").size());
+    }
+
+    @Test
+    void testFiltersByVersionPrefix() {
+        var usages = libraryArtifactDao.findUsagesByVersionPrefix("org.ow2.asm", "asm", "9.5", PageRequest.of(0, 10));
+        assertEquals(1, usages.getTotalElements());
+        assertEquals("1.20.1", usages.getContent().getFirst().version());
+
+        // An empty prefix matches all versions
+        assertEquals(2, libraryArtifactDao.findUsagesByVersionPrefix("com.google.guava", "guava", "", PageRequest.of(0, 10)).getTotalElements());
+
+        // Wildcards in the prefix are matched literally
+        assertEquals(0, libraryArtifactDao.findUsagesByVersionPrefix("org.ow2.asm", "asm", "9_", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(0, libraryArtifactDao.findUsagesByVersionPrefix("org.ow2.asm", "asm", "%", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testPagesThroughUsages() {
+        var first = controller.getLibraryUsages("org.ow2.asm", "asm", null, 0, 2).getBody();
+        assertEquals(List.of("21.0.1", "1.21"), first.getUsages().stream().map(LibraryUsage::getVersion).toList());
+        assertEquals(0, first.getPage());
+        assertEquals(2, first.getPageSize());
+        assertEquals(3, first.getTotalUsages());
+
+        var second = controller.getLibraryUsages("org.ow2.asm", "asm", null, 1, 2).getBody();
+        assertEquals(List.of("1.20.1"), second.getUsages().stream().map(LibraryUsage::getVersion).toList());
+        assertEquals(3, second.getTotalUsages());
+
+        var beyond = controller.getLibraryUsages("org.ow2.asm", "asm", null, 2, 2).getBody();
+        assertEquals(List.of(), beyond.getUsages());
+        assertEquals(3, beyond.getTotalUsages());
+    }
+
+    @Test
+    void testMapsUsagesToApiModel() {
+        var page = controller.getLibraryUsages("net.neoforged", "neoform", "1.21", 0, 10).getBody();
+        assertEquals(1, page.getTotalUsages());
+        var usage = page.getUsages().getFirst();
+        assertEquals("net.neoforged", usage.getGroupId());
+        assertEquals("neoforge", usage.getArtifactId());
+        assertEquals("21.0.1", usage.getVersion());
+        assertEquals(Instant.parse("2024-06-20T12:00:00Z"), usage.getReleased().toInstant());
+        assertEquals("1.21", usage.getLibraryVersion());
+        assertEquals("mappings", usage.getLibraryClassifier());
+        assertEquals("zip", usage.getLibraryExtension());
+        assertEquals("sha1-net.neoforged:neoform:1.21:mappings@zip", usage.getLibrarySha1Checksum());
+        assertTrue(usage.getClientInstaller());
+        assertTrue(usage.getServerInstaller());
+        assertFalse(usage.getClientClasspath());
+        assertFalse(usage.getClientModulePath());
+    }
+
+    @Test
+    void testFindsNoUsagesOfUnknownLibrary() {
+        var page = controller.getLibraryUsages("org.example", "unknown", null, 0, 10).getBody();
+        assertEquals(List.of(), page.getUsages());
+        assertEquals(0, page.getTotalUsages());
+    }
+
+    private MinecraftVersion createMinecraftVersion(String versionId, String released, String... libraries) {
+        var version = new MinecraftVersion();
+        version.setVersion(versionId);
+        version.setType("release");
+        version.setReleased(Instant.parse(released));
+        version.setDiscovered(Instant.now());
+        version.setLastModified(Instant.now());
+        for (var library : libraries) {
+            var referencedLibrary = createLibrary(library);
+            referencedLibrary.setClientClasspath(true);
+            version.getLibraries().add(referencedLibrary);
+        }
+        libraryCatalog.intern(version.getLibraries());
+        return minecraftVersionDao.save(version);
+    }
+
+    private void createNeoForgeVersion(MinecraftVersion minecraftVersion, String versionId, String released, String... libraries) {
+        var version = new NeoForgeVersion();
+        version.setGroupId("net.neoforged");
+        version.setArtifactId("neoforge");
+        version.setVersion(versionId);
+        version.setRepository("releases");
+        version.setReleased(Instant.parse(released));
+        version.setDiscovered(Instant.now());
+        version.setLastModified(Instant.now());
+        version.setMinecraftVersion(minecraftVersion);
+        version.setLauncherProfileId("neoforge-" + versionId);
+        version.setLauncherProfile("{}");
+        version.setInstallerProfile("{}");
+        version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        for (var library : libraries) {
+            var referencedLibrary = createLibrary(library);
+            referencedLibrary.setClientInstaller(true);
+            referencedLibrary.setServerInstaller(true);
+            version.getLibraries().add(referencedLibrary);
+        }
+        libraryCatalog.intern(version.getLibraries());
+        versionDao.save(version);
+    }
+
+    private static ReferencedLibrary createLibrary(String coordinates) {
+        var library = ReferencedLibrary.of(coordinates);
+        library.getLibrary().setSha1Checksum("sha1-" + coordinates);
+        return library;
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifest;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.extract.LaunchProfileMerger;
+import net.neoforged.meta.util.OsType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = NeoForgeVersionsApiControllerTest.Initializer.class)
+@ActiveProfiles("test")
+class NeoForgeVersionsApiControllerTest {
+    private static final String MANIFEST = """
+            {"id": "1.21.1", "mainClass": "net.minecraft.client.main.Main",
+             "libraries": [{"name": "org.lwjgl:lwjgl:3.3.3:natives-linux", "rules": [{"action": "allow", "os": {"name": "linux"}}]}]}""";
+    private static final String LAUNCHER_PROFILE = """
+            {"id": "neoforge-21.1.1", "inheritsFrom": "1.21.1", "mainClass": "cpw.mods.bootstraplauncher.BootstrapLauncher",
+             "libraries": [{"name": "net.neoforged.fancymodloader:loader:4.0.0"}]}""";
+
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    NeoForgeVersionsApiController controller;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    MinecraftVersionManifestDao manifestDao;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        manifestDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+    }
+
+    @Test
+    void testMergesLaunchProfileOfVersionsWithoutStoredProfiles() throws Exception {
+        createVersion(true);
+
+        for (var os : OsType.values()) {
+            var response = mockMvc.perform(get("/v1/neoforge-versions/version/21.1.1/launch-profile/" + os.getSerializedName() + "/")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "deflate"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse();
+            // There is no stored profile to send as is
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(LaunchProfileMerger.merge(MANIFEST, LAUNCHER_PROFILE, os), response.getContentAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testLaunchProfileIsMissingWithoutMinecraftManifest() throws Exception {
+        createVersion(false);
+
+        mockMvc.perform(get("/v1/neoforge-versions/version/21.1.1/launch-profile/linux/"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRejectsUnknownOperatingSystems() throws Exception {
+        createVersion(true);
+
+        for (var os : new String[]{"solaris", "LINUX", "mac"}) {
+            mockMvc.perform(get("/v1/neoforge-versions/version/21.1.1/launch-profile/" + os + "/"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    private void createVersion(boolean withManifest) {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var minecraftVersion = new MinecraftVersion();
+            minecraftVersion.setVersion("1.21.1");
+            minecraftVersion.setType("release");
+            minecraftVersion.setReleased(Instant.now());
+            minecraftVersion.setDiscovered(Instant.now());
+            minecraftVersion.setLastModified(Instant.now());
+            minecraftVersionDao.save(minecraftVersion);
+
+            if (withManifest) {
+                var manifest = new MinecraftVersionManifest();
+                manifest.setMinecraftVersion(minecraftVersion);
+                manifest.setImported(true);
+                manifest.setSha1("sha1-manifest");
+                manifest.setLastModified(Instant.now());
+                manifest.setContent(MANIFEST);
+                manifestDao.save(manifest);
+            }
+
+            // As discovered before launch profiles were stored
+            var version = new NeoForgeVersion();
+            version.setGroupId("net.neoforged");
+            version.setArtifactId("neoforge");
+            version.setVersion("21.1.1");
+            version.setRepository("releases");
+            version.setReleased(Instant.now());
+            version.setDiscovered(Instant.now());
+            version.setLastModified(Instant.now());
+            version.setMinecraftVersion(minecraftVersion);
+            version.setLauncherProfileId("neoforge-21.1.1");
+            version.setLauncherProfile(LAUNCHER_PROFILE);
+            version.setInstallerProfile("{\"profile\": \"NeoForge\"}");
+            version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+            version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+            versionDao.save(version);
+        });
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package net.neoforged.meta.api;
+
+import net.neoforged.meta.db.CompressionDictionaryRegistry;
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifest;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.util.OsType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Tests that the endpoints serving stored documents send them as they are stored to clients accepting deflate.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = StoredContentEndpointsTest.Initializer.class)
+@ActiveProfiles("test")
+class StoredContentEndpointsTest {
+    private static final String MANIFEST = "{\"id\":\"1.21.1\",\"type\":\"release\",\"mainClass\":\"net.minecraft.client.main.Main\"}";
+    private static final String LAUNCH_PROFILE = "{\"id\":\"neoforge-21.1.1\",\"mainClass\":\"cpw.mods.bootstraplauncher.BootstrapLauncher\",\"os\":\"linux\"}";
+    private static final String INSTALLER_PROFILE = "{\"profile\":\"NeoForge\",\"version\":\"neoforge-21.1.1\",\"minecraft\":\"1.21.1\"}";
+
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    MinecraftVersionsApiController minecraftVersionsController;
+
+    @Autowired
+    NeoForgeVersionsApiController neoForgeVersionsController;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    MinecraftVersionManifestDao manifestDao;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    CompressionDictionaryRegistry dictionaryRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(minecraftVersionsController, neoForgeVersionsController).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        manifestDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+        dictionaryRegistry.setCurrentDictionary(null);
+    }
+
+    @Test
+    void testSendsStoredManifest() throws Exception {
+        createVersions();
+
+        var response = getDeflated("/v1/minecraft-versions/version/1.21.1/version-manifest/");
+        assertDeflated(response, MANIFEST);
+        assertEquals(StoredContentResponses.deflatedETag("\"sha1-manifest\""), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testSendsStoredLaunchProfile() throws Exception {
+        createVersions();
+
+        var response = getDeflated("/v1/neoforge-versions/version/21.1.1/launch-profile/linux/");
+        assertDeflated(response, LAUNCH_PROFILE);
+        assertDeflatedETag(response);
+    }
+
+    @Test
+    void testSendsStoredInstallerProfile() throws Exception {
+        createVersions();
+
+        var response = getDeflated("/v1/neoforge-versions/version/21.1.1/installer-profile/");
+        assertDeflated(response, INSTALLER_PROFILE);
+        assertDeflatedETag(response);
+    }
+
+    @Test
+    void testDecompressesForClientsNotAcceptingDeflate() throws Exception {
+        createVersions();
+
+        var response = mockMvc.perform(get("/v1/minecraft-versions/version/1.21.1/version-manifest/"))
+                .andReturn()
+                .getResponse();
+        assertDecompressed(response, MANIFEST);
+        assertEquals("\"sha1-manifest\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testDecompressesDocumentsCompressedWithDictionary() throws Exception {
+        // Clients don't have the dictionary, so they can't inflate these documents themselves
+        dictionaryRegistry.setCurrentDictionary("{\"id\":\"neoforge-21.1.1\",\"mainClass\":\"net.minecraft.client.main.Main\"}".getBytes(StandardCharsets.UTF_8));
+        createVersions();
+
+        var manifest = getDeflated("/v1/minecraft-versions/version/1.21.1/version-manifest/");
+        assertDecompressed(manifest, MANIFEST);
+        assertEquals("\"sha1-manifest\"", manifest.getHeader(HttpHeaders.ETAG));
+        assertDecompressed(getDeflated("/v1/neoforge-versions/version/21.1.1/launch-profile/linux/"), LAUNCH_PROFILE);
+        assertDecompressed(getDeflated("/v1/neoforge-versions/version/21.1.1/installer-profile/"), INSTALLER_PROFILE);
+    }
+
+    private MockHttpServletResponse getDeflated(String path) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andReturn()
+                .getResponse();
+    }
+
+    private static void assertDeflated(MockHttpServletResponse response, String expectedContent) throws DataFormatException {
+        assertEquals(200, response.getStatus());
+        assertEquals("deflate", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertTrue(response.getContentType().startsWith("application/json"), response.getContentType());
+        assertEquals(expectedContent, inflate(response.getContentAsByteArray()));
+    }
+
+    private static void assertDecompressed(MockHttpServletResponse response, String expectedContent) throws Exception {
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(expectedContent, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static void assertDeflatedETag(MockHttpServletResponse response) {
+        var eTag = response.getHeader(HttpHeaders.ETAG);
+        assertTrue(eTag != null && eTag.endsWith("-deflate\""), eTag);
+    }
+
+    /**
+     * Inflates the body like HTTP clients do for the {@code deflate} content coding.
+     */
+    private static String inflate(byte[] body) throws DataFormatException {
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            var out = new ByteArrayOutputStream();
+            var buffer = new byte[8192];
+            while (!inflater.finished()) {
+                var count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Body is not a complete zlib stream");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void createVersions() {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var minecraftVersion = new MinecraftVersion();
+            minecraftVersion.setVersion("1.21.1");
+            minecraftVersion.setType("release");
+            minecraftVersion.setReleased(Instant.parse("2024-08-08T12:00:00Z"));
+            minecraftVersion.setDiscovered(Instant.now());
+            minecraftVersion.setLastModified(Instant.now());
+            minecraftVersionDao.save(minecraftVersion);
+
+            var manifest = new MinecraftVersionManifest();
+            manifest.setMinecraftVersion(minecraftVersion);
+            manifest.setImported(true);
+            manifest.setSha1("sha1-manifest");
+            manifest.setLastModified(Instant.now());
+            manifest.setContent(MANIFEST);
+            manifestDao.save(manifest);
+
+            var version = new NeoForgeVersion();
+            version.setGroupId("net.neoforged");
+            version.setArtifactId("neoforge");
+            version.setVersion("21.1.1");
+            version.setRepository("releases");
+            version.setReleased(Instant.now());
+            version.setDiscovered(Instant.now());
+            version.setLastModified(Instant.now());
+            version.setMinecraftVersion(minecraftVersion);
+            version.setLauncherProfileId("neoforge-21.1.1");
+            version.setLauncherProfile("{\"id\":\"neoforge-21.1.1\"}");
+            version.setInstallerProfile(INSTALLER_PROFILE);
+            version.getLaunchProfiles().put(OsType.LINUX, LAUNCH_PROFILE);
+            version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+            version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+            versionDao.save(version);
+        });
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
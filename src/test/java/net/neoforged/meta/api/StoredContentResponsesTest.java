@@ -0,0 +1,25 @@
+package net.neoforged.meta.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredContentResponsesTest {
+    @Test
+    void testAcceptsDeflate() {
+        assertTrue(StoredContentResponses.acceptsDeflate("deflate"));
+        assertTrue(StoredContentResponses.acceptsDeflate("gzip, deflate, br"));
+        assertTrue(StoredContentResponses.acceptsDeflate("gzip;q=1.0, DEFLATE;q=0.5"));
+    }
+
+    @Test
+    void testDoesNotAcceptDeflate() {
+        assertFalse(StoredContentResponses.acceptsDeflate(null));
+        assertFalse(StoredContentResponses.acceptsDeflate(""));
+        assertFalse(StoredContentResponses.acceptsDeflate("gzip, br"));
+        assertFalse(StoredContentResponses.acceptsDeflate("deflate;q=0"));
+        assertFalse(StoredContentResponses.acceptsDeflate("deflate;q=0.000, gzip"));
+        assertFalse(StoredContentResponses.acceptsDeflate("*"));
+    }
+}
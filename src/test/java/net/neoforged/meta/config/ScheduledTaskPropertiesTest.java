@@ -0,0 +1,35 @@
+package net.neoforged.meta.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.NestedExceptionUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScheduledTaskPropertiesTest {
+    @Test
+    void testBindsIntervals() {
+        var properties = bind(Map.of("task.enabled", "true", "task.min-interval", "1m"));
+        assertEquals(Duration.ofMinutes(1), properties.minInterval());
+        assertEquals(Duration.ofMinutes(10), properties.maxInterval());
+        assertEquals(2.0, properties.backoffFactor());
+    }
+
+    @Test
+    void testRejectsCronPattern() {
+        // Replaced by the intervals, and would otherwise be ignored without notice
+        var e = assertThrows(BindException.class, () -> bind(Map.of("task.enabled", "true", "task.cron-pattern", "0 */10 * * * *")));
+        assertInstanceOf(IllegalArgumentException.class, NestedExceptionUtils.getRootCause(e));
+    }
+
+    private static ScheduledTaskProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties)).bindOrCreate("task", ScheduledTaskProperties.class);
+    }
+}
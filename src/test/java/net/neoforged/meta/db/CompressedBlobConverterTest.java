@@ -0,0 +1,153 @@
+package net.neoforged.meta.db;
+
+import net.neoforged.meta.util.CompressionDictionaryTrainer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedBlobConverterTest {
+    private final CompressionDictionaryRegistry dictionaries = new CompressionDictionaryRegistry();
+    private final CompressedBlobConverter converter = new CompressedBlobConverter(dictionaries);
+
+    @Test
+    void testReadsDataWithoutHeader() throws Exception {
+        var out = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(out)) {
+            deflater.write("{\"id\":\"1.21\"}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("{\"id\":\"1.21\"}", converter.convertToEntityAttribute(out.toByteArray()));
+    }
+
+    @Test
+    void testRoundTripWithoutDictionary() {
+        var data = converter.convertToDatabaseColumn("{\"id\":\"1.21\"}");
+
+        assertEquals(0, data[0]);
+        assertEquals(CompressedBlobConverter.FORMAT_DEFLATE, data[1]);
+        assertEquals("{\"id\":\"1.21\"}", converter.convertToEntityAttribute(data));
+    }
+
+    @Test
+    void testDictionaryImprovesCompression() {
+        var samples = new ArrayList<String>();
+        for (var i = 0; i < 20; i++) {
+            samples.add(document(i));
+        }
+        var document = document(100);
+        var withoutDictionary = converter.convertToDatabaseColumn(document);
+
+        dictionaries.setCurrentDictionary(CompressionDictionaryTrainer.train(samples, 16 * 1024));
+        var withDictionary = converter.convertToDatabaseColumn(document);
+
+        assertEquals(CompressedBlobConverter.FORMAT_DEFLATE_DICTIONARY, withDictionary[1]);
+        assertTrue(withDictionary.length < withoutDictionary.length,
+                withDictionary.length + " bytes should be less than " + withoutDictionary.length);
+        assertEquals(document, converter.convertToEntityAttribute(withDictionary));
+        // Data written before the dictionary stays readable
+        assertEquals(document, converter.convertToEntityAttribute(withoutDictionary));
+    }
+
+    @Test
+    void testDetectsDataToRecompress() throws Exception {
+        var withoutDictionary = converter.convertToDatabaseColumn(document(1));
+        var withoutHeader = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(withoutHeader)) {
+            deflater.write(document(1).getBytes(StandardCharsets.UTF_8));
+        }
+        // Data without the header is a plain zlib stream too, although with another compression level
+        assertTrue(converter.isCurrentFormat(withoutDictionary));
+        assertTrue(converter.isCurrentFormat(withoutHeader.toByteArray()));
+
+        dictionaries.setCurrentDictionary(CompressionDictionaryTrainer.train(
+                List.of(document(1), document(2), document(3)), 4096));
+        var withDictionary = converter.convertToDatabaseColumn(document(1));
+        assertFalse(converter.isCurrentFormat(withoutDictionary));
+        assertFalse(converter.isCurrentFormat(withoutHeader.toByteArray()));
+        assertTrue(converter.isCurrentFormat(withDictionary));
+
+        dictionaries.setCurrentDictionary("{\"another dictionary\":true}".getBytes(StandardCharsets.UTF_8));
+        assertFalse(converter.isCurrentFormat(withDictionary));
+
+        dictionaries.setCurrentDictionary(null);
+        assertFalse(converter.isCurrentFormat(withDictionary));
+        assertTrue(converter.isCurrentFormat(withoutDictionary));
+    }
+
+    @Test
+    void testFindsPlainDeflateStream() throws Exception {
+        var out = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(out)) {
+            deflater.write(document(1).getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(0, CompressedBlobConverter.getPlainDeflateOffset(out.toByteArray()));
+
+        var withoutDictionary = converter.compress(document(1));
+        var offset = CompressedBlobConverter.getPlainDeflateOffset(withoutDictionary);
+        assertEquals(2, offset);
+        var inflater = new Inflater();
+        inflater.setInput(withoutDictionary, offset, withoutDictionary.length - offset);
+        var inflated = new byte[4096];
+        var length = inflater.inflate(inflated);
+        inflater.end();
+        assertEquals(document(1), new String(inflated, 0, length, StandardCharsets.UTF_8));
+
+        dictionaries.setCurrentDictionary(CompressionDictionaryTrainer.train(List.of(document(1), document(2)), 4096));
+        assertEquals(-1, CompressedBlobConverter.getPlainDeflateOffset(converter.compress(document(1))));
+    }
+
+    @Test
+    void testFailsOnUnknownDictionary() {
+        var data = converter.compress(document(1));
+        var unknownDictionary = "{\"this dictionary is never registered\":true}".getBytes(StandardCharsets.UTF_8);
+        var deflated = compressWithUnregisteredDictionary(document(1), unknownDictionary);
+
+        assertEquals(document(1), converter.convertToEntityAttribute(data));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(deflated));
+    }
+
+    private static byte[] compressWithUnregisteredDictionary(String value, byte[] dictionary) {
+        var deflater = new Deflater();
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(value.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            var out = new ByteArrayOutputStream();
+            out.write(0);
+            out.write(CompressedBlobConverter.FORMAT_DEFLATE_DICTIONARY);
+            var buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String document(int index) {
+        return """
+                {
+                  "id": "1.21.%1$d",
+                  "type": "release",
+                  "mainClass": "net.minecraft.client.main.Main",
+                  "libraries": [
+                    {"name": "com.mojang:brigadier:1.%1$d.0", "downloads": {"artifact": {"path": "com/mojang/brigadier/1.%1$d.0/brigadier-1.%1$d.0.jar", "url": "https://libraries.minecraft.net/"}}},
+                    {"name": "org.lwjgl:lwjgl:3.3.%1$d", "downloads": {"artifact": {"path": "org/lwjgl/lwjgl/3.3.%1$d/lwjgl-3.3.%1$d.jar", "url": "https://libraries.minecraft.net/"}}}
+                  ],
+                  "releaseTime": "2024-06-%2$02dT12:00:00+00:00"
+                }
+                """.formatted(index, index % 28 + 1);
+    }
+}
@@ -0,0 +1,120 @@
+package net.neoforged.meta.event;
+
+import net.neoforged.meta.db.event.Event;
+import net.neoforged.meta.db.event.EventDao;
+import net.neoforged.meta.db.event.NewComponentVersionEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = ChangeFeedTest.Initializer.class)
+@ActiveProfiles("test")
+class ChangeFeedTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    ChangeFeed changeFeed;
+    @Autowired
+    EventService eventService;
+    @Autowired
+    EventDao eventDao;
+
+    @BeforeEach
+    void cleanUp() {
+        eventDao.deleteAll();
+    }
+
+    @Test
+    void testPagesThroughMatchingChanges() throws InterruptedException {
+        var start = changeFeed.getLatestCursor();
+        eventService.newComponentVersion("somegroup", "someartifact", "1");
+        eventService.newComponentVersion("othergroup", "otherartifact", "1");
+        eventService.newComponentVersion("somegroup", "someartifact", "2");
+        eventService.newComponentVersion("somegroup", "someartifact", "3");
+
+        var first = changeFeed.getChanges(start, List.of("somegroup:*"), 2, Duration.ZERO);
+        assertThat(first.events()).extracting(ChangeFeedTest::getVersion).containsExactly("1", "2");
+        assertTrue(first.hasMore());
+
+        var second = changeFeed.getChanges(first.cursor(), List.of("somegroup:*"), 2, Duration.ZERO);
+        assertThat(second.events()).extracting(ChangeFeedTest::getVersion).containsExactly("3");
+        assertFalse(second.hasMore());
+        assertEquals(changeFeed.getLatestCursor(), second.cursor());
+    }
+
+    @Test
+    void testSkipsNonMatchingChanges() throws InterruptedException {
+        var start = changeFeed.getLatestCursor();
+        eventService.newComponentVersion("othergroup", "otherartifact", "1");
+
+        var changes = changeFeed.getChanges(start, List.of("somegroup:someartifact"), 10, Duration.ZERO);
+        assertEquals(List.of(), changes.events());
+        assertEquals(changeFeed.getLatestCursor(), changes.cursor());
+    }
+
+    @Test
+    void testWaitsForNewChanges() throws InterruptedException {
+        var start = changeFeed.getLatestCursor();
+        var publisher = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            eventService.newComponentVersion("othergroup", "otherartifact", "1");
+            eventService.newComponentVersion("somegroup", "someartifact", "1");
+        });
+
+        var changes = changeFeed.getChanges(start, List.of("somegroup:someartifact"), 10, Duration.ofSeconds(30));
+        publisher.join();
+        assertThat(changes.events()).extracting(ChangeFeedTest::getVersion).containsExactly("1");
+    }
+
+    @Test
+    void testStopsWaitingAfterTimeout() throws InterruptedException {
+        var start = changeFeed.getLatestCursor();
+        var changes = changeFeed.getChanges(start, List.of(), 10, Duration.ofMillis(100));
+        assertEquals(List.of(), changes.events());
+        assertEquals(start, changes.cursor());
+    }
+
+    @Test
+    void testRejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.parseCursor("abc"));
+        assertThrows(IllegalArgumentException.class, () -> changeFeed.parseCursor("-1"));
+        assertEquals(changeFeed.getLatestCursor(), changeFeed.parseCursor(null));
+    }
+
+    private static String getVersion(Event event) {
+        return ((NewComponentVersionEvent) event).getVersion();
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(Map.of("meta-api.data-directory", tempDir.toAbsolutePath().toString())).applyTo(context);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package net.neoforged.meta.extract;
+
+import net.neoforged.meta.manifests.version.MinecraftVersionManifest;
+import net.neoforged.meta.util.OsType;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaunchProfileMergerTest {
+    private static final String MINECRAFT_MANIFEST = """
+            {
+              "id": "1.21.1",
+              "mainClass": "net.minecraft.client.main.Main",
+              "javaVersion": {"component": "java-runtime-delta", "majorVersion": 21},
+              "libraries": [
+                {"name": "org.ow2.asm:asm:9.3"},
+                {"name": "com.mojang:text2speech:1.17.9"},
+                {"name": "org.lwjgl:lwjgl:3.3.3:natives-windows", "rules": [{"action": "allow", "os": {"name": "windows"}}]},
+                {"name": "org.lwjgl:lwjgl:3.3.3:natives-linux", "rules": [{"action": "allow", "os": {"name": "linux"}}]},
+                {"name": "org.lwjgl:lwjgl:3.3.3:natives-macos", "rules": [{"action": "allow", "os": {"name": "osx"}}]},
+                {"name": "ca.weblite:java-objc-bridge:1.1", "rules": [{"action": "allow"}, {"action": "disallow", "os": {"name": "osx", "version": "^10\\\\.5\\\\.\\\\d$"}}]},
+                {
+                  "name": "org.lwjgl.lwjgl:lwjgl-platform:2.9.4",
+                  "natives": {"linux": "natives-linux", "osx": "natives-osx", "windows": "natives-windows"}
+                }
+              ],
+              "arguments": {
+                "game": [
+                  "--username", "${auth_player_name}",
+                  {"rules": [{"action": "allow", "features": {"is_demo_user": true}}], "value": "--demo"}
+                ],
+                "jvm": [
+                  {"rules": [{"action": "allow", "os": {"name": "osx"}}], "value": ["-XstartOnFirstThread"]},
+                  {"rules": [{"action": "allow", "os": {"name": "windows"}}], "value": "-XX:HeapDumpPath=MojangTricksIntelDriversForPerformance_javaw.exe_minecraft.exe.heapdump"},
+                  {"rules": [{"action": "allow", "os": {"arch": "x86"}}], "value": "-Xss1M"},
+                  "-cp", "${classpath}"
+                ]
+              }
+            }
+            """;
+
+    private static final String NEOFORGE_PROFILE = """
+            {
+              "id": "neoforge-21.1.1",
+              "inheritsFrom": "1.21.1",
+              "mainClass": "cpw.mods.bootstraplauncher.BootstrapLauncher",
+              "libraries": [
+                {"name": "net.neoforged.fancymodloader:loader:4.0.0"},
+                {"name": "org.ow2.asm:asm:9.7"}
+              ],
+              "arguments": {
+                "game": ["--fml.neoForgeVersion", "21.1.1"],
+                "jvm": ["-DlibraryDirectory=${library_directory}"]
+              }
+            }
+            """;
+
+    @Test
+    void testNeoForgePropertiesOverrideMinecraft() {
+        var profile = merge(OsType.LINUX);
+        assertEquals("neoforge-21.1.1", profile.get("id").asString());
+        assertEquals("cpw.mods.bootstraplauncher.BootstrapLauncher", profile.get("mainClass").asString());
+        assertEquals(21, profile.get("javaVersion").get("majorVersion").asInt());
+        assertFalse(profile.has("inheritsFrom"));
+    }
+
+    @Test
+    void testNeoForgeLibrariesTakePrecedence() {
+        var names = getLibraryNames(merge(OsType.LINUX));
+        assertEquals("net.neoforged.fancymodloader:loader:4.0.0", names.get(0));
+        assertEquals("org.ow2.asm:asm:9.7", names.get(1));
+        assertFalse(names.contains("org.ow2.asm:asm:9.3"));
+    }
+
+    @Test
+    void testResolvesLibrariesForOperatingSystem() {
+        var linux = merge(OsType.LINUX);
+        var linuxNames = getLibraryNames(linux);
+        assertTrue(linuxNames.contains("org.lwjgl:lwjgl:3.3.3:natives-linux"));
+        assertFalse(linuxNames.contains("org.lwjgl:lwjgl:3.3.3:natives-windows"));
+        assertFalse(linuxNames.contains("org.lwjgl:lwjgl:3.3.3:natives-macos"));
+        // The rules are resolved, so only the ones that depend on the operating system version remain
+        assertFalse(findLibrary(linux, "org.lwjgl:lwjgl:3.3.3:natives-linux").has("rules"));
+        assertFalse(findLibrary(linux, "ca.weblite:java-objc-bridge:1.1").has("rules"));
+        assertTrue(findLibrary(merge(OsType.MAC), "ca.weblite:java-objc-bridge:1.1").has("rules"));
+
+        var natives = findLibrary(linux, "org.lwjgl.lwjgl:lwjgl-platform:2.9.4").get("natives");
+        assertEquals(1, natives.size());
+        assertEquals("natives-linux", natives.get("linux").asString());
+    }
+
+    @Test
+    void testResolvesArgumentsForOperatingSystem() {
+        var mac = merge(OsType.MAC);
+        assertEquals(List.of(
+                "-XstartOnFirstThread",
+                "{\"rules\":[{\"action\":\"allow\",\"os\":{\"arch\":\"x86\"}}],\"value\":\"-Xss1M\"}",
+                "-cp", "${classpath}",
+                "-DlibraryDirectory=${library_directory}"
+        ), getArguments(mac, "jvm"));
+        assertEquals(List.of(
+                "--username", "${auth_player_name}",
+                "{\"rules\":[{\"action\":\"allow\",\"features\":{\"is_demo_user\":true}}],\"value\":\"--demo\"}",
+                "--fml.neoForgeVersion", "21.1.1"
+        ), getArguments(mac, "game"));
+
+        var windowsJvm = getArguments(merge(OsType.WINDOWS), "jvm");
+        assertFalse(windowsJvm.contains("-XstartOnFirstThread"));
+        assertTrue(windowsJvm.contains("-XX:HeapDumpPath=MojangTricksIntelDriversForPerformance_javaw.exe_minecraft.exe.heapdump"));
+    }
+
+    @Test
+    void testMergesAllOperatingSystems() {
+        var profiles = LaunchProfileMerger.mergeAll(MINECRAFT_MANIFEST, NEOFORGE_PROFILE);
+        assertEquals(OsType.values().length, profiles.size());
+        for (var os : OsType.values()) {
+            assertEquals(LaunchProfileMerger.merge(MINECRAFT_MANIFEST, NEOFORGE_PROFILE, os), profiles.get(os));
+        }
+    }
+
+    private static JsonNode merge(OsType os) {
+        return MinecraftVersionManifest.MAPPER.readTree(LaunchProfileMerger.merge(MINECRAFT_MANIFEST, NEOFORGE_PROFILE, os));
+    }
+
+    private static List<String> getLibraryNames(JsonNode profile) {
+        var result = new ArrayList<String>();
+        for (var library : profile.get("libraries")) {
+            result.add(library.get("name").asString());
+        }
+        return result;
+    }
+
+    private static JsonNode findLibrary(JsonNode profile, String name) {
+        for (var library : profile.get("libraries")) {
+            if (library.get("name").asString().equals(name)) {
+                return library;
+            }
+        }
+        throw new AssertionError("Library not found: " + name);
+    }
+
+    private static List<String> getArguments(JsonNode profile, String type) {
+        var result = new ArrayList<String>();
+        for (var argument : profile.get("arguments").get(type)) {
+            result.add(argument.isString() ? argument.asString() : argument.toString());
+        }
+        return result;
+    }
+}
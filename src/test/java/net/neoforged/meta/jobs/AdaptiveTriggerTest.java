@@ -0,0 +1,88 @@
+package net.neoforged.meta.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveTriggerTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void testRunsImmediatelyOnStartup() {
+        var trigger = new AdaptiveTrigger(Duration.ofSeconds(30), Duration.ofMinutes(10), 2);
+        assertEquals(NOW, trigger.nextExecution(new SimpleTriggerContext(Clock.fixed(NOW, ZoneOffset.UTC))));
+    }
+
+    @Test
+    void testBacksOffWhileNothingChanges() {
+        var trigger = new AdaptiveTrigger(Duration.ofSeconds(30), Duration.ofMinutes(3), 2);
+
+        trigger.reportRun(false);
+        assertEquals(Duration.ofMinutes(1), trigger.getCurrentInterval());
+        trigger.reportRun(false);
+        assertEquals(Duration.ofMinutes(2), trigger.getCurrentInterval());
+        trigger.reportRun(false);
+        assertEquals(Duration.ofMinutes(3), trigger.getCurrentInterval());
+        trigger.reportRun(false);
+        assertEquals(Duration.ofMinutes(3), trigger.getCurrentInterval());
+
+        var context = new SimpleTriggerContext(NOW, NOW, NOW);
+        assertEquals(NOW.plus(Duration.ofMinutes(3)), trigger.nextExecution(context));
+    }
+
+    @Test
+    void testResetsIntervalWhenChangesAreFound() {
+        var trigger = new AdaptiveTrigger(Duration.ofSeconds(30), Duration.ofMinutes(10), 2);
+        trigger.reportRun(false);
+        trigger.reportRun(false);
+
+        trigger.reportRun(true);
+        assertEquals(Duration.ofSeconds(30), trigger.getCurrentInterval());
+    }
+
+    @Test
+    void testRequestedRunMovesNextExecution() {
+        var trigger = new AdaptiveTrigger(Duration.ofSeconds(30), Duration.ofMinutes(10), 2);
+        var requestedRunCompletion = NOW.plus(Duration.ofSeconds(20));
+        trigger.reportRun(true);
+        trigger.reportCompletion(requestedRunCompletion);
+
+        var context = new SimpleTriggerContext(NOW, NOW, NOW);
+        assertEquals(requestedRunCompletion.plus(Duration.ofSeconds(30)), trigger.nextExecution(context));
+        assertFalse(trigger.isRunDue(NOW.plus(Duration.ofSeconds(30))));
+        assertTrue(trigger.isRunDue(requestedRunCompletion.plus(Duration.ofSeconds(30))));
+    }
+
+    @Test
+    void testSkipsScheduledRunAfterRequestedRun() {
+        var runs = new AtomicInteger();
+        DiscoveryJob job = () -> {
+            runs.incrementAndGet();
+            return false;
+        };
+        var trigger = new AdaptiveTrigger(Duration.ofMinutes(10), Duration.ofMinutes(10), 1);
+        var adaptiveJob = new AdaptiveJob(job, trigger);
+
+        adaptiveJob.requestRun();
+        adaptiveJob.run();
+        assertEquals(1, runs.get());
+
+        // A scheduled run right after the requested run is not due yet
+        adaptiveJob.run();
+        assertEquals(1, runs.get());
+
+        // Requested runs always run
+        adaptiveJob.requestRun();
+        adaptiveJob.run();
+        assertEquals(2, runs.get());
+    }
+}
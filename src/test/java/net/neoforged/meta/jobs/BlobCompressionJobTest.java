@@ -0,0 +1,255 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.CompressedBlobConverter;
+import net.neoforged.meta.db.CompressionDictionaryDao;
+import net.neoforged.meta.db.CompressionDictionaryRegistry;
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifest;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = BlobCompressionJobTest.Initializer.class)
+@ActiveProfiles("test")
+class BlobCompressionJobTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    BlobCompressionJob job;
+
+    @Autowired
+    CompressionDictionaryRegistry dictionaryRegistry;
+
+    @Autowired
+    CompressedBlobConverter blobConverter;
+
+    @Autowired
+    CompressionDictionaryDao dictionaryDao;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    MinecraftVersionManifestDao manifestDao;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    MetaApiProperties apiProperties;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    final List<Long> manifestIds = new ArrayList<>();
+    final List<Long> neoForgeVersionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            for (var i = 0; i < 12; i++) {
+                var minecraftVersion = new MinecraftVersion();
+                minecraftVersion.setVersion("1.20." + i);
+                minecraftVersion.setType("release");
+                minecraftVersion.setReleased(Instant.now());
+                minecraftVersion.setDiscovered(Instant.now());
+                minecraftVersion.setLastModified(Instant.now());
+                minecraftVersionDao.save(minecraftVersion);
+
+                var manifest = new MinecraftVersionManifest();
+                manifest.setMinecraftVersion(minecraftVersion);
+                manifest.setImported(true);
+                manifest.setSha1("sha1-" + i);
+                manifest.setLastModified(Instant.now());
+                manifest.setContent(manifest("1.20." + i));
+                manifestIds.add(manifestDao.save(manifest).getId());
+            }
+
+            var minecraftVersion = minecraftVersionDao.getByVersion("1.20.1");
+            for (var i = 0; i < 2; i++) {
+                neoForgeVersionIds.add(createNeoForgeVersion(minecraftVersion, "20.1." + i).getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        manifestDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+        dictionaryDao.deleteAll();
+        dictionaryRegistry.setCurrentDictionary(null);
+        manifestIds.clear();
+        neoForgeVersionIds.clear();
+    }
+
+    @Test
+    void testRecompressesManifestsWithTrainedDictionary() {
+        // Trains a dictionary and recompresses the stored manifests with it
+        assertTrue(job.discover());
+        assertEquals(1, dictionaryDao.count());
+        assertNotNull(dictionaryRegistry.getCurrentDictionary());
+        var dictionaryId = dictionaryRegistry.getCurrentDictionaryStoredId();
+        assertEquals(List.of(), manifestDao.findIdsNotCompressedWithDictionary(dictionaryId, 100));
+        for (var id : manifestIds) {
+            assertTrue(blobConverter.isCurrentFormat(manifestDao.findStoredContent(id).content()));
+        }
+        assertEquals(manifest("1.20.5"), manifestDao.findContent(manifestIds.get(5)));
+
+        // Nothing left to do
+        assertFalse(job.discover());
+    }
+
+    @Test
+    void testRecompressesProfilesWithCurrentDictionary() {
+        assertTrue(job.discover());
+
+        var dictionaryId = dictionaryRegistry.getCurrentDictionaryStoredId();
+        assertEquals(List.of(), versionDao.findNeoForgeVersionIdsNotCompressedWithDictionary(dictionaryId, 100));
+        for (var id : neoForgeVersionIds) {
+            var stored = versionDao.findStoredLauncherProfile(id);
+            assertNotNull(stored);
+            assertTrue(blobConverter.isCurrentFormat(stored.content()));
+            var profiles = versionDao.findNeoForgeProfiles(id);
+            assertNotNull(profiles);
+            assertEquals(blobConverter.decompress(stored.content()), profiles.launcherProfile());
+        }
+    }
+
+    @Test
+    void testRecompressesWithoutDictionaryWhenDisabled() {
+        assertTrue(job.discover());
+        var manifestId = manifestIds.get(5);
+        assertEquals(-1, CompressedBlobConverter.getPlainDeflateOffset(manifestDao.findStoredContent(manifestId).content()));
+
+        // As after a restart with dictionaries disabled
+        apiProperties.getBlobCompression().setDictionaryEnabled(false);
+        dictionaryRegistry.setCurrentDictionary(null);
+        try {
+            assertTrue(job.discover());
+            assertEquals(2, CompressedBlobConverter.getPlainDeflateOffset(manifestDao.findStoredContent(manifestId).content()));
+            assertEquals(manifest("1.20.5"), manifestDao.findContent(manifestId));
+            assertEquals(List.of(), versionDao.findNeoForgeVersionIdsNotCompressedWithDictionary(new byte[0], 100));
+
+            // Nothing left to do, and no dictionary is trained
+            assertFalse(job.discover());
+            assertNull(dictionaryRegistry.getCurrentDictionary());
+        } finally {
+            apiProperties.getBlobCompression().setDictionaryEnabled(true);
+        }
+    }
+
+    @Test
+    void testKeepsPlainZlibDataWhenDisabled() {
+        // Written before the format header was introduced, with the default compression level
+        var manifestId = manifestIds.getFirst();
+        var legacyContent = zlib(manifest("1.20.0"));
+        jdbcTemplate.update("update minecraft_version_manifest set content = ? where id = ?", legacyContent, manifestId);
+
+        apiProperties.getBlobCompression().setDictionaryEnabled(false);
+        try {
+            assertEquals(List.of(), manifestDao.findIdsNotCompressedWithDictionary(new byte[0], 100));
+            assertEquals(List.of(), versionDao.findNeoForgeVersionIdsNotCompressedWithDictionary(new byte[0], 100));
+            assertFalse(job.discover());
+            assertArrayEquals(legacyContent, manifestDao.findStoredContent(manifestId).content());
+        } finally {
+            apiProperties.getBlobCompression().setDictionaryEnabled(true);
+        }
+    }
+
+    private NeoForgeVersion createNeoForgeVersion(MinecraftVersion minecraftVersion, String versionId) {
+        var version = new NeoForgeVersion();
+        version.setGroupId("net.neoforged");
+        version.setArtifactId("neoforge");
+        version.setVersion(versionId);
+        version.setRepository("releases");
+        version.setReleased(Instant.now());
+        version.setDiscovered(Instant.now());
+        version.setLastModified(Instant.now());
+        version.setMinecraftVersion(minecraftVersion);
+        version.setLauncherProfileId("neoforge-" + versionId);
+        version.setLauncherProfile("""
+                {"id": "neoforge-%1$s", "inheritsFrom": "1.20.1", "mainClass": "cpw.mods.bootstraplauncher.BootstrapLauncher",
+                 "arguments": {"game": ["--fml.neoForgeVersion", "%1$s", "--fml.mcVersion", "1.20.1"]}}""".formatted(versionId));
+        version.setInstallerProfile("""
+                {"profile": "NeoForge", "version": "neoforge-%1$s", "minecraft": "1.20.1",
+                 "processors": [{"jar": "net.neoforged.installertools:installertools:2.1.2", "args": ["--task", "PROCESS_MINECRAFT_JAR"]}]}""".formatted(versionId));
+        version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        return versionDao.save(version);
+    }
+
+    private static String manifest(String id) {
+        return """
+                {
+                    "id": "%1$s",
+                    "type": "release",
+                    "mainClass": "net.minecraft.client.main.Main",
+                    "javaVersion": {"majorVersion": 17},
+                    "libraries": [
+                        {"name": "com.google.guava:guava:31.1-jre", "downloads": {"artifact": {"path": "com/google/guava/guava/31.1-jre/guava-31.1-jre.jar", "url": "https://libraries.minecraft.net/com/google/guava/guava/31.1-jre/guava-31.1-jre.jar"}}},
+                        {"name": "org.ow2.asm:asm:9.%2$d", "downloads": {"artifact": {"path": "org/ow2/asm/asm/9.%2$d/asm-9.%2$d.jar", "url": "https://libraries.minecraft.net/org/ow2/asm/asm/9.%2$d/asm-9.%2$d.jar"}}}
+                    ]
+                }
+                """.formatted(id, id.length());
+    }
+
+    private static byte[] zlib(String content) {
+        var out = new ByteArrayOutputStream();
+        try (var deflater = new DeflaterOutputStream(out)) {
+            deflater.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath(),
+                    "meta-api.blob-compression.dictionary-enabled=true"
+            ).applyTo(context);
+        }
+    }
+}
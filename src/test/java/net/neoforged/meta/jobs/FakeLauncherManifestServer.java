@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Helper class for creating a fake Minecraft launcher manifest server for testing.
@@ -24,6 +25,9 @@ import java.util.Map;
  * - The main launcher manifest (version_manifest_v2.json)
  * - Individual version manifests for each Minecraft version
  * <p>
+ * The launcher manifest is served with an ETag, and requests with a matching If-None-Match header
+ * are answered with 304 Not Modified, unless conditional requests are disabled.
+ * <p>
  * Example usage:
  * <pre>
  * FakeLauncherManifestServer server = new FakeLauncherManifestServer();
@@ -47,6 +51,9 @@ public class FakeLauncherManifestServer implements AutoCloseable {
     private final HttpServer server;
     private final List<VersionEntry> versions = new ArrayList<>();
     private final Map<String, String> versionManifests = new HashMap<>();
+    private final AtomicInteger versionManifestRequests = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private volatile boolean conditionalRequestsSupported = true;
 
     public FakeLauncherManifestServer() {
         try {
@@ -80,6 +87,30 @@ public class FakeLauncherManifestServer implements AutoCloseable {
     public void clear() {
         this.versions.clear();
         this.versionManifests.clear();
+        this.versionManifestRequests.set(0);
+        this.notModifiedResponses.set(0);
+        this.conditionalRequestsSupported = true;
+    }
+
+    /**
+     * Whether the launcher manifest is served with an ETag and If-None-Match is honored.
+     */
+    public void setConditionalRequestsSupported(boolean conditionalRequestsSupported) {
+        this.conditionalRequestsSupported = conditionalRequestsSupported;
+    }
+
+    /**
+     * The number of requests for individual version manifests.
+     */
+    public int getVersionManifestRequests() {
+        return versionManifestRequests.get();
+    }
+
+    /**
+     * The number of launcher manifest requests that were answered with 304 Not Modified.
+     */
+    public int getNotModifiedResponses() {
+        return notModifiedResponses.get();
     }
 
     /**
@@ -230,6 +261,7 @@ public class FakeLauncherManifestServer implements AutoCloseable {
 
             // Handle individual version manifest requests
             if (versionManifests.containsKey(path)) {
+                versionManifestRequests.incrementAndGet();
                 handleVersionManifest(exchange, versionManifests.get(path));
                 return;
             }
@@ -256,6 +288,16 @@ public class FakeLauncherManifestServer implements AutoCloseable {
             json.append("}\n");
 
             byte[] response = json.toString().getBytes(StandardCharsets.UTF_8);
+            if (conditionalRequestsSupported) {
+                String etag = "\"" + HashingUtil.sha1(response) + "\"";
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModifiedResponses.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+                exchange.getResponseHeaders().set("ETag", etag);
+            }
             exchange.getResponseHeaders().set("Content-Type", "application/json");
             exchange.sendResponseHeaders(200, response.length);
             exchange.getResponseBody().write(response);
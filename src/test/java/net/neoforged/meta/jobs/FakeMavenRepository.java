@@ -3,6 +3,7 @@ package net.neoforged.meta.jobs;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import net.neoforged.meta.util.HashingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,12 +21,17 @@ import java.net.URI;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Helper class for creating a fake Maven repository HTTP server for testing.
@@ -46,8 +52,12 @@ import java.util.function.Consumer;
  */
 public class FakeMavenRepository implements AutoCloseable {
     private static final String MAVEN_METADATA_XML = "maven-metadata.xml";
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
     private final HttpServer server;
     private final Map<String, ArtifactMetadata> artifacts = new HashMap<>();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final Map<String, AtomicInteger> fullDownloads = new ConcurrentHashMap<>();
+    private volatile boolean rangeRequestsSupported = true;
     private static final DateTimeFormatter HTTP_DATE_FORMAT = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss z", Locale.ENGLISH).withZone(ZoneId.of("GMT"));
 
     private static final Logger LOG = LoggerFactory.getLogger(FakeMavenRepository.class);
@@ -100,6 +110,31 @@ public class FakeMavenRepository implements AutoCloseable {
 
     public void clear() {
         this.artifacts.clear();
+        this.notModifiedResponses.set(0);
+        this.fullDownloads.clear();
+        this.rangeRequestsSupported = true;
+    }
+
+    /**
+     * Configure whether the server honors the Range header on file downloads. If it doesn't, it sends the full file.
+     */
+    public void setRangeRequestsSupported(boolean rangeRequestsSupported) {
+        this.rangeRequestsSupported = rangeRequestsSupported;
+    }
+
+    /**
+     * The number of conditional requests for a maven-metadata.xml that were answered with 304 Not Modified.
+     */
+    public int getNotModifiedResponses() {
+        return notModifiedResponses.get();
+    }
+
+    /**
+     * The number of times a file was sent in full, rather than a range of it or a 304 Not Modified.
+     */
+    public int getFullDownloads(String filename) {
+        var count = fullDownloads.get(filename);
+        return count != null ? count.get() : 0;
     }
 
     /**
@@ -177,7 +212,8 @@ public class FakeMavenRepository implements AutoCloseable {
         final String repository;
         final String groupId;
         final String artifactId;
-        final Map<String, Map<String, FileContent>> versions = new HashMap<>();
+        // Like in a real repository, versions are listed in the order they were published
+        final Map<String, Map<String, FileContent>> versions = new LinkedHashMap<>();
         boolean snapshot = false;
         boolean invalid = false;
 
@@ -263,6 +299,13 @@ public class FakeMavenRepository implements AutoCloseable {
                 }
 
                 byte[] response = metadata.createMavenMetadataXml();
+                var etag = "\"" + HashingUtil.sha1(response) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModifiedResponses.incrementAndGet();
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
                 exchange.getResponseHeaders().set("Content-Type", "application/xml");
                 exchange.sendResponseHeaders(200, response.length);
                 exchange.getResponseBody().write(response);
@@ -291,14 +334,55 @@ public class FakeMavenRepository implements AutoCloseable {
 
             exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE_FORMAT.format(file.lastModified));
             exchange.getResponseHeaders().set("Content-Length", String.valueOf(file.content.length));
-            if (exchange.getRequestMethod().equals("HEAD")) {
+            if (rangeRequestsSupported) {
+                exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+            }
+            var range = exchange.getRequestHeaders().getFirst("Range");
+            var ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            if (ifModifiedSince != null && !file.lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(Instant.from(HTTP_DATE_FORMAT.parse(ifModifiedSince)))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else if (exchange.getRequestMethod().equals("HEAD")) {
                 exchange.sendResponseHeaders(200, -1);
+            } else if (exchange.getRequestMethod().equals("GET") && range != null && rangeRequestsSupported) {
+                sendRange(exchange, file.content, range);
             } else if (exchange.getRequestMethod().equals("GET")) {
+                fullDownloads.computeIfAbsent(filename, _ -> new AtomicInteger()).incrementAndGet();
                 exchange.sendResponseHeaders(200, file.content.length);
                 exchange.getResponseBody().write(file.content);
             } else {
                 exchange.sendResponseHeaders(405, -1);
             }
         }
+
+        /**
+         * Sends a single range in the form {@code bytes=start-end}, {@code bytes=start-} or {@code bytes=-suffixLength}.
+         */
+        private static void sendRange(HttpExchange exchange, byte[] content, String range) throws IOException {
+            var matcher = RANGE_PATTERN.matcher(range);
+            if (!matcher.matches()) {
+                exchange.sendResponseHeaders(416, -1);
+                return;
+            }
+
+            int start, end;
+            if (matcher.group(1).isEmpty()) {
+                start = Math.max(0, content.length - Integer.parseInt(matcher.group(2)));
+                end = content.length - 1;
+            } else {
+                start = Integer.parseInt(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? content.length - 1 : Math.min(content.length - 1, Integer.parseInt(matcher.group(2)));
+            }
+            if (start > end) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + content.length);
+                exchange.sendResponseHeaders(416, -1);
+                return;
+            }
+
+            int length = end - start + 1;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+            exchange.sendResponseHeaders(206, length);
+            exchange.getResponseBody().write(content, start, length);
+        }
     }
 }
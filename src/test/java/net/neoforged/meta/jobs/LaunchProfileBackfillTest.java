@@ -0,0 +1,140 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifest;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import net.neoforged.meta.extract.LaunchProfileMerger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = LaunchProfileBackfillTest.Initializer.class)
+@ActiveProfiles("test")
+class LaunchProfileBackfillTest {
+    private static final String MANIFEST = """
+            {"id": "1.21.1", "mainClass": "net.minecraft.client.main.Main", "libraries": [{"name": "org.ow2.asm:asm:9.3"}]}""";
+    private static final String LAUNCHER_PROFILE = """
+            {"id": "neoforge-21.1.1", "inheritsFrom": "1.21.1", "mainClass": "cpw.mods.bootstraplauncher.BootstrapLauncher"}""";
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    LaunchProfileBackfill launchProfileBackfill;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    MinecraftVersionManifestDao manifestDao;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        manifestDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+    }
+
+    @Test
+    void testMergesMissingLaunchProfiles() {
+        var id = transactionTemplate.execute(ignored -> createNeoForgeVersion(createMinecraftVersion("1.21.1", true), "21.1.1").getId());
+        assertEquals(List.of(id), versionDao.findNeoForgeVersionIdsWithoutLaunchProfiles());
+
+        launchProfileBackfill.backfill();
+
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var version = (NeoForgeVersion) versionDao.findById(id).orElseThrow();
+            assertEquals(LaunchProfileMerger.mergeAll(MANIFEST, LAUNCHER_PROFILE), Map.copyOf(version.getLaunchProfiles()));
+            // The API already served these profiles, so cached copies stay valid
+            assertEquals(LAST_MODIFIED, version.getLastModified());
+        });
+        assertEquals(List.of(), versionDao.findNeoForgeVersionIdsWithoutLaunchProfiles());
+    }
+
+    @Test
+    void testSkipsVersionsWithoutMinecraftManifest() {
+        var id = transactionTemplate.execute(ignored -> createNeoForgeVersion(createMinecraftVersion("1.21.1", false), "21.1.1").getId());
+        assertEquals(List.of(), versionDao.findNeoForgeVersionIdsWithoutLaunchProfiles());
+
+        launchProfileBackfill.backfill();
+
+        transactionTemplate.executeWithoutResult(ignored ->
+                assertEquals(Map.of(), ((NeoForgeVersion) versionDao.findById(id).orElseThrow()).getLaunchProfiles()));
+    }
+
+    private MinecraftVersion createMinecraftVersion(String versionId, boolean withManifest) {
+        var minecraftVersion = new MinecraftVersion();
+        minecraftVersion.setVersion(versionId);
+        minecraftVersion.setType("release");
+        minecraftVersion.setReleased(Instant.now());
+        minecraftVersion.setDiscovered(Instant.now());
+        minecraftVersion.setLastModified(Instant.now());
+        minecraftVersionDao.save(minecraftVersion);
+
+        if (withManifest) {
+            var manifest = new MinecraftVersionManifest();
+            manifest.setMinecraftVersion(minecraftVersion);
+            manifest.setImported(true);
+            manifest.setSha1("sha1-" + versionId);
+            manifest.setLastModified(Instant.now());
+            manifest.setContent(MANIFEST);
+            manifestDao.save(manifest);
+        }
+        return minecraftVersion;
+    }
+
+    private NeoForgeVersion createNeoForgeVersion(MinecraftVersion minecraftVersion, String versionId) {
+        var version = new NeoForgeVersion();
+        version.setGroupId("net.neoforged");
+        version.setArtifactId("neoforge");
+        version.setVersion(versionId);
+        version.setRepository("releases");
+        version.setReleased(Instant.now());
+        version.setDiscovered(Instant.now());
+        version.setLastModified(LAST_MODIFIED);
+        version.setMinecraftVersion(minecraftVersion);
+        version.setLauncherProfileId("neoforge-" + versionId);
+        version.setLauncherProfile(LAUNCHER_PROFILE);
+        version.setInstallerProfile("{\"profile\": \"NeoForge\"}");
+        version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        return versionDao.save(version);
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
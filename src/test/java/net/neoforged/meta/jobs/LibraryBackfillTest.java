@@ -0,0 +1,169 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.ReferencedLibrary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = LibraryBackfillTest.Initializer.class)
+@ActiveProfiles("test")
+class LibraryBackfillTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    LibraryBackfill libraryBackfill;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    LibraryArtifactDao libraryArtifactDao;
+
+    @Autowired
+    LibraryCatalog libraryCatalog;
+
+    @AfterEach
+    void tearDown() {
+        minecraftVersionDao.deleteAll();
+        libraryArtifactDao.deleteAll();
+        jdbcTemplate.execute("drop table if exists minecraft_version_libraries");
+    }
+
+    @Test
+    void testMovesLibrariesToCatalog() {
+        var oldVersion = createVersion("1.20.1");
+        var newVersion = createVersion("1.21");
+        createOldTable();
+        insertOldLibrary(oldVersion, "com.google.guava", "guava", "31.1-jre", null, "guava-sha1");
+        insertOldLibrary(oldVersion, "org.lwjgl", "lwjgl", "3.3.1", "natives-linux", "lwjgl-sha1");
+        insertOldLibrary(newVersion, "com.google.guava", "guava", "31.1-jre", null, "guava-sha1");
+        // Rows of versions that were deleted are dropped
+        insertOldLibrary(newVersion.getId() + 1000, "org.ow2.asm", "asm", "9.7", null, "asm-sha1");
+
+        libraryBackfill.backfill();
+
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var oldLibraries = minecraftVersionDao.getByVersion("1.20.1").getLibraries();
+            assertEquals(List.of("com.google.guava:guava:31.1-jre@jar", "org.lwjgl:lwjgl:3.3.1:natives-linux@jar"),
+                    oldLibraries.stream().map(ReferencedLibrary::getMavenComponentIdString).toList());
+            var guava = oldLibraries.getFirst();
+            assertTrue(guava.isClientClasspath());
+            assertFalse(guava.isServerInstaller());
+            assertEquals("guava-sha1", guava.getSha1Checksum());
+            assertEquals(1234L, guava.getSize());
+            assertEquals("https://libraries.minecraft.net/" + guava.getMavenRepositoryPath(), guava.getUrl());
+
+            var newGuava = minecraftVersionDao.getByVersion("1.21").getLibraries().getFirst();
+            assertEquals(guava.getLibrary().getId(), newGuava.getLibrary().getId());
+        });
+        assertEquals(2, libraryArtifactDao.count());
+        assertFalse(oldTableExists());
+    }
+
+    @Test
+    void testKeepsLibrariesOfReimportedVersions() {
+        var version = createVersion("1.21");
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var library = ReferencedLibrary.of("org.ow2.asm:asm:9.7");
+            libraryCatalog.intern(List.of(library));
+            minecraftVersionDao.getByVersion("1.21").getLibraries().add(library);
+        });
+        createOldTable();
+        insertOldLibrary(version, "org.ow2.asm", "asm", "9.5", null, "asm-sha1");
+
+        libraryBackfill.backfill();
+
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var libraries = minecraftVersionDao.getByVersion("1.21").getLibraries();
+            assertEquals(List.of("org.ow2.asm:asm:9.7@jar"), libraries.stream().map(ReferencedLibrary::getMavenComponentIdString).toList());
+        });
+        assertFalse(oldTableExists());
+    }
+
+    @Test
+    void testDoesNothingWithoutOldTables() {
+        createVersion("1.21");
+
+        libraryBackfill.backfill();
+
+        assertEquals(0, libraryArtifactDao.count());
+    }
+
+    private MinecraftVersion createVersion(String versionId) {
+        var version = new MinecraftVersion();
+        version.setVersion(versionId);
+        version.setType("release");
+        version.setReleased(Instant.now());
+        version.setDiscovered(Instant.now());
+        version.setLastModified(Instant.now());
+        return minecraftVersionDao.save(version);
+    }
+
+    /**
+     * Creates the table that libraries were stored in before the library catalog, as it was generated by Hibernate.
+     */
+    private void createOldTable() {
+        jdbcTemplate.execute("""
+                create table minecraft_version_libraries (minecraft_version_id bigint not null, artifact_id varchar(255) not null,
+                classifier varchar(255), client_classpath boolean, client_installer boolean, client_module_path boolean,
+                extension varchar(255), group_id varchar(255) not null, server_installer boolean, sha1_checksum varchar(255),
+                size bigint, url varchar(255), version varchar(255) not null)""");
+    }
+
+    private void insertOldLibrary(MinecraftVersion version, String groupId, String artifactId, String libraryVersion, String classifier, String sha1) {
+        insertOldLibrary(version.getId(), groupId, artifactId, libraryVersion, classifier, sha1);
+    }
+
+    private void insertOldLibrary(long versionId, String groupId, String artifactId, String libraryVersion, String classifier, String sha1) {
+        var library = ReferencedLibrary.of(groupId + ":" + artifactId + ":" + libraryVersion + (classifier != null ? ":" + classifier : ""));
+        jdbcTemplate.update("""
+                        insert into minecraft_version_libraries (minecraft_version_id, group_id, artifact_id, version, classifier, extension,
+                        sha1_checksum, size, url, client_classpath, client_installer, client_module_path, server_installer)
+                        values (?, ?, ?, ?, ?, 'jar', ?, 1234, ?, true, false, false, false)""",
+                versionId, groupId, artifactId, libraryVersion, classifier, sha1,
+                "https://libraries.minecraft.net/" + library.getMavenRepositoryPath());
+    }
+
+    private boolean oldTableExists() {
+        return jdbcTemplate.queryForObject("select count(*) from sqlite_master where name = 'minecraft_version_libraries'", Integer.class) > 0;
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.neoforged.meta.jobs;
+
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.db.ReferencedLibrary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = LibraryCatalogTest.Initializer.class)
+@ActiveProfiles("test")
+class LibraryCatalogTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    LibraryCatalog libraryCatalog;
+
+    @Autowired
+    LibraryArtifactDao libraryArtifactDao;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        libraryArtifactDao.deleteAll();
+    }
+
+    @Test
+    void testSharesIdenticalLibraries() {
+        var first = intern(createLibrary("https://libraries.minecraft.net/guava.jar", 1234L));
+        var second = intern(createLibrary("https://libraries.minecraft.net/guava.jar", 1234L));
+
+        assertEquals(first.getLibrary().getId(), second.getLibrary().getId());
+        assertEquals(1, libraryArtifactDao.count());
+    }
+
+    @Test
+    void testKeepsUrlAndSizeOfEachVersion() {
+        var minecraftLibrary = intern(createLibrary("https://libraries.minecraft.net/guava.jar", 1234L));
+        var mavenCentralLibrary = intern(createLibrary("https://repo1.maven.org/maven2/guava.jar", 1234L));
+        var otherSizeLibrary = intern(createLibrary("https://libraries.minecraft.net/guava.jar", 4321L));
+
+        assertNotEquals(minecraftLibrary.getLibrary().getId(), mavenCentralLibrary.getLibrary().getId());
+        assertNotEquals(minecraftLibrary.getLibrary().getId(), otherSizeLibrary.getLibrary().getId());
+        assertEquals("https://libraries.minecraft.net/guava.jar", minecraftLibrary.getUrl());
+        assertEquals("https://repo1.maven.org/maven2/guava.jar", mavenCentralLibrary.getUrl());
+        assertEquals(4321L, otherSizeLibrary.getSize());
+        assertEquals(3, libraryArtifactDao.findByCoordinates("com.google.guava", "guava", "31.1-jre", null, "jar", "guava-sha1").size());
+    }
+
+    @Test
+    void testIgnoresEntriesAddedConcurrently() {
+        var library = createLibrary("https://libraries.minecraft.net/guava.jar", 1234L);
+        // Two transactions that both didn't find the library add it, and the second insert is ignored
+        var catalogKey = "com.google.guava:guava:31.1-jre@jar|guava-sha1|1234|https://libraries.minecraft.net/guava.jar";
+        assertEquals(1, (int) transactionTemplate.execute(ignored -> libraryArtifactDao.insertIfAbsent(catalogKey,
+                "com.google.guava", "guava", "31.1-jre", null, "jar", "guava-sha1", 1234L, "https://libraries.minecraft.net/guava.jar")));
+        assertEquals(0, (int) transactionTemplate.execute(ignored -> libraryArtifactDao.insertIfAbsent(catalogKey,
+                "com.google.guava", "guava", "31.1-jre", null, "jar", "guava-sha1", 1234L, "https://libraries.minecraft.net/guava.jar")));
+
+        var interned = intern(library);
+        assertEquals(libraryArtifactDao.findByCatalogKey(catalogKey).orElseThrow().getId(), interned.getLibrary().getId());
+        assertEquals(1, libraryArtifactDao.count());
+    }
+
+    private ReferencedLibrary intern(ReferencedLibrary library) {
+        transactionTemplate.executeWithoutResult(ignored -> libraryCatalog.intern(List.of(library)));
+        return library;
+    }
+
+    private static ReferencedLibrary createLibrary(String url, long size) {
+        var library = ReferencedLibrary.of("com.google.guava:guava:31.1-jre");
+        library.getLibrary().setSha1Checksum("guava-sha1");
+        library.getLibrary().setSize(size);
+        library.getLibrary().setUrl(url);
+        return library;
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
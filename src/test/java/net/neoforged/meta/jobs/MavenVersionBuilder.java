@@ -83,6 +83,11 @@ class MavenVersionBuilder {
         return this;
     }
 
+    public MavenVersionBuilder withoutFile(String filename) {
+        files.remove(filename);
+        return this;
+    }
+
     public MavenVersionBuilder artifact(@Nullable String classifier, String extension, byte[] content, Instant lastModified) {
         String filename = artifactId + "-" + version + (classifier != null ? ("-" + classifier) : "") + "." + extension;
         return file(filename, content, lastModified)
@@ -1,9 +1,17 @@
 package net.neoforged.meta.jobs;
 
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.BrokenSoftwareComponentVersionDao;
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
 import net.neoforged.meta.db.SoftwareComponentVersionDao;
 import net.neoforged.meta.db.MinecraftVersion;
 import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.NeoForgeVersion;
 import net.neoforged.meta.db.SoftwareComponentVersion;
+import net.neoforged.meta.maven.ArtifactDiskCache;
+import net.neoforged.meta.maven.MavenRepositoriesFacade;
+import net.neoforged.meta.readmodel.VersionListCache;
+import net.neoforged.meta.util.HashingUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AutoClose;
 import org.junit.jupiter.api.BeforeAll;
@@ -18,12 +26,21 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -57,9 +74,30 @@ class MavenVersionDiscoveryJobTest {
     @Autowired
     SoftwareComponentVersionDao versionDao;
 
+    @Autowired
+    ComponentDiscoveryStateDao discoveryStateDao;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BrokenSoftwareComponentVersionDao brokenVersionDao;
+
+    @Autowired
+    MetaApiProperties apiProperties;
+
     @Autowired
     private MavenVersionDiscoveryJob job;
 
+    @Autowired
+    VersionListCache versionListCache;
+
+    @Autowired
+    MavenRepositoriesFacade mavenRepositories;
+
+    @Autowired
+    ArtifactDiskCache artifactCache;
+
     @BeforeEach
     void setUp() {
         var minecraftVersion = new MinecraftVersion();
@@ -74,6 +112,8 @@ class MavenVersionDiscoveryJobTest {
         // Clean up database and server after each test
         versionDao.deleteAll();
         minecraftVersionDao.deleteAll();
+        discoveryStateDao.deleteAll();
+        brokenVersionDao.deleteAll();
         mavenRepo.clear();
     }
 
@@ -104,6 +144,21 @@ class MavenVersionDiscoveryJobTest {
         assertTrue(versions.stream().noneMatch(SoftwareComponentVersion::isSnapshot));
     }
 
+    @Test
+    void testRebuildsVersionListAfterDiscovery() {
+        var before = versionListCache.getNeoForgeVersions();
+
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0-beta", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+        job.run();
+
+        var after = versionListCache.getNeoForgeVersions();
+        var json = new String(after.json(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"version\":\"21.3.0-beta\""), json);
+        assertNotEquals(before.eTag(), after.eTag());
+    }
+
     @Test
     void testHandlesMissingArtifact() {
         // Configure repository to return 404
@@ -164,11 +219,221 @@ class MavenVersionDiscoveryJobTest {
         assertTrue(versionStrings.contains("21.3.2"));
     }
 
+    @Test
+    void testDiscoversWithoutRangeRequestSupport() {
+        mavenRepo.setRangeRequestsSupported(false);
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+
+        job.run();
+
+        var versions = versionDao.findAll();
+        assertEquals(1, versions.size());
+        var neoForgeVersion = assertInstanceOf(NeoForgeVersion.class, versions.getFirst());
+        assertEquals("1.0.0", neoForgeVersion.getMinecraftVersion().getVersion());
+    }
+
+    @Test
+    void testReadsCachedInstallerFromDisk() {
+        mavenRepo.setRangeRequestsSupported(false);
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+        // Other tests in this class may have cached the same installer already
+        artifactCache.remove("releases", mavenRepositories.getArtifactPath("releases", "net.neoforged", "neoforge", "21.3.0", "installer", "jar"));
+
+        // The full download is cached, and read from disk once the repository confirms it is unchanged
+        var zip = mavenRepositories.openArtifactAsZip("releases", "net.neoforged", "neoforge", "21.3.0", "installer", "jar");
+        assertNotNull(zip.readEntry("install_profile.json"));
+        assertEquals(1, mavenRepo.getFullDownloads("neoforge-21.3.0-installer.jar"));
+
+        mavenRepo.setRangeRequestsSupported(true);
+        var cachedZip = mavenRepositories.openArtifactAsZip("releases", "net.neoforged", "neoforge", "21.3.0", "installer", "jar");
+        assertTrue(cachedZip.isFullyDownloaded());
+        assertNotNull(cachedZip.readEntry("install_profile.json"));
+        assertEquals(1, cachedZip.getRequests());
+        var length = mavenRepositories.readArtifact("releases", "net.neoforged", "neoforge", "21.3.0", "installer", "jar", in -> {
+            try {
+                return in.readAllBytes().length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertTrue(length > 0);
+        assertEquals(1, mavenRepo.getFullDownloads("neoforge-21.3.0-installer.jar"));
+    }
+
+    @Test
+    void testComputesUnpublishedChecksums() {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication()
+                        .withoutFile("neoforge-21.3.0.pom.sha256")
+                        .withoutFile("neoforge-21.3.0.pom.sha512"))
+                .withSnapshot(false);
+
+        job.run();
+
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var pom = versionDao.findAll().getFirst().getArtifact(null, "pom");
+            assertNotNull(pom);
+            assertEquals(HashingUtil.sha1("<project>"), pom.getSha1Checksum());
+            assertEquals("313cca81bdc826f52de3e481c64cca1506a97620a80d97f9eec6d1c416e5aeb5", pom.getSha256Checksum());
+            assertEquals(128, pom.getSha512Checksum().length());
+        });
+    }
+
+    @Test
+    void testSkipsUnchangedVersionList() {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withVersion("21.3.1", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+
+        job.run();
+        assertEquals(2, versionDao.findAll().size());
+        assertEquals(0, mavenRepo.getNotModifiedResponses());
+
+        // The second run should only send a conditional request for the maven-metadata.xml
+        job.run();
+        assertEquals(1, mavenRepo.getNotModifiedResponses());
+        assertEquals(2, versionDao.findAll().size());
+
+        // Forgetting the discovery state forces a full pass
+        discoveryStateDao.deleteAll();
+        job.run();
+        assertEquals(1, mavenRepo.getNotModifiedResponses());
+        assertEquals(2, versionDao.findAll().size());
+    }
+
+    @Test
+    void testOnlyProcessesAppendedVersions() {
+        var artifact = mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withVersion("21.3.1", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+
+        job.run();
+        assertEquals(2, versionDao.findAll().size());
+
+        // Versions listed before the watermark are not compared against the database again
+        transactionTemplate.executeWithoutResult(ignored -> versionDao.delete(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.0")));
+        artifact.withVersion("21.3.2", builder -> builder.neoForgePublication());
+        job.run();
+        assertNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.0"));
+        assertNotNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.2"));
+
+        // Forgetting the discovery state forces a full comparison
+        discoveryStateDao.deleteAll();
+        job.run();
+        assertNotNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.0"));
+        assertEquals(3, versionDao.findAll().size());
+    }
+
+    @Test
+    void testReportsComponentDiscovery() {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withVersion("21.3.1", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+
+        job.run();
+
+        var report = job.getLastReports().stream()
+                .filter(r -> r.groupId().equals("net.neoforged") && r.artifactId().equals("neoforge"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(report.successful());
+        assertEquals("releases", report.repository());
+        assertEquals(2, report.newVersions());
+        assertTrue(report.requests() > 2, "requests");
+        assertTrue(report.bytesReceived() > 0, "bytes received");
+    }
+
+    @Test
+    void testDiscoversComponentAgainAfterTimeout() throws Exception {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+        var component = apiProperties.getComponents().stream()
+                .filter(c -> c.getGroupId().equals("net.neoforged") && c.getArtifactId().equals("neoforge"))
+                .findFirst()
+                .orElseThrow();
+        var timeout = component.getDiscoveryTimeout();
+
+        // Times out before or while the component is discovered
+        component.setDiscoveryTimeout(Duration.ZERO);
+        try {
+            job.run();
+        } finally {
+            component.setDiscoveryTimeout(timeout);
+        }
+        assertTrue(getReport("net.neoforged", "neoforge").error().startsWith("Timed out"));
+
+        // Discovered again by a later run, once an interrupted discovery has stopped
+        var deadline = Instant.now().plusSeconds(10);
+        do {
+            Thread.sleep(50);
+            job.run();
+        } while (!getReport("net.neoforged", "neoforge").successful() && Instant.now().isBefore(deadline));
+        assertTrue(getReport("net.neoforged", "neoforge").successful());
+        assertNotNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.0"));
+    }
+
+    private ComponentDiscoveryReport getReport(String groupId, String artifactId) {
+        return job.getLastReports().stream()
+                .filter(r -> r.groupId().equals(groupId) && r.artifactId().equals(artifactId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void testDiscoversPublishedVersion() {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                // Without an installer
+                .withVersion("21.3.1", builder -> builder.mavenPom())
+                .withSnapshot(false);
+        var component = apiProperties.getComponents().stream()
+                .filter(c -> c.getGroupId().equals("net.neoforged") && c.getArtifactId().equals("neoforge"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(MavenVersionDiscoveryJob.PublishedVersionOutcome.DISCOVERED, job.discoverPublishedVersion(component, "21.3.0"));
+        assertNotNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.0"));
+        assertEquals(MavenVersionDiscoveryJob.PublishedVersionOutcome.ALREADY_KNOWN, job.discoverPublishedVersion(component, "21.3.0"));
+
+        assertEquals(MavenVersionDiscoveryJob.PublishedVersionOutcome.FAILED, job.discoverPublishedVersion(component, "21.3.1"));
+        assertNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.1"));
+        assertEquals(MavenVersionDiscoveryJob.PublishedVersionOutcome.BROKEN, job.discoverPublishedVersion(component, "21.3.1"));
+
+        // Polling afterward finds nothing new
+        job.run();
+        assertEquals(1, versionDao.findAll().size());
+    }
+
+    @Test
+    void testIgnoresUnlistedPublishedVersion() {
+        mavenRepo.addArtifact("releases", "net.neoforged", "neoforge")
+                .withVersion("21.3.0", builder -> builder.neoForgePublication())
+                .withSnapshot(false);
+        var component = apiProperties.getComponents().stream()
+                .filter(c -> c.getGroupId().equals("net.neoforged") && c.getArtifactId().equals("neoforge"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(MavenVersionDiscoveryJob.PublishedVersionOutcome.NOT_PUBLISHED, job.discoverPublishedVersion(component, "21.3.O"));
+        assertNull(versionDao.findByGAV("net.neoforged", "neoforge", "21.3.O"));
+        assertEquals(0, brokenVersionDao.count());
+    }
+
     public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
         @Override
         public void initialize(ConfigurableApplicationContext context) {
             TestPropertyValues.of(
                     "meta-api.data-directory=" + tempDir.toAbsolutePath(),
+                    // The artifacts in these tests are tiny
+                    "meta-api.artifact-cache.min-artifact-size=0",
                     "meta-api.maven-repositories[0].id=releases",
                     "meta-api.maven-repositories[0].url=" + mavenRepo.getBaseUrl() + "/releases"
             ).applyTo(context);
@@ -1,6 +1,14 @@
 package net.neoforged.meta.jobs;
 
+import net.neoforged.meta.db.CompressedBlobConverter;
+import net.neoforged.meta.db.ComponentDiscoveryStateDao;
+import net.neoforged.meta.db.LibraryArtifactDao;
+import net.neoforged.meta.db.MinecraftVersion;
 import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.MinecraftVersionManifestDao;
+import net.neoforged.meta.db.ReferencedLibrary;
+import net.neoforged.meta.readmodel.VersionListCache;
+import net.neoforged.meta.util.HashingUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AutoClose;
 import org.junit.jupiter.api.BeforeAll;
@@ -15,7 +23,9 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +56,24 @@ class MinecraftVersionDiscoveryJobTest {
     @Autowired
     MinecraftVersionDiscoveryJob pollingJob;
 
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ComponentDiscoveryStateDao discoveryStateDao;
+
+    @Autowired
+    LibraryArtifactDao libraryArtifactDao;
+
+    @Autowired
+    MinecraftVersionManifestDao manifestDao;
+
+    @Autowired
+    CompressedBlobConverter blobConverter;
+
+    @Autowired
+    VersionListCache versionListCache;
+
     @BeforeAll
     static void setUpAll() {
         // Create and start fake launcher manifest server
@@ -61,7 +89,10 @@ class MinecraftVersionDiscoveryJobTest {
     @AfterEach
     void tearDown() {
         // Clean up database after each test
+        discoveryStateDao.deleteAll();
         minecraftVersionDao.deleteAll();
+        libraryArtifactDao.deleteAll();
+        versionListCache.invalidate();
     }
 
     @Test
@@ -139,6 +170,169 @@ class MinecraftVersionDiscoveryJobTest {
         assertEquals(22, v2.getJavaVersion());
     }
 
+    @Test
+    void testSkipsUnchangedVersions() {
+        launcherServer.addVersion("1.20.1", "release")
+                .withReleaseTime("2023-06-12T12:00:00+00:00")
+                .withManifest(17);
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifest(21);
+
+        pollingJob.run();
+        assertEquals(2, launcherServer.getVersionManifestRequests());
+
+        // Nothing changed, so no version manifests should be fetched
+        pollingJob.run();
+        assertEquals(2, launcherServer.getVersionManifestRequests());
+
+        // Unless a reimport was requested
+        transactionTemplate.executeWithoutResult(ignored -> {
+            minecraftVersionDao.setReimportForVersion("1.21");
+            discoveryStateDao.invalidateByGA(MinecraftVersion.MINECRAFT_GROUP_ID, MinecraftVersion.MINECRAFT_ARTIFACT_ID);
+        });
+        pollingJob.run();
+        assertEquals(3, launcherServer.getVersionManifestRequests());
+        assertFalse(minecraftVersionDao.getByVersion("1.21").isReimport());
+    }
+
+    @Test
+    void testSkipsUnchangedLauncherManifest() {
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifest(21);
+
+        assertTrue(pollingJob.discover());
+
+        // The server answers with 304 Not Modified, so the launcher manifest is not processed at all
+        assertFalse(pollingJob.discover());
+        assertEquals(1, launcherServer.getNotModifiedResponses());
+        assertEquals(1, launcherServer.getVersionManifestRequests());
+
+        // A changed launcher manifest is processed again
+        launcherServer.addVersion("1.21.1", "release")
+                .withReleaseTime("2024-08-08T12:00:00+00:00")
+                .withManifest(21);
+        assertTrue(pollingJob.discover());
+        assertEquals(1, launcherServer.getNotModifiedResponses());
+        assertEquals(2, launcherServer.getVersionManifestRequests());
+        assertEquals(2, minecraftVersionDao.findAll().size());
+    }
+
+    @Test
+    void testSkipsUnchangedLauncherManifestWithoutConditionalRequests() {
+        launcherServer.setConditionalRequestsSupported(false);
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifest(21);
+
+        assertTrue(pollingJob.discover());
+
+        // The content hash is unchanged, so the launcher manifest is not processed again
+        assertFalse(pollingJob.discover());
+        assertEquals(0, launcherServer.getNotModifiedResponses());
+        assertEquals(1, launcherServer.getVersionManifestRequests());
+        assertNotNull(discoveryStateDao.findByComponent(MinecraftVersionDiscoveryJob.LAUNCHER_META_REPOSITORY,
+                MinecraftVersion.MINECRAFT_GROUP_ID, MinecraftVersion.MINECRAFT_ARTIFACT_ID).getContentSha1());
+    }
+
+    @Test
+    void testSharesLibrariesBetweenVersions() {
+        launcherServer.addVersion("1.20.1", "release")
+                .withReleaseTime("2023-06-12T12:00:00+00:00")
+                .withManifestRaw(manifestWithLibraries("1.20.1", "com.google.guava:guava:31.1-jre", "org.ow2.asm:asm:9.5"));
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifestRaw(manifestWithLibraries("1.21", "com.google.guava:guava:31.1-jre", "org.ow2.asm:asm:9.7"));
+
+        pollingJob.run();
+
+        // Guava is only stored once in the catalog
+        var guavaSha1 = HashingUtil.sha1("com.google.guava:guava:31.1-jre");
+        assertEquals(1, libraryArtifactDao.findByCoordinates("com.google.guava", "guava", "31.1-jre", null, "jar", guavaSha1).size());
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var oldGuava = minecraftVersionDao.getByVersion("1.20.1").getLibraries().getFirst();
+            var newGuava = minecraftVersionDao.getByVersion("1.21").getLibraries().getFirst();
+            assertEquals("com.google.guava:guava:31.1-jre@jar", newGuava.getMavenComponentIdString());
+            assertTrue(newGuava.isClientClasspath());
+            assertEquals(oldGuava.getLibrary().getId(), newGuava.getLibrary().getId());
+        });
+    }
+
+    @Test
+    void testRebuildsVersionListAfterDiscovery() {
+        var before = versionListCache.getMinecraftVersions();
+        assertSame(before, versionListCache.getMinecraftVersions());
+
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifest(21);
+        pollingJob.run();
+
+        var after = versionListCache.getMinecraftVersions();
+        var json = new String(after.json(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"version\":\"1.21\""), json);
+        assertTrue(json.contains("\"released\":\"2024-06-13T12:00:00Z\""), json);
+        assertNotEquals(before.eTag(), after.eTag());
+        assertSame(after, versionListCache.getMinecraftVersions());
+    }
+
+    @Test
+    void testReadsStoredManifestWithoutDecompressing() throws Exception {
+        launcherServer.addVersion("1.21", "release")
+                .withReleaseTime("2024-06-13T12:00:00+00:00")
+                .withManifestRaw(manifestWithLibraries("1.21", "com.google.guava:guava:31.1-jre"));
+        pollingJob.run();
+
+        var info = manifestDao.findInfoByVersion("1.21");
+        assertNotNull(info);
+        assertEquals(HashingUtil.sha1(manifestWithLibraries("1.21", "com.google.guava:guava:31.1-jre")), info.sha1());
+        var stored = manifestDao.findStoredContent(info.id());
+        assertNotNull(stored);
+        assertEquals(manifestWithLibraries("1.21", "com.google.guava:guava:31.1-jre"), blobConverter.decompress(stored.content()));
+        assertNull(manifestDao.findInfoByVersion("1.22"));
+    }
+
+    private static String manifestWithLibraries(String id, String... libraries) {
+        var libraryJson = new StringBuilder();
+        for (var library : libraries) {
+            var referencedLibrary = ReferencedLibrary.of(library);
+            var path = referencedLibrary.getMavenRepositoryPath();
+            if (!libraryJson.isEmpty()) {
+                libraryJson.append(",");
+            }
+            libraryJson.append(String.format("""
+                            {
+                                "name": "%s",
+                                "downloads": {
+                                    "artifact": {
+                                        "path": "%s",
+                                        "sha1": "%s",
+                                        "size": 1024,
+                                        "url": "https://libraries.minecraft.net/%s"
+                                    }
+                                }
+                            }""",
+                    library,
+                    path,
+                    HashingUtil.sha1(library),
+                    path
+            ));
+        }
+        return String.format("""
+                        {
+                            "id": "%s",
+                            "type": "release",
+                            "javaVersion": {
+                                "majorVersion": 21
+                            },
+                            "libraries": [%s]
+                        }""",
+                id,
+                libraryJson
+        );
+    }
+
     @Test
     void testHandlesNewVersionsAdded() {
         // Start with one version
@@ -0,0 +1,147 @@
+package net.neoforged.meta.maven;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import net.neoforged.meta.db.SoftwareComponentArtifact.ChecksumType;
+import net.neoforged.meta.util.HashingUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArtifactChecksumResolverTest {
+    private static final byte[] CONTENT = "artifact content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    MavenRepositoriesFacade mavenRepositories;
+
+    @BeforeEach
+    void setUp() {
+        mavenRepositories = mock(MavenRepositoriesFacade.class);
+        when(mavenRepositories.getArtifactPath(anyString(), anyString(), anyString(), anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(3) + "/" + invocation.getArgument(2) + "-" + invocation.getArgument(3) + ".jar");
+        // Only MD5 and SHA-1 are published, so the others have to be computed from the artifact
+        when(mavenRepositories.getOptionalArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar.md5")))
+                .thenReturn(hash(CONTENT, "MD5").getBytes(StandardCharsets.UTF_8));
+        when(mavenRepositories.getOptionalArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar.sha1")))
+                .thenReturn(HashingUtil.sha1(CONTENT).getBytes(StandardCharsets.UTF_8));
+        when(mavenRepositories.readArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar"), any()))
+                .thenAnswer(invocation -> invocation.<Function<Object, Object>>getArgument(6).apply(new ByteArrayInputStream(CONTENT)));
+    }
+
+    @Test
+    void testResolvesUnchangedArtifactFromCache() {
+        var resolver = createResolver(10);
+        var first = resolve(resolver, "1.0", "\"etag\"");
+        assertEquals(HashingUtil.sha1(CONTENT), first.get(ChecksumType.SHA1));
+        assertEquals(128, first.get(ChecksumType.SHA512).length());
+        verify(mavenRepositories, times(1)).readArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar"), any());
+
+        clearInvocations(mavenRepositories);
+        assertEquals(first, resolve(createResolver(10), "1.0", "\"etag\""));
+        verify(mavenRepositories, never()).getOptionalArtifact(anyString(), anyString(), anyString(), anyString(), any(), any());
+        verify(mavenRepositories, never()).readArtifact(anyString(), anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testResolvesArtifactWithoutETagFromCache() {
+        var headers = new HttpHeaders();
+        headers.setLastModified(1_700_000_000_000L);
+        headers.setContentLength(CONTENT.length);
+        var resolver = createResolver(10);
+        resolver.resolve("releases", "group", "artifact", "1.0", null, "jar", headers);
+
+        clearInvocations(mavenRepositories);
+        resolver.resolve("releases", "group", "artifact", "1.0", null, "jar", headers);
+        verify(mavenRepositories, never()).getOptionalArtifact(anyString(), anyString(), anyString(), anyString(), any(), any());
+        verify(mavenRepositories, never()).readArtifact(anyString(), anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testResolvesChangedArtifactAgain() {
+        var resolver = createResolver(10);
+        resolve(resolver, "1.0", "\"old\"");
+
+        clearInvocations(mavenRepositories);
+        resolve(resolver, "1.0", "\"new\"");
+        verify(mavenRepositories, times(1)).readArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar"), any());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException {
+        var resolver = createResolver(2);
+        resolve(resolver, "1.0", "\"1\"");
+        resolve(resolver, "2.0", "\"2\"");
+        resolve(resolver, "1.0", "\"1\"");
+        resolve(resolver, "3.0", "\"3\"");
+        assertEquals(2, countCacheFiles());
+
+        clearInvocations(mavenRepositories);
+        resolve(resolver, "1.0", "\"1\"");
+        resolve(resolver, "3.0", "\"3\"");
+        verify(mavenRepositories, never()).readArtifact(anyString(), anyString(), anyString(), anyString(), any(), any(), any());
+        resolve(resolver, "2.0", "\"2\"");
+        verify(mavenRepositories, times(1)).readArtifact(anyString(), anyString(), anyString(), anyString(), isNull(), eq("jar"), any());
+    }
+
+    @Test
+    void testEvictsWhenLoadingFromDisk() throws IOException {
+        var resolver = createResolver(10);
+        resolve(resolver, "1.0", "\"1\"");
+        resolve(resolver, "2.0", "\"2\"");
+        resolve(resolver, "3.0", "\"3\"");
+
+        resolve(createResolver(2), "4.0", "\"4\"");
+        assertEquals(2, countCacheFiles());
+    }
+
+    private static String hash(byte[] content, String algorithm) {
+        try {
+            return HashingUtil.hash(new ByteArrayInputStream(content), List.of(algorithm)).get(algorithm);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<ChecksumType, String> resolve(ArtifactChecksumResolver resolver, String version, String etag) {
+        var headers = new HttpHeaders();
+        headers.setETag(etag);
+        return resolver.resolve("releases", "group", "artifact", version, null, "jar", headers);
+    }
+
+    private ArtifactChecksumResolver createResolver(int maxEntries) {
+        var properties = new MetaApiProperties();
+        properties.setDataDirectory(tempDir.toFile());
+        properties.getArtifactCache().setMaxChecksumEntries(maxEntries);
+        return new ArtifactChecksumResolver(mavenRepositories, properties);
+    }
+
+    private long countCacheFiles() throws IOException {
+        try (var stream = Files.walk(tempDir.resolve("checksum-cache"))) {
+            return stream.filter(p -> p.toString().endsWith(".json")).count();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package net.neoforged.meta.maven;
+
+import net.neoforged.meta.config.MetaApiProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ArtifactDiskCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStoresArtifacts() {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        var content = createContent(10, 1);
+        var lastModified = Instant.parse("2025-01-01T00:00:00Z");
+        cache.put("releases", "a/b/1.0/b-1.0.jar", content, "\"etag\"", lastModified);
+
+        var entry = cache.get("releases", "a/b/1.0/b-1.0.jar");
+        assertNotNull(entry);
+        assertEquals("\"etag\"", entry.etag());
+        assertEquals(lastModified, entry.lastModified());
+        assertArrayEquals(content, cache.read(entry));
+        assertNull(cache.get("other", "a/b/1.0/b-1.0.jar"));
+    }
+
+    @Test
+    void testSkipsSmallAndUnvalidatedArtifacts() {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        cache.put("releases", "small.pom", new byte[100], "\"etag\"", null);
+        cache.put("releases", "unvalidated.jar", createContent(10, 1), null, null);
+
+        assertNull(cache.get("releases", "small.pom"));
+        assertNull(cache.get("releases", "unvalidated.jar"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        var cache = createCache(DataSize.ofKilobytes(25));
+        cache.put("releases", "first.jar", createContent(10, 1), "\"1\"", null);
+        cache.put("releases", "second.jar", createContent(10, 2), "\"2\"", null);
+        assertNotNull(cache.read(cache.get("releases", "first.jar")));
+
+        cache.put("releases", "third.jar", createContent(10, 3), "\"3\"", null);
+
+        assertNotNull(cache.get("releases", "first.jar"));
+        assertNull(cache.get("releases", "second.jar"));
+        assertNotNull(cache.get("releases", "third.jar"));
+        assertEquals(20 * 1024, cache.getTotalSize());
+    }
+
+    @Test
+    void testRemovesCorruptedEntries() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        cache.put("releases", "a.jar", createContent(10, 1), "\"1\"", null);
+
+        try (var stream = Files.walk(tempDir.resolve("artifact-cache"))) {
+            for (var file : stream.filter(p -> p.toString().endsWith(".bin")).toList()) {
+                Files.write(file, createContent(10, 2));
+            }
+        }
+
+        var entry = cache.get("releases", "a.jar");
+        assertNotNull(entry);
+        assertNull(cache.read(entry));
+        assertNull(cache.get("releases", "a.jar"));
+        assertEquals(0, cache.getTotalSize());
+    }
+
+    @Test
+    void testRestoresIndexFromDisk() {
+        var content = createContent(10, 1);
+        createCache(DataSize.ofKilobytes(100)).put("releases", "a.jar", content, "\"1\"", null);
+
+        var cache = createCache(DataSize.ofKilobytes(100));
+        var entry = cache.get("releases", "a.jar");
+        assertNotNull(entry);
+        assertArrayEquals(content, cache.read(entry));
+        assertEquals(content.length, cache.getTotalSize());
+    }
+
+    @Test
+    void testStoresStreamedArtifacts() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        var content = createContent(10, 1);
+        try (var pendingEntry = cache.startPut("releases", "a.jar", "\"1\"", null)) {
+            assertNotNull(pendingEntry);
+            for (var offset = 0; offset < content.length; offset += 1000) {
+                pendingEntry.write(content, offset, Math.min(1000, content.length - offset));
+            }
+            // Nothing is visible before the entry is committed
+            assertNull(cache.get("releases", "a.jar"));
+            pendingEntry.commit();
+        }
+
+        var entry = cache.get("releases", "a.jar");
+        assertNotNull(entry);
+        assertEquals(content.length, entry.size());
+        try (var in = cache.open(entry)) {
+            assertNotNull(in);
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertEquals(List.of(), getTempFiles());
+    }
+
+    @Test
+    void testDiscardsUncommittedArtifacts() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        try (var pendingEntry = cache.startPut("releases", "a.jar", "\"1\"", null)) {
+            assertNotNull(pendingEntry);
+            pendingEntry.write(createContent(10, 1), 0, 5000);
+        }
+
+        assertNull(cache.get("releases", "a.jar"));
+        assertEquals(0, cache.getTotalSize());
+        assertEquals(List.of(), getTempFiles());
+    }
+
+    @Test
+    void testDiscardsStreamedArtifactsLargerThanCache() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(25));
+        try (var pendingEntry = cache.startPut("releases", "a.jar", "\"1\"", null)) {
+            assertNotNull(pendingEntry);
+            for (var i = 0; i < 3; i++) {
+                pendingEntry.write(createContent(10, i), 0, 10 * 1024);
+            }
+            pendingEntry.commit();
+        }
+
+        assertNull(cache.get("releases", "a.jar"));
+        assertEquals(0, cache.getTotalSize());
+        assertEquals(List.of(), getTempFiles());
+    }
+
+    @Test
+    void testRemovesTemporaryFilesOnStartup() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        var pendingEntry = cache.startPut("releases", "a.jar", "\"1\"", null);
+        assertNotNull(pendingEntry);
+        pendingEntry.write(createContent(10, 1), 0, 1024);
+        assertEquals(1, getTempFiles().size());
+
+        // As if the process died while writing the entry
+        assertEquals(0, createCache(DataSize.ofKilobytes(100)).getTotalSize());
+        assertEquals(List.of(), getTempFiles());
+        pendingEntry.close();
+    }
+
+    @Test
+    void testDoesNotOpenCorruptedEntries() throws IOException {
+        var cache = createCache(DataSize.ofKilobytes(100));
+        cache.put("releases", "a.jar", createContent(10, 1), "\"1\"", null);
+
+        try (var stream = Files.walk(tempDir.resolve("artifact-cache"))) {
+            for (var file : stream.filter(p -> p.toString().endsWith(".bin")).toList()) {
+                Files.write(file, createContent(10, 2));
+            }
+        }
+
+        var entry = cache.get("releases", "a.jar");
+        assertNotNull(entry);
+        assertNull(cache.open(entry));
+        assertNull(cache.get("releases", "a.jar"));
+    }
+
+    private List<Path> getTempFiles() throws IOException {
+        try (var stream = Files.walk(tempDir.resolve("artifact-cache"))) {
+            return stream.filter(p -> p.toString().endsWith(".tmp")).toList();
+        }
+    }
+
+    private ArtifactDiskCache createCache(DataSize maxSize) {
+        var properties = new MetaApiProperties();
+        properties.setDataDirectory(tempDir.toFile());
+        properties.getArtifactCache().setEnabled(true);
+        properties.getArtifactCache().setMaxSize(maxSize);
+        return new ArtifactDiskCache(properties);
+    }
+
+    private static byte[] createContent(int kilobytes, int fill) {
+        var content = new byte[kilobytes * 1024];
+        Arrays.fill(content, (byte) fill);
+        return content;
+    }
+}
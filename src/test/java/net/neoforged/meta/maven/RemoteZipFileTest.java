@@ -0,0 +1,131 @@
+package net.neoforged.meta.maven;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RemoteZipFileTest {
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private byte[] zipContent;
+    private byte[] largeEntry;
+    private final AtomicLong bytesTransferred = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Incompressible, so that most of the zip consists of this entry
+        largeEntry = new byte[1024 * 1024];
+        new Random(1).nextBytes(largeEntry);
+
+        var out = new ByteArrayOutputStream();
+        try (var zout = new ZipOutputStream(out)) {
+            zout.putNextEntry(new ZipEntry("install_profile.json"));
+            zout.write("{\"json\": \"/version.json\"}".repeat(100).getBytes(StandardCharsets.UTF_8));
+            zout.closeEntry();
+
+            zout.putNextEntry(new ZipEntry("large.bin"));
+            zout.write(largeEntry);
+            zout.closeEntry();
+
+            var stored = new ZipEntry("data/stored.txt");
+            var storedContent = "stored content".getBytes(StandardCharsets.UTF_8);
+            var crc = new CRC32();
+            crc.update(storedContent);
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(storedContent.length);
+            stored.setCrc(crc.getValue());
+            zout.putNextEntry(stored);
+            zout.write(storedContent);
+            zout.closeEntry();
+
+            // Enough entries that the central directory doesn't fit into the initial tail request
+            for (int i = 0; i < 2000; i++) {
+                zout.putNextEntry(new ZipEntry("classes/net/neoforged/SomeLongClassNameToFillTheCentralDirectory" + i + ".class"));
+                zout.closeEntry();
+            }
+        }
+        zipContent = out.toByteArray();
+    }
+
+    @Test
+    void testReadsEntriesWithRangeRequests() {
+        var zipFile = RemoteZipFile.open(this::serveRange);
+
+        assertFalse(zipFile.isFullyDownloaded());
+        assertEquals(2003, zipFile.getEntryNames().size());
+        assertEquals(List.of("install_profile.json", "large.bin", "data/stored.txt"), zipFile.getEntryNames().stream().limit(3).toList());
+
+        assertEquals("{\"json\": \"/version.json\"}".repeat(100), new String(zipFile.readEntry("install_profile.json"), StandardCharsets.UTF_8));
+        assertEquals("stored content", new String(zipFile.readEntry("data/stored.txt"), StandardCharsets.UTF_8));
+        assertNull(zipFile.readEntry("missing.txt"));
+
+        // Only the central directory and the two small entries should have been transferred
+        assertTrue(bytesTransferred.get() < zipContent.length / 2, "Transferred " + bytesTransferred.get() + " of " + zipContent.length + " bytes");
+        assertEquals(4, zipFile.getRequests());
+
+        assertArrayEquals(largeEntry, zipFile.readEntry("large.bin"));
+    }
+
+    @Test
+    void testFallsBackToFullDownload() {
+        var zipFile = RemoteZipFile.open(range -> {
+            bytesTransferred.addAndGet(zipContent.length);
+            return RemoteZipFile.RangeResponse.full(zipContent);
+        });
+
+        assertTrue(zipFile.isFullyDownloaded());
+        assertEquals("stored content", new String(zipFile.readEntry("data/stored.txt"), StandardCharsets.UTF_8));
+        assertArrayEquals(largeEntry, zipFile.readEntry("large.bin"));
+        assertEquals(1, zipFile.getRequests());
+    }
+
+    @Test
+    void testFallsBackToFullDownloadAfterDirectoryWasRead() {
+        var rangeRequests = new AtomicLong();
+        var zipFile = RemoteZipFile.open(range -> {
+            // Only honor the requests for the central directory
+            if (rangeRequests.getAndIncrement() < 2) {
+                return serveRange(range);
+            }
+            return RemoteZipFile.RangeResponse.full(zipContent);
+        });
+
+        assertFalse(zipFile.isFullyDownloaded());
+        assertEquals("stored content", new String(zipFile.readEntry("data/stored.txt"), StandardCharsets.UTF_8));
+        assertTrue(zipFile.isFullyDownloaded());
+        assertArrayEquals(largeEntry, zipFile.readEntry("large.bin"));
+    }
+
+    private RemoteZipFile.RangeResponse serveRange(String range) {
+        var matcher = RANGE_PATTERN.matcher(range);
+        assertTrue(matcher.matches(), range);
+        int start, end;
+        if (matcher.group(1).isEmpty()) {
+            start = Math.max(0, zipContent.length - Integer.parseInt(matcher.group(2)));
+            end = zipContent.length - 1;
+        } else {
+            start = Integer.parseInt(matcher.group(1));
+            end = Math.min(zipContent.length - 1, Integer.parseInt(matcher.group(2)));
+        }
+        var content = Arrays.copyOfRange(zipContent, start, end + 1);
+        bytesTransferred.addAndGet(content.length);
+        return new RemoteZipFile.RangeResponse(true, start, zipContent.length, content);
+    }
+}
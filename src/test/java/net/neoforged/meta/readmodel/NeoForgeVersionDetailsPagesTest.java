@@ -0,0 +1,218 @@
+package net.neoforged.meta.readmodel;
+
+import net.neoforged.meta.api.NeoForgeVersionsApiController;
+import net.neoforged.meta.db.MinecraftVersion;
+import net.neoforged.meta.db.MinecraftVersionDao;
+import net.neoforged.meta.db.NeoForgeVersion;
+import net.neoforged.meta.db.SoftwareComponentArtifact;
+import net.neoforged.meta.db.SoftwareComponentReleaseNotes;
+import net.neoforged.meta.db.SoftwareComponentVersionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@ContextConfiguration(initializers = NeoForgeVersionDetailsPagesTest.Initializer.class)
+@ActiveProfiles("test")
+class NeoForgeVersionDetailsPagesTest {
+    @TempDir
+    static Path tempDir;
+
+    @Autowired
+    NeoForgeVersionDetailsPages detailsPages;
+
+    @Autowired
+    NeoForgeVersionsApiController controller;
+
+    @Autowired
+    SoftwareComponentVersionDao versionDao;
+
+    @Autowired
+    MinecraftVersionDao minecraftVersionDao;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(ignored -> {
+            var minecraftVersion = new MinecraftVersion();
+            minecraftVersion.setVersion("1.21.1");
+            minecraftVersion.setType("release");
+            minecraftVersion.setReleased(Instant.parse("2024-08-08T12:00:00Z"));
+            minecraftVersion.setDiscovered(Instant.now());
+            minecraftVersion.setLastModified(Instant.now());
+            minecraftVersionDao.save(minecraftVersion);
+
+            createVersion(minecraftVersion, "21.1.0-beta");
+            createVersion(minecraftVersion, "21.1.1-beta");
+            createVersion(minecraftVersion, "21.1.2");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        versionDao.deleteAll();
+        minecraftVersionDao.deleteAll();
+    }
+
+    @Test
+    void testPagesThroughVersionDetails() {
+        var firstPage = getPage(null, 2, null);
+        var firstVersions = firstPage.get("versions");
+        assertEquals(2, firstVersions.size());
+        var first = firstVersions.get(0);
+        assertEquals("net.neoforged", first.get("group_id").asString());
+        assertEquals("neoforge", first.get("artifact_id").asString());
+        assertEquals("21.1.0-beta", first.get("version").asString());
+        assertEquals("1.21.1", first.get("minecraft_version").asString());
+        assertEquals("21.1.1-beta", firstVersions.get(1).get("version").asString());
+        assertFalse(firstPage.get("next_cursor").isNull());
+
+        var secondPage = getPage(firstPage.get("next_cursor").asString(), 2, null);
+        var secondVersions = secondPage.get("versions");
+        assertEquals(1, secondVersions.size());
+        assertEquals("21.1.2", secondVersions.get(0).get("version").asString());
+        assertTrue(secondPage.get("next_cursor").isNull());
+    }
+
+    @Test
+    void testIncludesRequestedFields() {
+        var all = getPage(null, 1, null).get("versions").get(0);
+        var artifact = all.get("artifacts").get(0);
+        assertEquals("installer", artifact.get("classifier").asString());
+        assertEquals("https://maven.neoforged.net/releases/net/neoforged/neoforge/21.1.0-beta/neoforge-21.1.0-beta-installer.jar",
+                artifact.get("url").asString());
+        assertEquals("md5-21.1.0-beta", artifact.get("md5_checksum").asString());
+        assertEquals("Release notes of 21.1.0-beta", all.get("release_notes").get("text").asString());
+
+        var releaseNotesOnly = getPage(null, 1, "release_notes").get("versions").get(0);
+        assertFalse(releaseNotesOnly.has("artifacts"));
+        assertTrue(releaseNotesOnly.has("release_notes"));
+
+        var none = getPage(null, 1, "").get("versions").get(0);
+        assertFalse(none.has("artifacts"));
+        assertFalse(none.has("release_notes"));
+    }
+
+    @Test
+    void testVersionsDiscoveredWhilePagingAreOnLastPage() {
+        var firstPage = getPage(null, 2, "");
+        transactionTemplate.executeWithoutResult(ignored -> createVersion(minecraftVersionDao.getByVersion("1.21.1"), "21.1.3"));
+
+        var secondPage = getPage(firstPage.get("next_cursor").asString(), 2, "");
+        var versions = new ArrayList<String>();
+        for (var version : secondPage.get("versions")) {
+            versions.add(version.get("version").asString());
+        }
+        assertEquals(List.of("21.1.2", "21.1.3"), versions);
+    }
+
+    @Test
+    void testRejectsInvalidCursorAndFields() {
+        assertThrows(IllegalArgumentException.class, () -> NeoForgeVersionDetailsPages.Field.parseList("artifacts,libraries"));
+        assertThrows(IllegalArgumentException.class, () -> detailsPages.getPage("not-a-cursor", 2, Set.of()));
+    }
+
+    @Test
+    void testControllerServesPage() {
+        var response = controller.getNeoForgeVersionDetailsPage(null, 2, "artifacts");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(detailsPages.getPage(null, 2, Set.of(NeoForgeVersionDetailsPages.Field.ARTIFACTS)), (byte[]) (Object) response.getBody());
+    }
+
+    @Test
+    void testControllerRejectsInvalidCursor() {
+        var response = controller.getNeoForgeVersionDetailsPage("not-a-cursor", 2, null);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testControllerRejectsUnknownField() {
+        var response = controller.getNeoForgeVersionDetailsPage(null, 2, "artifacts,libraries");
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private JsonNode getPage(String cursor, int limit, String fields) {
+        return jsonMapper.readTree(detailsPages.getPage(cursor, limit, NeoForgeVersionDetailsPages.Field.parseList(fields)));
+    }
+
+    private void createVersion(MinecraftVersion minecraftVersion, String versionId) {
+        var version = new NeoForgeVersion();
+        version.setGroupId("net.neoforged");
+        version.setArtifactId("neoforge");
+        version.setVersion(versionId);
+        version.setRepository("releases");
+        version.setReleased(Instant.now());
+        version.setDiscovered(Instant.now());
+        version.setLastModified(Instant.now());
+        version.setMinecraftVersion(minecraftVersion);
+        version.setLauncherProfileId("neoforge-" + versionId);
+        version.setLauncherProfile("{}");
+        version.setInstallerProfile("{}");
+        version.getClientStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+        version.getServerStartup().setMainClass("cpw.mods.bootstraplauncher.BootstrapLauncher");
+
+        var artifact = new SoftwareComponentArtifact();
+        artifact.setComponentVersion(version);
+        artifact.setRelativePath("net/neoforged/neoforge/" + versionId + "/neoforge-" + versionId + "-installer.jar");
+        artifact.setClassifier("installer");
+        artifact.setExtension("jar");
+        artifact.setSize(1234);
+        artifact.setLastModified(Instant.now());
+        artifact.setMd5Checksum("md5-" + versionId);
+        artifact.setSha1Checksum("sha1-" + versionId);
+        artifact.setSha256Checksum("sha256-" + versionId);
+        artifact.setSha512Checksum("sha512-" + versionId);
+        version.getArtifacts().add(artifact);
+
+        var releaseNotes = new SoftwareComponentReleaseNotes();
+        releaseNotes.setComponentVersion(version);
+        releaseNotes.setOriginalText("Release notes of " + versionId);
+        releaseNotes.setText("Release notes of " + versionId);
+        releaseNotes.setMarkdown("Release notes of " + versionId);
+        version.setReleaseNotes(releaseNotes);
+
+        versionDao.save(version);
+    }
+
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            TestPropertyValues.of(
+                    "meta-api.data-directory=" + tempDir.toAbsolutePath()
+            ).applyTo(context);
+        }
+    }
+}
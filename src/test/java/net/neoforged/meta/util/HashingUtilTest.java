@@ -0,0 +1,71 @@
+package net.neoforged.meta.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class HashingUtilTest {
+    private static final List<String> ALGORITHMS = List.of("MD5", "SHA-1", "SHA-256", "SHA-512");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testHashesWithMultipleAlgorithms() throws IOException {
+        var file = tempDir.resolve("file.txt");
+        Files.writeString(file, "<project>");
+
+        var expected = Map.of(
+                "MD5", "0124bf5d66532923a00df99d92537b0f",
+                "SHA-1", HashingUtil.sha1("<project>"),
+                "SHA-256", "313cca81bdc826f52de3e481c64cca1506a97620a80d97f9eec6d1c416e5aeb5",
+                "SHA-512", HashingUtil.hashFile(file, "SHA-512")
+        );
+        assertEquals(expected, HashingUtil.hashFile(file, ALGORITHMS));
+        assertEquals(expected, HashingUtil.hash(new ByteArrayInputStream("<project>".getBytes()), ALGORITHMS));
+        assertEquals(ALGORITHMS, List.copyOf(HashingUtil.hashFile(file, ALGORITHMS).keySet()));
+    }
+
+    @Test
+    void testFileAndStreamAgreeBeyondBufferSize() throws IOException {
+        var content = new byte[3 * 1024 * 1024 + 17];
+        new Random(1).nextBytes(content);
+        var file = tempDir.resolve("large.bin");
+        Files.write(file, content);
+
+        assertEquals(HashingUtil.hashFile(file, ALGORITHMS), HashingUtil.hash(new ByteArrayInputStream(content), ALGORITHMS));
+        assertEquals(HashingUtil.sha1(content), HashingUtil.sha1(file));
+    }
+
+    @Test
+    void testDirectoryHashOnlyDependsOnContent() throws IOException {
+        var first = createDirectory(tempDir.resolve("first"));
+        var second = createDirectory(tempDir.resolve("second"));
+
+        assertEquals(HashingUtil.hashDirectory(first, "SHA-256"), HashingUtil.hashDirectory(second, "SHA-256"));
+
+        Files.writeString(second.resolve("a/b/c.txt"), "changed");
+        assertNotEquals(HashingUtil.hashDirectory(first, "SHA-256"), HashingUtil.hashDirectory(second, "SHA-256"));
+    }
+
+    private static Path createDirectory(Path root) throws IOException {
+        for (int i = 0; i < 50; i++) {
+            var file = root.resolve("dir" + (i % 5)).resolve("file" + i + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, "content " + i);
+        }
+        Files.createDirectories(root.resolve("a/b"));
+        Files.writeString(root.resolve("a/b/c.txt"), "original");
+        return root;
+    }
+}